@@ -109,6 +109,49 @@ def predict(path, model_path="svm_model.pkl"):
         logging.error(f"예측 실패: {e}")
         raise
 
+# 여러 파일 한 번에 예측 (Whisper 인코더를 배치 하나로 실행)
+# 반환: 입력 순서대로 (prediction, probability) 또는 해당 파일 처리 중 발생한 Exception
+def predict_batch(paths, model_path="svm_model.pkl"):
+    scaler, classifier = load_model(model_path)
+    processor, whisper_model, device = load_whisper_model()
+
+    results = [None] * len(paths)
+    waveforms, indexes = [], []
+    for i, path in enumerate(paths):
+        try:
+            waveforms.append(load_audio(path).numpy())
+            indexes.append(i)
+        except Exception as e:
+            results[i] = e
+
+    if waveforms:
+        try:
+            # processor 가 모든 입력을 30초로 맞추므로 단건 예측과 같은 임베딩
+            inputs = processor(waveforms, sampling_rate=16000, return_tensors="pt").to(device)
+
+            with torch.no_grad():
+                decoder_input_ids = torch.tensor([[1]] * len(waveforms))
+                outputs = whisper_model(**inputs, decoder_input_ids=decoder_input_ids)
+                embeddings = outputs.encoder_last_hidden_state.mean(dim=1).cpu().numpy()
+
+            embeddings_scaled = scaler.transform(embeddings)
+            predictions = classifier.predict(embeddings_scaled)
+            if hasattr(classifier, "predict_proba"):
+                probas = classifier.predict_proba(embeddings_scaled)
+                probabilities = [probas[k][predictions[k]] for k in range(len(predictions))]
+            else:
+                probabilities = classifier.decision_function(embeddings_scaled)
+
+            for k, i in enumerate(indexes):
+                results[i] = (predictions[k], probabilities[k])
+        except Exception as e:
+            logging.error(f"배치 예측 실패: {e}")
+            for i in indexes:
+                results[i] = e
+
+    logging.info(f"배치 예측 완료 - {len(paths)}건")
+    return results
+
 # 커맨드라인 실행용 main
 def main():
     import argparse
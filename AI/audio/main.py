@@ -4,7 +4,9 @@ import shutil
 import traceback
 import uuid
 
-from disorder_audio import predict  
+from typing import List
+
+from disorder_audio import predict, predict_batch
 
 app = FastAPI()
 
@@ -42,4 +44,47 @@ def predict_audio(file: UploadFile = File(...)):
         # 임시 파일 삭제
         if temp_path.exists():
             temp_path.unlink()
-            
\ No newline at end of file
+
+
+# 여러 파일 한 번에 예측 (백엔드 마이크로 배치용)
+# 응답 results 는 입력 순서대로 {prediction, probability} 또는 {error}
+@app.post("/api/audio/predict/batch")
+def predict_audio_batch(files: List[UploadFile] = File(...)):
+    temp_paths = []
+    try:
+        # 업로드 파일 임시 저장
+        for file in files:
+            file_suffix = Path(file.filename).suffix or ".wav"
+            temp_path = Path(f"temp_{uuid.uuid4().hex}{file_suffix}")
+            with open(temp_path, "wb") as buffer:
+                shutil.copyfileobj(file.file, buffer)
+            temp_paths.append(temp_path)
+
+        # 예측 수행
+        results = []
+        for result in predict_batch([str(p) for p in temp_paths], model_path="svm_model.pkl"):
+            if isinstance(result, Exception):
+                results.append({"error": str(result)})
+            else:
+                prediction, probability = result
+                results.append({
+                    "prediction": int(prediction),
+                    "probability": float(probability)
+                })
+        return {"results": results}
+
+    except Exception as e:
+        tb = traceback.format_exc()
+        raise HTTPException(
+            status_code=500,
+            detail={
+                "error": str(e),
+                "traceback": tb
+            }
+        )
+
+    finally:
+        # 임시 파일 삭제
+        for temp_path in temp_paths:
+            if temp_path.exists():
+                temp_path.unlink()
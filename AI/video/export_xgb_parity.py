@@ -0,0 +1,91 @@
+#!/usr/bin/env python3
+"""
+XGBoost parity golden file export
+==================================================
+
+xgb_stroke.json 모델을 xgboost Booster.predict 로 평가한 기대값을 저장합니다.
+Backend 의 XgbTreeEnsembleParityTest 가 이 파일로 Java 평가기(XgbTreeEnsemble)를 검증합니다.
+
+Usage
+-----
+python export_xgb_parity.py                              # xgb_stroke_parity.json 생성
+python export_xgb_parity.py --out other_parity.json      # 다른 경로로 저장
+"""
+
+from __future__ import annotations
+
+import argparse
+import base64
+import json
+import textwrap
+from pathlib import Path
+
+import numpy as np
+import xgboost
+
+
+def _load_booster(path: str) -> xgboost.Booster:
+    with open(path) as f:
+        artefact = json.load(f)
+
+    booster = xgboost.Booster()
+    booster.load_model(bytearray(base64.b64decode(artefact["model_base64"])))
+    return booster
+
+
+def _pattern(n_features: int, k: int, scale: float) -> np.ndarray:
+    # XgbTreeEnsembleTest.pattern 과 같은 입력: ((i * 37 + k * 11) % 101 - 50) / 25 * scale
+    return np.array([((i * 37 + k * 11) % 101 - 50) / 25.0 * scale for i in range(n_features)], dtype=float)
+
+
+def _cases(n_features: int) -> list[tuple[str, np.ndarray]]:
+    cases = [("zeros", np.zeros(n_features)), ("nan", np.full(n_features, np.nan))]
+    for k in range(10):
+        for scale in (0.1, 1.0, 10.0):
+            cases.append((f"pattern({k}, {scale})", _pattern(n_features, k, scale)))
+
+    # 짝수 번째만 NaN, 나머지는 pattern(3, 1.0)
+    half_missing = _pattern(n_features, 3, 1.0)
+    half_missing[::2] = np.nan
+    cases.append(("pattern(3, 1.0) even nan", half_missing))
+
+    rng = np.random.default_rng(20240101)
+    for i in range(20):
+        cases.append((f"normal({i})", rng.normal(0.0, 3.0, n_features)))
+    return cases
+
+
+def main() -> None:
+    ag = argparse.ArgumentParser(prog="export_xgb_parity.py", formatter_class=argparse.RawDescriptionHelpFormatter, description=textwrap.dedent(__doc__))
+    ag.add_argument("--artefact", default="xgb_stroke.json", help="Bundled model+meta json [default: %(default)s]")
+    ag.add_argument("--out", default="xgb_stroke_parity.json", help="Golden file path [default: %(default)s]")
+    ns = ag.parse_args()
+
+    booster = _load_booster(ns.artefact)
+    n_features = booster.num_features()
+
+    names, rows = zip(*_cases(n_features))
+    dmat = xgboost.DMatrix(np.vstack(rows), missing=np.nan)  # AI 서버(facial_palsy.py)와 같은 방식
+    probabilities = booster.predict(dmat)
+    margins = booster.predict(dmat, output_margin=True)
+
+    payload = {
+        "xgb_version": xgboost.__version__,
+        "artefact": Path(ns.artefact).name,
+        "cases": [
+            {
+                "name": name,
+                "features": [None if np.isnan(v) else float(v) for v in row],
+                "probability": float(probability),
+                "margin": float(margin),
+            }
+            for name, row, probability, margin in zip(names, rows, probabilities, margins)
+        ],
+    }
+    with open(ns.out, "w") as f:
+        json.dump(payload, f, indent=1)
+    print(f"{len(payload['cases'])} cases, xgboost {payload['xgb_version']} -> {ns.out}")
+
+
+if __name__ == "__main__":
+    main()
@@ -4,6 +4,8 @@ import shutil
 import traceback
 import uuid
 
+from typing import List
+
 from facial_palsy import _facial_palsy_core
 
 app = FastAPI()
@@ -42,3 +44,47 @@ def predict_video(file: UploadFile = File(...)):
         # 임시 파일 삭제
         if temp_path.exists():
             temp_path.unlink()
+
+
+# 여러 파일 한 번에 예측 (백엔드 마이크로 배치용)
+# 응답 results 는 입력 순서대로 {prediction, probability} 또는 {error}
+@app.post("/api/video/predict/batch")
+def predict_video_batch(files: List[UploadFile] = File(...)):
+    temp_paths = []
+    try:
+        # 업로드 파일 임시 저장
+        for file in files:
+            file_suffix = Path(file.filename).suffix or ".mp4"
+            temp_path = Path(f"temp_{uuid.uuid4().hex}{file_suffix}")
+            with temp_path.open("wb") as buffer:
+                shutil.copyfileobj(file.file, buffer)
+            temp_paths.append(temp_path)
+
+        # 예측 수행 (파일별 실패는 해당 항목만 error)
+        results = []
+        for temp_path in temp_paths:
+            try:
+                result = _facial_palsy_core(str(temp_path), artefact_path="xgb_stroke.json", fps=10)
+                results.append({
+                    "prediction": int(result["label"]),
+                    "probability": float(result["probability"])
+                })
+            except Exception as e:
+                results.append({"error": str(e)})
+        return {"results": results}
+
+    except Exception as e:
+        tb = traceback.format_exc()
+        raise HTTPException(
+            status_code=500,
+            detail={
+                "error": str(e),
+                "traceback": tb
+            }
+        )
+
+    finally:
+        # 임시 파일 삭제
+        for temp_path in temp_paths:
+            if temp_path.exists():
+                temp_path.unlink()
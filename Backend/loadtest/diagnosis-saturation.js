@@ -0,0 +1,81 @@
+// 자가진단 포화 상태에서 병원 / 건강일지 조회 응답 시간 확인 (k6)
+// - diagnosis: 설문 자가진단(OpenAI 호출)과 AI 자가진단(S3 + AI 서버)을 Hikari 풀 크기(10)보다 많은 동시 요청으로 계속 보냄
+// - reads: 같은 시간 동안 병원 / 건강일지 조회를 일정 속도로 보내고 p95 응답 시간을 임계값으로 검사
+//
+// 실행 예)
+//   k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=<access token> \
+//          -e FACE_FILE=./face.mp4 -e SPEECH_FILE=./speech.wav loadtest/diagnosis-saturation.js
+// - FACE_FILE / SPEECH_FILE 이 없으면 설문 자가진단만 보냄 (설문 전에 AI 자가진단 기록이 하나 있어야 함)
+//
+// 필요한 환경: k6, 실행 중인 서버와 MySQL / Redis / AI 모델 서버, OpenAI 키
+// 아직 실행한 적 없음: 원격 호출을 트랜잭션 밖으로 옮긴 변경 전후의 비교 수치는 없음.
+// 실행하면 같은 DIAGNOSIS_VUS / READ_RATE 로 변경 전 커밋과 나란히 돌려 reads 의 p95 / 실패율을 여기에 기록할 것
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKEN = __ENV.TOKEN;
+const DIAGNOSIS_VUS = parseInt(__ENV.DIAGNOSIS_VUS || '40');
+const READ_RATE = parseInt(__ENV.READ_RATE || '50');
+const DURATION = __ENV.DURATION || '2m';
+
+const LATITUDE = 37.5665;
+const LONGITUDE = 126.9780;
+
+const faceFile = __ENV.FACE_FILE ? open(__ENV.FACE_FILE, 'b') : null;
+const speechFile = __ENV.SPEECH_FILE ? open(__ENV.SPEECH_FILE, 'b') : null;
+
+export const options = {
+    scenarios: {
+        diagnosis: {
+            executor: 'constant-vus',
+            exec: 'diagnosis',
+            vus: DIAGNOSIS_VUS,
+            duration: DURATION,
+        },
+        reads: {
+            executor: 'constant-arrival-rate',
+            exec: 'reads',
+            rate: READ_RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 50,
+            maxVUs: 200,
+            startTime: '10s', // 자가진단 요청이 쌓인 뒤 측정
+        },
+    },
+    thresholds: {
+        'http_req_duration{scenario:reads}': ['p(95)<500', 'p(99)<1500'],
+        'http_req_failed{scenario:reads}': ['rate<0.01'],
+    },
+};
+
+const headers = { Authorization: `Bearer ${TOKEN}` };
+
+export function diagnosis() {
+    if (faceFile && speechFile && Math.random() < 0.5) {
+        const res = http.post(`${BASE_URL}/api/diagnosis`, {
+            faceFile: http.file(faceFile, 'face.mp4', 'video/mp4'),
+            speechFile: http.file(speechFile, 'speech.wav', 'audio/wav'),
+        }, { headers, timeout: '180s', tags: { name: 'ai-diagnosis' } });
+        check(res, { 'ai diagnosis answered': (r) => r.status > 0 });
+        return;
+    }
+
+    const now = new Date();
+    const res = http.post(`${BASE_URL}/api/diagnosis/survey?latitude=${LATITUDE}&longitude=${LONGITUDE}`,
+        JSON.stringify({ orientationMonth: now.getMonth() + 1, orientationAge: 70, gaze: 1, arm: 0 }),
+        { headers: { ...headers, 'Content-Type': 'application/json' }, timeout: '330s', tags: { name: 'survey' } });
+    check(res, { 'survey answered': (r) => r.status > 0 });
+}
+
+export function reads() {
+    const now = new Date();
+    const responses = http.batch([
+        ['GET', `${BASE_URL}/api/hospital/nearest?latitude=${LATITUDE}&longitude=${LONGITUDE}`, null, { headers, tags: { name: 'hospital-nearest' } }],
+        ['GET', `${BASE_URL}/api/hospital/search?latitude=${LATITUDE}&longitude=${LONGITUDE}&keyword=${encodeURIComponent('병원')}`, null, { headers, tags: { name: 'hospital-search' } }],
+        ['GET', `${BASE_URL}/api/health-diary/calendar?year=${now.getFullYear()}&month=${now.getMonth() + 1}`, null, { headers, tags: { name: 'diary-calendar' } }],
+    ]);
+    responses.forEach((res) => check(res, { 'read ok': (r) => r.status === 200 }));
+}
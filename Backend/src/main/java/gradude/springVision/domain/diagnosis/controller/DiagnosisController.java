@@ -1,20 +1,37 @@
 package gradude.springVision.domain.diagnosis.controller;
 
+import gradude.springVision.domain.diagnosis.dto.request.DiagnosisUploadRequestDTO;
+import gradude.springVision.domain.diagnosis.dto.request.FacialFeatureRequestDTO;
 import gradude.springVision.domain.diagnosis.dto.request.SelfDiagnosisRequestDTO;
+import gradude.springVision.domain.diagnosis.dto.request.StoredDiagnosisRequestDTO;
 import gradude.springVision.domain.diagnosis.dto.response.AiDiagnosisResponseDTO;
 import gradude.springVision.domain.diagnosis.dto.response.DiagnosisCalendarResponseDTO;
+import gradude.springVision.domain.diagnosis.dto.response.DiagnosisJobResponseDTO;
 import gradude.springVision.domain.diagnosis.dto.response.DiagnosisResponseDTO;
+import gradude.springVision.domain.diagnosis.dto.response.DiagnosisUploadResponseDTO;
+import gradude.springVision.domain.diagnosis.dto.response.FacialScoreResponseDTO;
 import gradude.springVision.domain.diagnosis.service.DiagnosisCommandService;
+import gradude.springVision.domain.diagnosis.service.DiagnosisJobService;
 import gradude.springVision.domain.diagnosis.service.DiagnosisQueryService;
+import gradude.springVision.domain.diagnosis.service.DiagnosisUploadService;
+import gradude.springVision.domain.diagnosis.service.FacialScoringService;
+import gradude.springVision.domain.diagnosis.service.MediaUploadValidator;
+import gradude.springVision.domain.diagnosis.service.SelfDiagnosisStreamService;
 import gradude.springVision.global.common.response.ApiResponse;
+import gradude.springVision.global.util.ContentHash;
+import gradude.springVision.global.util.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -25,19 +42,96 @@ public class DiagnosisController {
 
     private final DiagnosisCommandService diagnosisCommandService;
     private final DiagnosisQueryService diagnosisQueryService;
+    private final DiagnosisJobService diagnosisJobService;
+    private final SelfDiagnosisStreamService selfDiagnosisStreamService;
+    private final FacialScoringService facialScoringService;
+    private final MediaUploadValidator mediaUploadValidator;
+    private final DiagnosisUploadService diagnosisUploadService;
+    private final IdempotencyService idempotencyService;
 
-    @Operation(summary = "AI 자가 진단")
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    @Operation(summary = "AI 자가 진단", description = "Idempotency-Key 헤더를 보내면 같은 키로 재시도한 요청은 다시 진단하지 않고 처음 응답을 그대로 반환합니다.")
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ApiResponse<AiDiagnosisResponseDTO> combinedDiagnosis(@AuthenticationPrincipal Long userId,
+                                                                 @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
                                                                  @RequestPart("faceFile") MultipartFile faceFile, @RequestPart("speechFile") MultipartFile speechFile) {
-        return ApiResponse.onSuccess(diagnosisCommandService.aiDiagnosis(userId, faceFile, speechFile));
+        // 잘못된 파일은 해시 계산 / 업로드 전에 헤더만 읽고 거절
+        mediaUploadValidator.validate(faceFile, speechFile);
+        // 내용 해시는 요청 지문과 S3 키 / 추론 캐시 키에 함께 쓰므로 여기서 한 번만 계산
+        String videoHash = ContentHash.sha256(faceFile);
+        String audioHash = ContentHash.sha256(speechFile);
+        String fingerprint = idempotencyKey == null ? null
+                : idempotencyService.fingerprint(videoHash, audioHash);
+        return ApiResponse.onSuccess(idempotencyService.execute(userId, "diagnosis", idempotencyKey, fingerprint, AiDiagnosisResponseDTO.class,
+                () -> diagnosisCommandService.aiDiagnosis(userId, faceFile, speechFile, videoHash, audioHash)));
+    }
+
+    @Operation(summary = "AI 자가 진단 파일 업로드 URL 발급", description = "영상 / 음성 presigned PUT URL 을 발급합니다. <br> 각 URL 로 파일을 직접 PUT 한 뒤 받은 키로 /api/diagnosis/stored 를 호출합니다.")
+    @PostMapping("/uploads")
+    public ApiResponse<DiagnosisUploadResponseDTO> createDiagnosisUploads(@AuthenticationPrincipal Long userId,
+                                                                          @RequestBody @Valid DiagnosisUploadRequestDTO diagnosisUploadRequestDTO) {
+        return ApiResponse.onSuccess(diagnosisUploadService.presign(userId, diagnosisUploadRequestDTO));
+    }
+
+    @Operation(summary = "AI 자가 진단 (직접 업로드한 파일)", description = "업로드 URL 발급 때 받은 videoKey, audioKey 로 진단합니다. <br> Idempotency-Key 헤더를 보내면 같은 키로 재시도한 요청은 처음 응답을 그대로 반환합니다.")
+    @PostMapping("/stored")
+    public ApiResponse<AiDiagnosisResponseDTO> storedDiagnosis(@AuthenticationPrincipal Long userId,
+                                                               @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                               @RequestBody @Valid StoredDiagnosisRequestDTO storedDiagnosisRequestDTO) {
+        String fingerprint = idempotencyKey == null ? null
+                : idempotencyService.fingerprint(storedDiagnosisRequestDTO);
+        return ApiResponse.onSuccess(idempotencyService.execute(userId, "diagnosis-stored", idempotencyKey, fingerprint, AiDiagnosisResponseDTO.class,
+                () -> diagnosisCommandService.aiDiagnosisStored(userId, storedDiagnosisRequestDTO)));
+    }
+
+    @Operation(summary = "AI 자가 진단 (비동기)", description = "파일 업로드 직후 작업 id 반환 (202) <br> 결과는 작업 조회 또는 SSE 구독으로 확인")
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<DiagnosisJobResponseDTO>> submitDiagnosisJob(@AuthenticationPrincipal Long userId,
+                                                                                   @RequestPart("faceFile") MultipartFile faceFile, @RequestPart("speechFile") MultipartFile speechFile) {
+        DiagnosisJobResponseDTO job = diagnosisJobService.submit(userId, faceFile, speechFile);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/diagnosis/jobs/" + job.getJobId()))
+                .body(ApiResponse.onSuccess(job));
     }
 
-    @Operation(summary = "설문 자가 진단", description = "gaze와 arm은 증상이 있으면 1, 없으면 0 으로 입력 받습니다.")
+    @Operation(summary = "AI 자가 진단 작업 조회", description = "status: PENDING, PROCESSING, COMPLETED(result 포함), FAILED(failureCode 포함)")
+    @GetMapping("/jobs/{jobId}")
+    public ApiResponse<DiagnosisJobResponseDTO> getDiagnosisJob(@AuthenticationPrincipal Long userId, @PathVariable Long jobId) {
+        return ApiResponse.onSuccess(diagnosisJobService.getJob(userId, jobId));
+    }
+
+    @Operation(summary = "AI 자가 진단 작업 진행 상황 구독 (SSE)", description = "status 이벤트: 작업 상태 변경 <br> branch 이벤트: video-upload, audio-upload, face, speech 중 하나 완료 <br> 작업이 끝나면 스트림 종료")
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeDiagnosisJob(@AuthenticationPrincipal Long userId, @PathVariable Long jobId) {
+        return diagnosisJobService.subscribe(userId, jobId);
+    }
+
+    @Operation(summary = "안면 특징 벡터 채점", description = "영상 대신 미리 추출한 안면 특징 벡터(168개, 없는 값은 null)를 서버에서 바로 채점합니다. <br> 진단 기록은 저장하지 않습니다.")
+    @PostMapping("/face/features")
+    public ApiResponse<FacialScoreResponseDTO> scoreFacialFeatures(@RequestBody @Valid FacialFeatureRequestDTO facialFeatureRequestDTO) {
+        return ApiResponse.onSuccess(facialScoringService.score(facialFeatureRequestDTO));
+    }
+
+    @Operation(summary = "설문 자가 진단", description = "gaze와 arm은 증상이 있으면 1, 없으면 0 으로 입력 받습니다. <br> Idempotency-Key 헤더를 보내면 같은 키로 재시도한 요청은 처음 응답을 그대로 반환합니다.")
     @PostMapping(value = "/survey")
-    public ApiResponse<DiagnosisResponseDTO> selfDiagnosis(@AuthenticationPrincipal Long userId, @RequestBody SelfDiagnosisRequestDTO selfDiagnosisRequestDTO,
+    public ApiResponse<DiagnosisResponseDTO> selfDiagnosis(@AuthenticationPrincipal Long userId,
+                                                           @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                           @RequestBody SelfDiagnosisRequestDTO selfDiagnosisRequestDTO,
                                                            @RequestParam double latitude, @RequestParam double longitude) {
-        return ApiResponse.onSuccess(diagnosisCommandService.selfDiagnosis(userId, selfDiagnosisRequestDTO, latitude, longitude));
+        String fingerprint = idempotencyKey == null ? null
+                : idempotencyService.fingerprint(selfDiagnosisRequestDTO, latitude, longitude);
+        // LLM 소견 없이 내려간 응답(LLM 장애 시)은 저장하지 않아 같은 키로 재시도하면 다시 진단
+        return ApiResponse.onSuccess(idempotencyService.execute(userId, "survey", idempotencyKey, fingerprint, DiagnosisResponseDTO.class,
+                () -> diagnosisCommandService.selfDiagnosis(userId, selfDiagnosisRequestDTO, latitude, longitude),
+                response -> response.getLlmResult() != null));
+    }
+
+    @Operation(summary = "설문 자가 진단 (SSE 스트리밍)", description = "score 이벤트: 점수와 가까운 병원 (llmResult 제외) <br> token 이벤트: LLM 소견 조각 <br> done 이벤트: 전체 LLM 소견 (저장 완료) <br> error 이벤트: LLM 호출 실패")
+    @PostMapping(value = "/survey/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter selfDiagnosisStream(@AuthenticationPrincipal Long userId, @RequestBody SelfDiagnosisRequestDTO selfDiagnosisRequestDTO,
+                                          @RequestParam double latitude, @RequestParam double longitude) {
+        return selfDiagnosisStreamService.stream(userId, selfDiagnosisRequestDTO, latitude, longitude);
     }
 
     @Operation(summary = "자가진단 기록 있는 날 모아보기")
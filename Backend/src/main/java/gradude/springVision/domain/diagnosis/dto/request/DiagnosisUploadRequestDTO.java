@@ -0,0 +1,23 @@
+package gradude.springVision.domain.diagnosis.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 직접 업로드할 파일 이름 (확장자로 저장 키와 허용 형식 결정)
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiagnosisUploadRequestDTO {
+
+    @NotBlank
+    private String videoFilename;
+
+    @NotBlank
+    private String audioFilename;
+}
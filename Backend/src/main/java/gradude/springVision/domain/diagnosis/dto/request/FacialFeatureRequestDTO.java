@@ -0,0 +1,23 @@
+package gradude.springVision.domain.diagnosis.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 안면 특징 벡터 (AI/video/facial_palsy.py 의 _vec 결과와 같은 순서)
+ * - 값이 없는 feature 는 null (JSON 은 NaN 을 표현하지 못함)
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacialFeatureRequestDTO {
+
+    @NotNull
+    private List<Double> features;
+}
@@ -0,0 +1,23 @@
+package gradude.springVision.domain.diagnosis.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * presigned URL 로 업로드를 마친 객체 키
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredDiagnosisRequestDTO {
+
+    @NotBlank
+    private String videoKey;
+
+    @NotBlank
+    private String audioKey;
+}
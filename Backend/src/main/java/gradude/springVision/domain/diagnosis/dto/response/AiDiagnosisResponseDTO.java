@@ -1,10 +1,15 @@
 package gradude.springVision.domain.diagnosis.dto.response;
 
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Builder
 @Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
 public class AiDiagnosisResponseDTO {
 
     private boolean facePrediction;
@@ -0,0 +1,31 @@
+package gradude.springVision.domain.diagnosis.dto.response;
+
+import gradude.springVision.domain.diagnosis.entity.Diagnosis;
+import gradude.springVision.domain.diagnosis.entity.DiagnosisStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+public class DiagnosisJobResponseDTO {
+
+    private Long jobId;
+    private DiagnosisStatus status;
+    private AiDiagnosisResponseDTO result; // COMPLETED 일 때만
+    private String failureCode;           // FAILED 일 때만
+    private String failureMessage;
+
+    public static DiagnosisJobResponseDTO from(Diagnosis diagnosis) {
+        AiDiagnosisResponseDTO result = diagnosis.getStatus() == DiagnosisStatus.COMPLETED
+                ? AiDiagnosisResponseDTO.of(diagnosis.isFace(), diagnosis.getFaceProbability(), diagnosis.isSpeech(), diagnosis.getSpeechProbability())
+                : null;
+
+        return DiagnosisJobResponseDTO.builder()
+                .jobId(diagnosis.getId())
+                .status(diagnosis.getStatus())
+                .result(result)
+                .failureCode(diagnosis.getFailureCode())
+                .failureMessage(diagnosis.getFailureMessage())
+                .build();
+    }
+}
@@ -3,13 +3,18 @@ package gradude.springVision.domain.diagnosis.dto.response;
 import gradude.springVision.domain.diagnosis.entity.Diagnosis;
 import gradude.springVision.domain.hospital.dto.response.HospitalDetailResponseDTO;
 import gradude.springVision.domain.hospital.dto.response.HospitalSearchResponseDTO;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 
 @Builder
 @Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
 public class DiagnosisResponseDTO {
 
     private boolean face;
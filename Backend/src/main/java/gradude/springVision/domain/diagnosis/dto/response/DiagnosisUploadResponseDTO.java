@@ -0,0 +1,17 @@
+package gradude.springVision.domain.diagnosis.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Builder
+@Getter
+public class DiagnosisUploadResponseDTO {
+
+    private String videoKey;
+    private String videoUploadUrl;
+    private String audioKey;
+    private String audioUploadUrl;
+    private LocalDateTime expiresAt; // 업로드 URL 만료 시각
+}
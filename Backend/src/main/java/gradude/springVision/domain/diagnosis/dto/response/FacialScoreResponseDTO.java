@@ -0,0 +1,14 @@
+package gradude.springVision.domain.diagnosis.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class FacialScoreResponseDTO {
+
+    private boolean prediction;
+    private double probability;
+}
@@ -7,6 +7,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Getter
@@ -50,15 +52,38 @@ public class Diagnosis extends BaseEntity {
     @Column(columnDefinition = "TEXT")
     private String llmResult;
 
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR) // MySQL ENUM 이 아닌 VARCHAR 컬럼 (V2 마이그레이션)
+    @Column(nullable = false, length = 20)
+    private DiagnosisStatus status = DiagnosisStatus.COMPLETED;
+
+    private String failureCode; // FAILED 일 때 ErrorCode 코드
+
+    private String failureMessage;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    public void updateDiagnosis(SelfDiagnosisRequestDTO dto, int orientation, int totalScore, String llmResult) {
+    public void updateDiagnosis(SelfDiagnosisRequestDTO dto, int orientation, int totalScore) {
         this.orientation = orientation;
         this.gaze = dto.getGaze();
         this.arm = dto.getArm();
         this.totalScore = totalScore;
+    }
+
+    public void updateLlmResult(String llmResult) {
         this.llmResult = llmResult;
     }
+
+    /**
+     * 비동기 AI 자가진단 접수 (이후 상태 / 결과는 DiagnosisRepository 의 조건부 UPDATE 로만 변경)
+     */
+    public static Diagnosis pending(User user) {
+        return Diagnosis.builder()
+                .user(user)
+                .status(DiagnosisStatus.PENDING)
+                .build();
+    }
 }
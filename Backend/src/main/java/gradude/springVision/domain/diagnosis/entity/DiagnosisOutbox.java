@@ -0,0 +1,59 @@
+package gradude.springVision.domain.diagnosis.entity;
+
+import gradude.springVision.global.util.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * 자가진단 후속 작업 outbox (db/migration/V3__diagnosis_outbox.sql, V6__diagnosis_outbox_dead.sql)
+ * - 진단 저장과 같은 트랜잭션에서 기록하고, 후속 작업 결과 저장과 같은 트랜잭션에서 삭제
+ * - availableAt 이 지나도록 남아 있으면 DiagnosisOutboxRelay 가 다시 처리
+ * - max-attempts 만큼 실패하면 deadAt / lastError 를 기록하고 남겨 둠 (relay 대상에서 제외, 원인 확인 후 수동 재처리)
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(name = "diagnosis_outbox")
+public class DiagnosisOutbox extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(nullable = false)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long diagnosisId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 30)
+    private DiagnosisOutboxType type;
+
+    @Column(nullable = false)
+    private int symptoms; // LLM_RESULT: 증상 조합 (SymptomMask)
+
+    @Column(nullable = false)
+    private int attempts; // relay 처리 시도 횟수
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt; // 이 시각 이후 relay 처리 대상
+
+    private LocalDateTime deadAt; // 재처리 포기 시각 (null 이면 처리 대상)
+
+    private String lastError; // 마지막 실패 원인
+
+    public static DiagnosisOutbox llmResult(Long diagnosisId, int symptoms, LocalDateTime availableAt) {
+        return DiagnosisOutbox.builder()
+                .diagnosisId(diagnosisId)
+                .type(DiagnosisOutboxType.LLM_RESULT)
+                .symptoms(symptoms)
+                .availableAt(availableAt)
+                .build();
+    }
+}
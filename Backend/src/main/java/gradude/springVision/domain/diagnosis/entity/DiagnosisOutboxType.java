@@ -0,0 +1,8 @@
+package gradude.springVision.domain.diagnosis.entity;
+
+/**
+ * 자가진단 저장 후 이어서 처리할 작업
+ */
+public enum DiagnosisOutboxType {
+    LLM_RESULT // 설문 점수 저장 후 LLM 소견 생성 / 저장
+}
@@ -0,0 +1,19 @@
+package gradude.springVision.domain.diagnosis.entity;
+
+/**
+ * AI 자가진단 진행 상태
+ * - PENDING: 접수됨 (작업 대기열)
+ * - PROCESSING: S3 업로드 / 안면, 음성 모델 추론 중
+ * - COMPLETED: 진단 결과 저장 완료
+ * - FAILED: 업로드 또는 추론 실패
+ */
+public enum DiagnosisStatus {
+    PENDING,
+    PROCESSING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,42 @@
+package gradude.springVision.domain.diagnosis.repository;
+
+import gradude.springVision.domain.diagnosis.entity.DiagnosisOutbox;
+import gradude.springVision.domain.diagnosis.entity.DiagnosisOutboxType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DiagnosisOutboxRepository extends JpaRepository<DiagnosisOutbox, Long> {
+
+    List<DiagnosisOutbox> findByDeadAtIsNullAndAvailableAtLessThanEqualOrderByAvailableAt(LocalDateTime now, Pageable pageable);
+
+    /**
+     * relay 처리 선점 (읽은 뒤 다른 인스턴스가 먼저 가져갔으면 0)
+     * - 처리 중 실패해도 leaseUntil 이후 다시 처리 대상이 됨
+     */
+    @Modifying
+    @Query("""
+    UPDATE DiagnosisOutbox o
+    SET o.availableAt = :leaseUntil, o.attempts = o.attempts + 1
+    WHERE o.id = :id AND o.availableAt = :availableAt
+    """)
+    int claim(@Param("id") Long id, @Param("availableAt") LocalDateTime availableAt, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 재처리 포기 (행은 남기고 relay 대상에서 제외)
+     */
+    @Modifying
+    @Query("""
+    UPDATE DiagnosisOutbox o
+    SET o.deadAt = :deadAt, o.lastError = :lastError
+    WHERE o.id = :id
+    """)
+    int markDead(@Param("id") Long id, @Param("deadAt") LocalDateTime deadAt, @Param("lastError") String lastError);
+
+    void deleteByDiagnosisIdAndType(Long diagnosisId, DiagnosisOutboxType type);
+}
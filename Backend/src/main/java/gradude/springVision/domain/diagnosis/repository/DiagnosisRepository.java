@@ -1,14 +1,71 @@
 package gradude.springVision.domain.diagnosis.repository;
 
 import gradude.springVision.domain.diagnosis.entity.Diagnosis;
+import gradude.springVision.domain.diagnosis.entity.DiagnosisStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface DiagnosisRepository extends JpaRepository<Diagnosis, Long> {
 
-    Optional<Diagnosis> findTopByUserIdOrderByCreatedAtDesc(Long userId);
+    Optional<Diagnosis> findTopByUserIdAndStatusOrderByCreatedAtDesc(Long userId, DiagnosisStatus status);
 
-    List<Diagnosis> findAllByUserIdOrderByCreatedAtDesc(Long userId);
+    List<Diagnosis> findAllByUserIdAndStatusOrderByCreatedAtDesc(Long userId, DiagnosisStatus status);
+
+    Optional<Diagnosis> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * 비동기 작업 상태 변경 (현재 상태가 expected 일 때만, 변경된 행 수 반환)
+     * - 0 이면 다른 곳에서 먼저 상태를 바꾼 것 (예: 대기열에서 오래 기다린 작업을 stale 정리가 이미 FAILED 로 변경)
+     */
+    @Modifying
+    @Query("""
+    UPDATE Diagnosis d
+    SET d.status = :next, d.updatedAt = :now
+    WHERE d.id = :id AND d.status = :expected
+    """)
+    int updateStatus(@Param("id") Long id, @Param("expected") DiagnosisStatus expected, @Param("next") DiagnosisStatus next,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+    UPDATE Diagnosis d
+    SET d.status = :completed, d.face = :face, d.faceProbability = :faceProbability,
+        d.speech = :speech, d.speechProbability = :speechProbability, d.updatedAt = :now
+    WHERE d.id = :id AND d.status = :expected
+    """)
+    int complete(@Param("id") Long id, @Param("expected") DiagnosisStatus expected, @Param("completed") DiagnosisStatus completed,
+                 @Param("face") boolean face, @Param("faceProbability") double faceProbability,
+                 @Param("speech") boolean speech, @Param("speechProbability") double speechProbability,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+    UPDATE Diagnosis d
+    SET d.status = :failed, d.failureCode = :failureCode, d.failureMessage = :failureMessage, d.updatedAt = :now
+    WHERE d.id = :id AND d.status = :expected
+    """)
+    int fail(@Param("id") Long id, @Param("expected") DiagnosisStatus expected, @Param("failed") DiagnosisStatus failed,
+             @Param("failureCode") String failureCode, @Param("failureMessage") String failureMessage,
+             @Param("now") LocalDateTime now);
+
+    /**
+     * staleBefore 이후로 상태가 바뀌지 않은 작업을 FAILED 로 변경 (서버 종료 등으로 중단된 비동기 작업 정리)
+     * - 벌크 UPDATE 라 auditing 이 동작하지 않으므로 updatedAt 도 직접 갱신
+     */
+    @Modifying
+    @Query("""
+    UPDATE Diagnosis d
+    SET d.status = :failed, d.failureCode = :failureCode, d.failureMessage = :failureMessage, d.updatedAt = :now
+    WHERE d.status IN :statuses AND d.updatedAt < :staleBefore
+    """)
+    int failStaleJobs(@Param("statuses") Collection<DiagnosisStatus> statuses, @Param("staleBefore") LocalDateTime staleBefore,
+                      @Param("failed") DiagnosisStatus failed, @Param("failureCode") String failureCode,
+                      @Param("failureMessage") String failureMessage, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,420 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gradude.springVision.domain.diagnosis.dto.response.AiDiagnosisResponseDTO;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import gradude.springVision.global.util.ContentHash;
+import gradude.springVision.global.util.MediaStorage;
+import gradude.springVision.global.util.StagedMultipartFile;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 안면 / 음성 AI 자가진단 실행
+ * - S3 업로드 2건과 AI 모델 호출 2건을 전용 스레드 풀에서 동시에 실행
+ * - DB 트랜잭션 없이 동작 (요청 스레드 / 비동기 작업 스레드 어디서든 호출 가능)
+ * - diagnosis.batch.enabled 이면 모델 호출을 다른 요청과 모아 배치 API({모델 API}/batch)로 전송
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class AiInferenceService {
+
+    @Value("${external.facial-api-url}")
+    private String facialApiUrl;
+    @Value("${external.speech-api-url}")
+    private String speechApiUrl;
+    @Value("${diagnosis.timeout.upload:60000}")
+    private long uploadTimeout;
+    @Value("${diagnosis.timeout.inference:120000}")
+    private long inferenceTimeout;
+    @Value("${external.facial-model-version:v1}")
+    private String facialModelVersion;
+    @Value("${external.speech-model-version:v1}")
+    private String speechModelVersion;
+    @Value("${diagnosis.inference-cache.ttl-days:30}")
+    private long inferenceCacheTtlDays;
+    @Value("${diagnosis.batch.enabled:false}")
+    private boolean batchEnabled;
+    @Value("${diagnosis.batch.max-size:8}")
+    private int batchMaxSize;
+    @Value("${diagnosis.batch.max-wait:20}")
+    private long batchMaxWait;
+    @Value("${diagnosis.batch.queue-capacity:256}")
+    private int batchQueueCapacity;
+    @Value("${diagnosis.batch.max-in-flight:4}")
+    private int batchMaxInFlight;
+    private final MediaStorage mediaStorage;
+    private final ThreadPoolTaskExecutor diagnosisExecutor;
+    private final MeterRegistry meterRegistry;
+    private final RestTemplate aiRestTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final SpeechAudioNormalizer speechAudioNormalizer;
+
+    // 모델 서버(backend) -> 마이크로 배치 요청기 (diagnosis.batch.enabled 일 때만)
+    private final Map<String, InferenceBatcher> batchers = new HashMap<>();
+
+    private static final String INFERENCE_CACHE_PREFIX = "aiInference:";
+    private static final String FACIAL_BACKEND = "facial";
+    private static final String SPEECH_BACKEND = "speech";
+    private static final String BATCH_PATH = "/batch";
+
+    @PostConstruct
+    void startBatchers() {
+        if (!batchEnabled) {
+            return;
+        }
+        batchers.put(FACIAL_BACKEND, new InferenceBatcher(FACIAL_BACKEND, batchMaxSize, batchMaxWait, batchQueueCapacity, batchMaxInFlight,
+                meterRegistry, files -> callAiBatchApi(FACIAL_BACKEND, facialApiUrl + BATCH_PATH, files)));
+        batchers.put(SPEECH_BACKEND, new InferenceBatcher(SPEECH_BACKEND, batchMaxSize, batchMaxWait, batchQueueCapacity, batchMaxInFlight,
+                meterRegistry, files -> callAiBatchApi(SPEECH_BACKEND, speechApiUrl + BATCH_PATH, files)));
+    }
+
+    @PreDestroy
+    void stopBatchers() {
+        batchers.values().forEach(InferenceBatcher::close);
+    }
+
+    /**
+     * 파일 내용 해시를 이미 계산한 경우 (컨트롤러에서 Idempotency-Key 지문에 쓴 해시를 그대로 전달)
+     */
+    public AiDiagnosisResponseDTO infer(Long userId, MultipartFile mp4File, MultipartFile wavFile, String videoHash, String audioHash) {
+        return infer(userId, mp4File, wavFile, videoHash, audioHash, branch -> {
+        }, true);
+    }
+
+    /**
+     * 클라이언트가 저장소에 직접 올린 파일의 자가진단 (S3 업로드 작업 없이 안면 / 음성 추론만 실행)
+     */
+    public AiDiagnosisResponseDTO inferStored(MultipartFile mp4File, MultipartFile wavFile) {
+        return infer(null, mp4File, wavFile, ContentHash.sha256(mp4File), ContentHash.sha256(wavFile), branch -> {
+        }, false);
+    }
+
+    /**
+     * s3 저장, 안면 / 음성 자가진단을 동시에 실행하고 가장 느린 작업까지 대기
+     * - onBranchDone: 작업(video-upload, audio-upload, face, speech)이 하나 끝날 때마다 호출
+     * - 파일 내용 해시로 S3 중복 업로드와 같은 파일의 재추론을 생략 (재시도 요청 대비)
+     */
+    public AiDiagnosisResponseDTO infer(Long userId, MultipartFile mp4File, MultipartFile wavFile, Consumer<String> onBranchDone) {
+        return infer(userId, mp4File, wavFile, ContentHash.sha256(mp4File), ContentHash.sha256(wavFile), onBranchDone, true);
+    }
+
+    /**
+     * videoHash / audioHash: 파일 내용 SHA-256 (업로드 / 추론 작업이 함께 쓰므로 호출 측에서 한 번만 계산)
+     */
+    private AiDiagnosisResponseDTO infer(Long userId, MultipartFile mp4File, MultipartFile wavFile, String videoHash, String audioHash,
+                                         Consumer<String> onBranchDone, boolean upload) {
+        long startedAt = System.nanoTime();
+        long uploadDeadline = startedAt + TimeUnit.MILLISECONDS.toNanos(uploadTimeout);
+        long inferenceDeadline = startedAt + TimeUnit.MILLISECONDS.toNanos(inferenceTimeout);
+
+        List<Future<?>> branches = new ArrayList<>();
+        Map<String, Object> faceResult;
+        Map<String, Object> speechResult;
+        try {
+            Future<String> videoUpload = upload ? submitBranch(branches, "video-upload", onBranchDone, () -> mediaStorage.uploadFile(userId, mp4File, "video", videoHash)) : null;
+            Future<String> audioUpload = upload ? submitBranch(branches, "audio-upload", onBranchDone, () -> mediaStorage.uploadFile(userId, wavFile, "audio", audioHash)) : null;
+            Future<Map<String, Object>> face = submitBranch(branches, "face", onBranchDone,
+                    () -> cachedInference("face", FACIAL_BACKEND, facialApiUrl, facialModelVersion, mp4File, videoHash));
+            Future<Map<String, Object>> speech = submitBranch(branches, "speech", onBranchDone,
+                    () -> cachedInference("speech", SPEECH_BACKEND, speechApiUrl, speechCacheVersion(), wavFile, audioHash));
+
+            faceResult = awaitBranch(face, inferenceDeadline);
+            speechResult = awaitBranch(speech, inferenceDeadline);
+            if (upload) {
+                awaitBranch(videoUpload, uploadDeadline);
+                awaitBranch(audioUpload, uploadDeadline);
+            }
+        } finally {
+            // 실패 / 시간 초과 시 남은 작업 취소
+            branches.forEach(branch -> branch.cancel(true));
+            meterRegistry.timer("diagnosis.ai.total").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+
+        // 안면 자가진단
+        boolean facePrediction = ((int) faceResult.get("prediction")) == 1;
+        double faceProbability = (double) faceResult.get("probability");
+
+        // 음성 자가진단
+        boolean speechPrediction = ((int) speechResult.get("prediction")) == 1;
+        double speechProbability = (double) speechResult.get("probability");
+
+        return AiDiagnosisResponseDTO.of(facePrediction, faceProbability, speechPrediction, speechProbability);
+    }
+
+    /**
+     * 자가진단 작업을 전용 스레드 풀에 제출
+     * - 작업별 소요 시간을 diagnosis.ai.branch 타이머로 기록 (branch, outcome 태그)
+     */
+    private <T> Future<T> submitBranch(List<Future<?>> branches, String branch, Consumer<String> onBranchDone, Callable<T> task) {
+        try {
+            Future<T> future = diagnosisExecutor.submit(() -> {
+                long startedAt = System.nanoTime();
+                String outcome = "error";
+                try {
+                    T result = task.call();
+                    outcome = "success";
+                    onBranchDone.accept(branch);
+                    return result;
+                } finally {
+                    meterRegistry.timer("diagnosis.ai.branch", "branch", branch, "outcome", outcome)
+                            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+            branches.add(future);
+            return future;
+        } catch (TaskRejectedException e) {
+            throw new GeneralException(ErrorCode.AI_SERVER_BUSY);
+        }
+    }
+
+    /**
+     * deadline(System.nanoTime 기준)까지 작업 결과 대기, 작업에서 발생한 예외는 그대로 전달
+     */
+    private <T> T awaitBranch(Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new GeneralException(ErrorCode.AI_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeneralException(ErrorCode.AI_CALL_FAILED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new GeneralException(ErrorCode.AI_CALL_FAILED);
+        }
+    }
+
+    /**
+     * 같은 파일(내용 해시) + 같은 모델 버전의 추론 결과가 캐시에 있으면 AI API 호출 생략
+     * - 캐시 키: aiInference:{face|speech}:{모델 버전}:{SHA-256}, 값: prediction:probability
+     * - 적중 여부는 diagnosis.ai.cache 카운터로 기록 (branch, outcome 태그)
+     */
+    private Map<String, Object> cachedInference(String branch, String backend, String apiUrl, String modelVersion, MultipartFile file, String contentHash) {
+        String key = INFERENCE_CACHE_PREFIX + branch + ":" + modelVersion + ":" + contentHash;
+
+        Map<String, Object> cached = getCachedInference(key);
+        if (cached != null) {
+            meterRegistry.counter("diagnosis.ai.cache", "branch", branch, "outcome", "hit").increment();
+            return cached;
+        }
+        meterRegistry.counter("diagnosis.ai.cache", "branch", branch, "outcome", "miss").increment();
+
+        Map<String, Object> result = SPEECH_BACKEND.equals(backend) ? callSpeechModel(apiUrl, file) : callModel(backend, apiUrl, file);
+        if (result.get("prediction") instanceof Integer prediction && result.get("probability") instanceof Double probability) {
+            putCachedInference(key, prediction + ":" + probability);
+        }
+        return result;
+    }
+
+    // 캐시 장애 / 형식 오류는 캐시 없음으로 처리
+    private Map<String, Object> getCachedInference(String key) {
+        try {
+            String value = redisTemplate.opsForValue().get(key);
+            if (value == null) {
+                return null;
+            }
+            String[] parts = value.split(":");
+            return Map.of("prediction", Integer.parseInt(parts[0]), "probability", Double.parseDouble(parts[1]));
+        } catch (RuntimeException e) {
+            log.warn("AI 추론 캐시 조회 실패. key: {}", key, e);
+            return null;
+        }
+    }
+
+    private void putCachedInference(String key, String value) {
+        try {
+            redisTemplate.opsForValue().set(key, value, Duration.ofDays(inferenceCacheTtlDays));
+        } catch (RuntimeException e) {
+            log.warn("AI 추론 캐시 저장 실패. key: {}", key, e);
+        }
+    }
+
+    // 정규화한 음성은 모델 입력이 달라지므로 캐시 버전을 구분
+    private String speechCacheVersion() {
+        return speechAudioNormalizer.isEnabled() ? speechModelVersion + "-16k" : speechModelVersion;
+    }
+
+    /**
+     * 음성을 16kHz mono 로 정규화한 뒤 모델 호출 (원본은 S3 에 그대로 저장)
+     */
+    private Map<String, Object> callSpeechModel(String apiUrl, MultipartFile file) {
+        MultipartFile normalized = speechAudioNormalizer.normalize(file);
+        try {
+            return callModel(SPEECH_BACKEND, apiUrl, normalized);
+        } finally {
+            if (normalized != file && normalized instanceof StagedMultipartFile staged) {
+                staged.delete();
+            }
+        }
+    }
+
+    /**
+     * 모델 호출 (배치 사용 시 InferenceBatcher 로 다른 요청과 묶어서 전송)
+     */
+    private Map<String, Object> callModel(String backend, String apiUrl, MultipartFile file) {
+        InferenceBatcher batcher = batchers.get(backend);
+        if (batcher == null) {
+            return callAiApi(backend, apiUrl, file);
+        }
+
+        CompletableFuture<Map<String, Object>> pending = batcher.submit(file);
+        Map<String, Object> item;
+        try {
+            item = pending.get();
+        } catch (InterruptedException e) {
+            // 대기 시간 초과로 작업이 취소됨, 아직 보내지 않았으면 배치에서 빠지도록 취소
+            pending.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new GeneralException(ErrorCode.AI_TIMEOUT);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new GeneralException(ErrorCode.AI_CALL_FAILED);
+        }
+
+        if (item.get("error") != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI 서버 오류: " + item.get("error"));
+        }
+        return item;
+    }
+
+    /**
+     * 자가진단 AI API 호출
+     */
+    private Map<String, Object> callAiApi(String backend, String apiUrl, MultipartFile file) {
+        // 업로드 임시 파일을 그대로 읽어 전송 (getBytes() 로 힙에 복사하지 않음)
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", file.getResource());
+
+        return postToAi(backend, apiUrl, body);
+    }
+
+    /**
+     * 자가진단 AI 배치 API 호출 (응답 results 는 요청 파일 순서대로 {prediction, probability} 또는 {error})
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> callAiBatchApi(String backend, String apiUrl, List<MultipartFile> files) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        files.forEach(file -> body.add("files", file.getResource()));
+
+        if (!(postToAi(backend, apiUrl, body).get("results") instanceof List<?> results)) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI 예측 실패: 배치 응답 형식이 올바르지 않습니다.");
+        }
+        return (List<Map<String, Object>>) results;
+    }
+
+    /**
+     * AI 서버에 multipart 요청
+     * - 모델 서버(backend)별 bulkhead 로 동시 호출 수를 제한하고, circuit breaker 가 열려 있으면 바로 실패
+     */
+    private Map<String, Object> postToAi(String backend, String apiUrl, MultiValueMap<String, Object> body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+
+        Supplier<ResponseEntity<Map>> call = () -> aiRestTemplate.postForEntity(apiUrl, requestEntity, Map.class);
+
+        try {
+            ResponseEntity<Map> response = Bulkhead.decorateSupplier(bulkheadRegistry.bulkhead(backend),
+                    CircuitBreaker.decorateSupplier(circuitBreakerRegistry.circuitBreaker(backend), call)).get();
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                return response.getBody();
+            } else {
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI 예측 실패: 응답 본문이 없습니다.");
+            }
+
+        } catch (CallNotPermittedException ex) {
+            throw new GeneralException(ErrorCode.AI_BACKEND_UNAVAILABLE);
+
+        } catch (BulkheadFullException ex) {
+            throw new GeneralException(ErrorCode.AI_SERVER_BUSY);
+
+        } catch (HttpClientErrorException | HttpServerErrorException ex) {
+            String responseBody = ex.getResponseBodyAsString();
+            String detail = extractDetailMessage(responseBody);
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI 서버 오류: " + detail);
+
+        } catch (ResourceAccessException ex) {
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "AI 서버 접근 실패: " + ex.getMessage());
+
+        } catch (Exception ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "예기치 못한 오류: " + ex.getMessage());
+        }
+    }
+
+    private String extractDetailMessage(String json) {
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            JsonNode root = mapper.readTree(json);
+
+            if (root.has("detail")) {
+                JsonNode detailNode = root.get("detail");
+
+                // detail이 문자열이면 바로 리턴
+                if (detailNode.isTextual()) {
+                    return detailNode.asText();
+                }
+
+                // detail이 객체면 error 필드 우선
+                if (detailNode.has("error")) {
+                    return detailNode.get("error").asText();
+                }
+
+                // detail 전체를 문자열로 반환
+                return detailNode.toString();
+            }
+        } catch (Exception e) {
+            // 파싱 실패시 원본문자열 일부만 리턴
+            return json.length() > 200 ? json.substring(0, 200) + "..." : json;
+        }
+
+        return "상세 메시지를 파싱할 수 없습니다.";
+    }
+}
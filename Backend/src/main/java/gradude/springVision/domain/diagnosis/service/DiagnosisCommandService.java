@@ -1,196 +1,198 @@
 package gradude.springVision.domain.diagnosis.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import gradude.springVision.domain.diagnosis.dto.request.SelfDiagnosisRequestDTO;
+import gradude.springVision.domain.diagnosis.dto.request.StoredDiagnosisRequestDTO;
 import gradude.springVision.domain.diagnosis.dto.response.AiDiagnosisResponseDTO;
 import gradude.springVision.domain.diagnosis.dto.response.DiagnosisResponseDTO;
 import gradude.springVision.domain.diagnosis.entity.Diagnosis;
+import gradude.springVision.domain.diagnosis.entity.DiagnosisOutbox;
+import gradude.springVision.domain.diagnosis.entity.DiagnosisOutboxType;
+import gradude.springVision.domain.diagnosis.entity.DiagnosisStatus;
+import gradude.springVision.domain.diagnosis.repository.DiagnosisOutboxRepository;
 import gradude.springVision.domain.diagnosis.repository.DiagnosisRepository;
 import gradude.springVision.domain.hospital.dto.response.HospitalDetailResponseDTO;
-import gradude.springVision.domain.hospital.dto.response.HospitalSearchResponseDTO;
-import gradude.springVision.domain.hospital.entity.Hospital;
-import gradude.springVision.domain.hospital.repository.HospitalRepository;
 import gradude.springVision.domain.hospital.service.HospitalQueryService;
 import gradude.springVision.domain.user.entity.User;
 import gradude.springVision.domain.user.repository.UserRepository;
 import gradude.springVision.global.common.response.ErrorCode;
 import gradude.springVision.global.common.response.exception.GeneralException;
-import gradude.springVision.global.util.S3Service;
-import jakarta.transaction.Transactional;
+import gradude.springVision.global.util.MediaStorage;
+import gradude.springVision.global.util.StagedMultipartFile;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.*;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.server.ResponseStatusException;
-
-import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 
-@Transactional
+/**
+ * 자가진단 저장
+ * - S3 업로드 / AI 모델 / OpenAI 호출은 트랜잭션 밖에서 실행하고, DB 저장만 짧은 트랜잭션으로 묶음 (호출 중 DB 커넥션을 잡지 않음)
+ * - 설문 점수 저장과 같은 트랜잭션에서 LLM 소견 outbox 를 남기고 소견 저장 시 삭제
+ * - 소견 저장 전에 실패 / 서버 종료되면 DiagnosisOutboxRelay 가 이어서 처리
+ */
 @RequiredArgsConstructor
-
 @Service
 public class DiagnosisCommandService {
 
-    @Value("${external.facial-api-url}")
-    private String facialApiUrl;
-    @Value("${external.speech-api-url}")
-    private String speechApiUrl;
+    @Value("${diagnosis.outbox.lease:360000}")
+    private long outboxLease;
     private final UserRepository userRepository;
     private final DiagnosisRepository diagnosisRepository;
-    private final S3Service s3Service;
+    private final DiagnosisOutboxRepository diagnosisOutboxRepository;
     private final LlmDiagnosisService llmDiagnosisService;
     private final HospitalQueryService hospitalQueryService;
-    private final HospitalRepository hospitalRepository;
+    private final AiInferenceService aiInferenceService;
+    private final MediaUploadValidator mediaUploadValidator;
+    private final MediaStorage mediaStorage;
+    private final TransactionTemplate transactionTemplate;
 
-    private static final String[] ALLOWED_VIDEO_EXTENSIONS = {"mp4", "mov"};
-    private static final String[] ALLOWED_AUDIO_EXTENSIONS = {"wav", "pcm", "m4a"};
+    private static final int RECOMMENDED_HOSPITAL_COUNT = 2;
 
     /**
      * 안면+음성 자가 진단
+     * - 업로드 파일 검사(MediaUploadValidator)는 호출 전에 끝나 있어야 함 (컨트롤러에서 해시 계산 전에 검사)
+     * - videoHash / audioHash: 컨트롤러에서 계산한 파일 내용 SHA-256 (다시 읽지 않음)
      */
-    public AiDiagnosisResponseDTO aiDiagnosis(Long userId, MultipartFile mp4File, MultipartFile wavFile) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new GeneralException(ErrorCode.USER_NOT_FOUND));
-
-        // 파일 확장자 검사
-        validateExtension(mp4File, ALLOWED_VIDEO_EXTENSIONS);
-        validateExtension(wavFile, ALLOWED_AUDIO_EXTENSIONS);
-
-        // s3에 저장
-        s3Service.uploadFile(userId, mp4File, "video");
-        s3Service.uploadFile(userId, wavFile, "audio");
-
-        // 안면 자가진단
-        Map<String, Object> faceResult = callAiApi(facialApiUrl, mp4File);
-        boolean facePrediction = ((int) faceResult.get("prediction")) == 1;
-        double faceProbability = (double) faceResult.get("probability");
-
-        // 음성 자가진단
-        Map<String, Object> speechResult = callAiApi(speechApiUrl, wavFile);
-        boolean speechPrediction = ((int) speechResult.get("prediction")) == 1;
-        double speechProbability = (double) speechResult.get("probability");
-
-        // 진단 엔티티 생성 및 저장
-        Diagnosis diagnosis = Diagnosis.builder()
-                .user(user)
-                .face(facePrediction)
-                .faceProbability(faceProbability)
-                .speech(speechPrediction)
-                .speechProbability(speechProbability)
-                .build();
+    public AiDiagnosisResponseDTO aiDiagnosis(Long userId, MultipartFile mp4File, MultipartFile wavFile, String videoHash, String audioHash) {
+        if (!userRepository.existsById(userId)) {
+            throw new GeneralException(ErrorCode.USER_NOT_FOUND);
+        }
 
-        diagnosisRepository.save(diagnosis);
+        // s3 저장 + 안면 / 음성 자가진단 (트랜잭션 밖)
+        AiDiagnosisResponseDTO result = aiInferenceService.infer(userId, mp4File, wavFile, videoHash, audioHash);
+        saveAiDiagnosis(userId, result);
 
-        return AiDiagnosisResponseDTO.of(facePrediction, faceProbability, speechPrediction, speechProbability);
+        return result;
     }
 
     /**
-     * 파일 확장자 검사
+     * 저장소에 직접 업로드한 파일로 안면+음성 자가 진단
+     * - 본인 키인지, 크기 제한 안인지 먼저 확인한 뒤 한 번만 내려받아 파일 검사 / 추론 (저장소에 다시 올리지 않음)
      */
-    private void validateExtension(MultipartFile file, String[] allowedExtensions) {
-        String filename = file.getOriginalFilename();
-        if (filename == null ||
-                Arrays.stream(allowedExtensions)
-                        .noneMatch(ext -> filename.toLowerCase().endsWith("." + ext))) {
-            throw new GeneralException(ErrorCode.FILE_EXTENSION_NOT_SUPPORTED);
+    public AiDiagnosisResponseDTO aiDiagnosisStored(Long userId, StoredDiagnosisRequestDTO storedDiagnosisRequestDTO) {
+        if (!userRepository.existsById(userId)) {
+            throw new GeneralException(ErrorCode.USER_NOT_FOUND);
+        }
+
+        String videoKey = storedDiagnosisRequestDTO.getVideoKey();
+        String audioKey = storedDiagnosisRequestDTO.getAudioKey();
+        DiagnosisUploadService.checkOwner(userId, DiagnosisUploadService.VIDEO_DIR, videoKey);
+        DiagnosisUploadService.checkOwner(userId, DiagnosisUploadService.AUDIO_DIR, audioKey);
+        mediaUploadValidator.validateStoredSizes(mediaStorage.getObjectSize(videoKey), mediaStorage.getObjectSize(audioKey));
+
+        StagedMultipartFile video = null;
+        StagedMultipartFile audio = null;
+        try {
+            video = mediaStorage.download(videoKey, "faceFile");
+            audio = mediaStorage.download(audioKey, "speechFile");
+            mediaUploadValidator.validate(video, audio);
+
+            AiDiagnosisResponseDTO result = aiInferenceService.inferStored(video, audio);
+            saveAiDiagnosis(userId, result);
+            return result;
+        } finally {
+            if (video != null) {
+                video.delete();
+            }
+            if (audio != null) {
+                audio.delete();
+            }
         }
     }
 
+    private void saveAiDiagnosis(Long userId, AiDiagnosisResponseDTO result) {
+        // 진단 엔티티 생성 및 저장
+        transactionTemplate.executeWithoutResult(status -> {
+            Diagnosis diagnosis = Diagnosis.builder()
+                    .user(userRepository.getReferenceById(userId))
+                    .face(result.isFacePrediction())
+                    .faceProbability(result.getFaceProbality())
+                    .speech(result.isSpeechPrediction())
+                    .speechProbability(result.getSpeechProbality())
+                    .build();
+
+            diagnosisRepository.save(diagnosis);
+        });
+    }
+
     /**
-     * 자가진단 AI API 호출
+     * 설문 자가진단 후 자가진단 최종 결과 반환
      */
-    private Map<String, Object> callAiApi(String apiUrl, MultipartFile file) {
-        RestTemplate restTemplate = new RestTemplate();
+    public DiagnosisResponseDTO selfDiagnosis(Long userId, SelfDiagnosisRequestDTO selfDiagnosisRequestDTO, double latitude, double longitude) {
+        ScoredDiagnosis scored = saveScore(userId, selfDiagnosisRequestDTO);
 
-        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        // LLM 진단 결과 (같은 증상 조합은 캐시된 결과 사용, 트랜잭션 밖)
+        String llmResult = null;
         try {
-            body.add("file", new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            });
-        } catch (IOException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일 업로드 실패: " + e.getMessage());
+            llmResult = llmDiagnosisService.analyzeSymptoms(scored.symptoms()).getResult();
+            saveLlmResult(scored.diagnosis().getId(), llmResult);
+        } catch (GeneralException e) {
+            // LLM 과부하 / 차단 시 점수와 병원만 반환 (소견은 outbox relay 가 나중에 저장)
+            if (e.getErrorCode() != ErrorCode.LLM_BUSY && e.getErrorCode() != ErrorCode.LLM_UNAVAILABLE) {
+                throw e;
+            }
         }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-        try {
-            ResponseEntity<Map> response = restTemplate.postForEntity(apiUrl, requestEntity, Map.class);
+        // 가까운 병원 2개 조회 (지도에서 모달 조회랑 같은 반환값들)
+        List<HospitalDetailResponseDTO> hospitalDetails = hospitalQueryService.getNearestHospitalDetails(latitude, longitude, RECOMMENDED_HOSPITAL_COUNT);
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return response.getBody();
-            } else {
-                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI 예측 실패: 응답 본문이 없습니다.");
-            }
+        return DiagnosisResponseDTO.from(scored.diagnosis(), llmResult, hospitalDetails);
+    }
 
-        } catch (HttpClientErrorException | HttpServerErrorException ex) {
-            String responseBody = ex.getResponseBodyAsString();
-            String detail = extractDetailMessage(responseBody);
-            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI 서버 오류: " + detail);
+    /**
+     * 설문 점수와 가까운 병원만 먼저 저장 / 반환 (스트리밍 설문 자가진단)
+     * - LLM 소견은 비워 두고, 스트리밍이 끝나면 saveLlmResult 로 저장
+     */
+    public SurveyScore scoreSelfDiagnosis(Long userId, SelfDiagnosisRequestDTO selfDiagnosisRequestDTO, double latitude, double longitude) {
+        ScoredDiagnosis scored = saveScore(userId, selfDiagnosisRequestDTO);
 
-        } catch (ResourceAccessException ex) {
-            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "AI 서버 접근 실패: " + ex.getMessage());
+        List<HospitalDetailResponseDTO> hospitalDetails = hospitalQueryService.getNearestHospitalDetails(latitude, longitude, RECOMMENDED_HOSPITAL_COUNT);
 
-        } catch (Exception ex) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "예기치 못한 오류: " + ex.getMessage());
-        }
+        return new SurveyScore(scored.diagnosis().getId(), scored.symptoms(), DiagnosisResponseDTO.from(scored.diagnosis(), null, hospitalDetails));
     }
 
-    private String extractDetailMessage(String json) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(json);
-
-            if (root.has("detail")) {
-                JsonNode detailNode = root.get("detail");
+    /**
+     * LLM 진단 소견 저장 + outbox 삭제
+     */
+    public void saveLlmResult(Long diagnosisId, String llmResult) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Diagnosis diagnosis = diagnosisRepository.findById(diagnosisId)
+                    .orElseThrow(() -> new GeneralException(ErrorCode.DIAGNOSIS_NOT_FOUND));
+
+            diagnosis.updateLlmResult(llmResult);
+            diagnosisOutboxRepository.deleteByDiagnosisIdAndType(diagnosisId, DiagnosisOutboxType.LLM_RESULT);
+        });
+    }
 
-                // detail이 문자열이면 바로 리턴
-                if (detailNode.isTextual()) {
-                    return detailNode.asText();
-                }
+    /**
+     * 설문 점수 저장 + LLM 소견 outbox 기록 (한 트랜잭션)
+     * - outbox 는 lease 동안 요청 스레드가 처리하고, 그 뒤에도 남아 있으면 relay 가 처리
+     */
+    private ScoredDiagnosis saveScore(Long userId, SelfDiagnosisRequestDTO selfDiagnosisRequestDTO) {
+        return transactionTemplate.execute(status -> {
+            Diagnosis diagnosis = diagnosisRepository.findTopByUserIdAndStatusOrderByCreatedAtDesc(userId, DiagnosisStatus.COMPLETED)
+                    .orElseThrow(() -> new GeneralException(ErrorCode.DIAGNOSIS_NOT_FOUND));
 
-                // detail이 객체면 error 필드 우선
-                if (detailNode.has("error")) {
-                    return detailNode.get("error").asText();
-                }
+            int symptoms = score(userId, diagnosis, selfDiagnosisRequestDTO);
+            diagnosis.updateLlmResult(null);
 
-                // detail 전체를 문자열로 반환
-                return detailNode.toString();
-            }
-        } catch (Exception e) {
-            // 파싱 실패시 원본문자열 일부만 리턴
-            return json.length() > 200 ? json.substring(0, 200) + "..." : json;
-        }
+            diagnosisOutboxRepository.save(DiagnosisOutbox.llmResult(diagnosis.getId(), symptoms,
+                    LocalDateTime.now().plus(Duration.ofMillis(outboxLease))));
 
-        return "상세 메시지를 파싱할 수 없습니다.";
+            return new ScoredDiagnosis(diagnosis, symptoms);
+        });
     }
 
     /**
-     * 설문 자가진단 후 자가진단 최종 결과 반환
+     * CG-FAST 점수 계산 후 진단에 반영하고 증상 조합(SymptomMask) 반환
      */
-    public DiagnosisResponseDTO selfDiagnosis(Long userId, SelfDiagnosisRequestDTO selfDiagnosisRequestDTO, double latitude, double longitude) {        Diagnosis diagnosis = diagnosisRepository.findTopByUserIdOrderByCreatedAtDesc(userId)
-                .orElseThrow(() -> new GeneralException(ErrorCode.DIAGNOSIS_NOT_FOUND));
-
+    private int score(Long userId, Diagnosis diagnosis, SelfDiagnosisRequestDTO selfDiagnosisRequestDTO) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new GeneralException(ErrorCode.USER_NOT_FOUND));
 
@@ -215,36 +217,25 @@ public class DiagnosisCommandService {
         int totalScore = orientation + selfDiagnosisRequestDTO.getGaze() + selfDiagnosisRequestDTO.getArm()
                         + (diagnosis.isFace() ? 1 : 0) + (diagnosis.isSpeech() ? 1 : 0);
 
-        // 증상 문장 생성
-        String symptoms = String.format(
-                "환자는 시선 이상 %s, 팔 움직임 이상 %s, 안면 마비 %s, 구음 장애 %s, 시간 인지 이상 %s, 나이 인지 이상 %s",
-                selfDiagnosisRequestDTO.getGaze() == 1 ? "있음" : "없음",
-                selfDiagnosisRequestDTO.getArm() == 1 ? "있음" : "없음",
-                diagnosis.isFace() ? "있음" : "없음",
-                diagnosis.isSpeech() ? "있음" : "없음",
-                isMonthCorrect ? "없음" : "있음",
-                isAgeCorrect ? "없음" : "있음"
-        );
+        diagnosis.updateDiagnosis(selfDiagnosisRequestDTO, orientation, totalScore);
 
-        // LLM 진단 결과
-        String llmResult = llmDiagnosisService.analyzeSymptoms(symptoms).getResult();
+        // 증상 조합 (6개 증상 유무)
+        return SymptomMask.of(
+                selfDiagnosisRequestDTO.getGaze() == 1,
+                selfDiagnosisRequestDTO.getArm() == 1,
+                diagnosis.isFace(),
+                diagnosis.isSpeech(),
+                !isMonthCorrect,
+                !isAgeCorrect
+        );
+    }
 
-        diagnosis.updateDiagnosis(selfDiagnosisRequestDTO, orientation, totalScore, llmResult);
+    /**
+     * 점수 계산까지 끝난 설문 자가진단 (LLM 소견 제외)
+     */
+    public record SurveyScore(Long diagnosisId, int symptoms, DiagnosisResponseDTO response) {
+    }
 
-        // 가까운 병원 2개 조회 (지도에서 모달 조회랑 같은 반환값들)
-        List<HospitalSearchResponseDTO> nearestHospitals = hospitalQueryService.getNearestHospitals(latitude, longitude)
-                .subList(0, Math.min(2, hospitalQueryService.getNearestHospitals(latitude, longitude).size()));
-
-        List<HospitalDetailResponseDTO> hospitalDetails = nearestHospitals.stream()
-                .map(dto -> {
-                    Hospital hospital = hospitalRepository.findById(dto.getHospitalId())
-                            .orElseThrow(() -> new GeneralException(ErrorCode.HOSPITAL_NOT_FOUND));
-                    boolean isOpen = hospital.isEmergency()
-                            || (hospital.getOpeningHour() != null && hospital.isOpenNow());
-                    return HospitalDetailResponseDTO.ofMarker(hospital, dto.getDistance(), isOpen);
-                })
-                .toList();
-
-        return DiagnosisResponseDTO.from(diagnosis, llmResult, hospitalDetails);
+    private record ScoredDiagnosis(Diagnosis diagnosis, int symptoms) {
     }
 }
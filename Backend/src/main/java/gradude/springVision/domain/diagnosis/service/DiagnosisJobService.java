@@ -0,0 +1,269 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.domain.diagnosis.dto.response.AiDiagnosisResponseDTO;
+import gradude.springVision.domain.diagnosis.dto.response.DiagnosisJobResponseDTO;
+import gradude.springVision.domain.diagnosis.entity.Diagnosis;
+import gradude.springVision.domain.diagnosis.entity.DiagnosisStatus;
+import gradude.springVision.domain.diagnosis.repository.DiagnosisRepository;
+import gradude.springVision.domain.user.entity.User;
+import gradude.springVision.domain.user.repository.UserRepository;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import gradude.springVision.global.util.StagedMultipartFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * 비동기 AI 자가진단 작업
+ * - 요청 시 PENDING 진단을 저장하고 업로드 파일을 임시 파일로 옮긴 뒤 바로 작업 id 반환
+ * - 작업 스레드 풀에서 S3 업로드 / 안면, 음성 추론을 실행하고 상태를 PROCESSING -> COMPLETED / FAILED 로 갱신
+ * - 진행 상황은 GET 폴링 또는 SSE 구독으로 확인 (status: 상태 변경, branch: 업로드 / 추론 작업 하나 완료)
+ * - 클래스 단위 트랜잭션 없음: 상태 변경마다 짧은 트랜잭션으로 저장하므로 추론 중에는 DB 커넥션을 잡지 않음
+ * - 상태 변경은 현재 상태를 조건으로 한 UPDATE (PENDING -> PROCESSING, PROCESSING -> COMPLETED / FAILED)
+ *   stale 정리가 먼저 FAILED 로 바꾼 작업은 실행하지 않고, 늦게 끝난 추론 결과로 FAILED 를 덮어쓰지 않음
+ * - 서버 종료 등으로 끝나지 못한 작업은 시작 시 / 주기적으로 stale-timeout 이 지나면 FAILED(AI_TIMEOUT) 처리
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class DiagnosisJobService {
+
+    @Value("${diagnosis.job.sse-timeout:300000}")
+    private long sseTimeout;
+    @Value("${diagnosis.job.stale-timeout:600000}")
+    private long staleTimeout;
+    private final UserRepository userRepository;
+    private final DiagnosisRepository diagnosisRepository;
+    private final AiInferenceService aiInferenceService;
+    private final MediaUploadValidator mediaUploadValidator;
+    private final ThreadPoolTaskExecutor diagnosisJobExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    // 작업 id -> SSE 구독자
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * AI 자가진단 작업 접수
+     */
+    public DiagnosisJobResponseDTO submit(Long userId, MultipartFile mp4File, MultipartFile wavFile) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new GeneralException(ErrorCode.USER_NOT_FOUND));
+
+        mediaUploadValidator.validate(mp4File, wavFile);
+
+        // 요청이 끝나면 multipart 임시 파일이 지워지므로 작업용 임시 파일로 옮겨 둠
+        StagedMultipartFile video = null;
+        StagedMultipartFile audio = null;
+        try {
+            video = StagedMultipartFile.stage(mp4File);
+            audio = StagedMultipartFile.stage(wavFile);
+        } catch (IOException e) {
+            deleteQuietly(video, audio);
+            throw new GeneralException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+
+        Diagnosis diagnosis = diagnosisRepository.save(Diagnosis.pending(user));
+        Long jobId = diagnosis.getId();
+
+        StagedMultipartFile stagedVideo = video;
+        StagedMultipartFile stagedAudio = audio;
+        try {
+            diagnosisJobExecutor.execute(() -> run(jobId, userId, stagedVideo, stagedAudio));
+        } catch (TaskRejectedException e) {
+            deleteQuietly(video, audio);
+            // 실행되지 않은 작업이므로 PENDING 에서 바로 FAILED
+            fail(jobId, DiagnosisStatus.PENDING, ErrorCode.AI_SERVER_BUSY.getCode(), ErrorCode.AI_SERVER_BUSY.getMessage());
+            throw new GeneralException(ErrorCode.AI_SERVER_BUSY);
+        }
+
+        return DiagnosisJobResponseDTO.from(diagnosis);
+    }
+
+    /**
+     * 작업 상태 조회
+     */
+    public DiagnosisJobResponseDTO getJob(Long userId, Long jobId) {
+        return DiagnosisJobResponseDTO.from(findJob(userId, jobId));
+    }
+
+    /**
+     * 작업 진행 상황 SSE 구독
+     * - 구독 직후 현재 상태를 한 번 보내고, 작업이 끝나면 스트림 종료
+     */
+    public SseEmitter subscribe(Long userId, Long jobId) {
+        Diagnosis job = findJob(userId, jobId);
+        SseEmitter emitter = new SseEmitter(sseTimeout);
+
+        if (job.getStatus().isFinished()) {
+            send(emitter, "status", DiagnosisJobResponseDTO.from(job));
+            emitter.complete();
+            return emitter;
+        }
+
+        subscribers.compute(jobId, (id, emitters) -> {
+            List<SseEmitter> list = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+        emitter.onCompletion(() -> unsubscribe(jobId, emitter));
+        emitter.onTimeout(() -> unsubscribe(jobId, emitter));
+        emitter.onError(e -> unsubscribe(jobId, emitter));
+
+        // 구독 등록 전에 상태가 바뀌었을 수 있으므로 등록 후 다시 조회해서 전송
+        DiagnosisJobResponseDTO current = DiagnosisJobResponseDTO.from(findJob(userId, jobId));
+        send(emitter, "status", current);
+        if (current.getStatus().isFinished()) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * 중단된 작업 정리
+     * - stale-timeout 동안 PENDING / PROCESSING 에서 상태가 바뀌지 않은 작업을 FAILED 로 변경
+     * - 이 서버에 구독자가 있는 작업은 바뀐 상태를 전송하고 스트림 종료
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${diagnosis.job.sweep-interval:60000}", initialDelayString = "${diagnosis.job.sweep-interval:60000}")
+    public void failStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(Duration.ofMillis(staleTimeout));
+        try {
+            Integer failed = transactionTemplate.execute(status -> diagnosisRepository.failStaleJobs(
+                    List.of(DiagnosisStatus.PENDING, DiagnosisStatus.PROCESSING), staleBefore, DiagnosisStatus.FAILED,
+                    ErrorCode.AI_TIMEOUT.getCode(), ErrorCode.AI_TIMEOUT.getMessage(), now));
+            if (failed == null || failed == 0) {
+                return;
+            }
+            log.warn("중단된 AI 자가진단 작업 {}건 FAILED 처리", failed);
+
+            for (Long jobId : subscribers.keySet()) {
+                diagnosisRepository.findById(jobId)
+                        .filter(job -> job.getStatus().isFinished())
+                        .ifPresent(this::publishStatus);
+            }
+        } catch (RuntimeException e) {
+            log.error("중단된 AI 자가진단 작업 정리 실패", e);
+        }
+    }
+
+    private void run(Long jobId, Long userId, StagedMultipartFile video, StagedMultipartFile audio) {
+        try {
+            // 대기열에서 stale-timeout 보다 오래 기다린 작업은 이미 FAILED 로 바뀌어 있을 수 있음
+            if (!changed(() -> diagnosisRepository.updateStatus(jobId, DiagnosisStatus.PENDING, DiagnosisStatus.PROCESSING, LocalDateTime.now()))) {
+                log.warn("이미 종료된 AI 자가진단 작업 실행 생략. jobId: {}", jobId);
+                return;
+            }
+            publishStatus(jobId);
+
+            AiDiagnosisResponseDTO result = aiInferenceService.infer(userId, video, audio, branch -> publish(jobId, "branch", branch));
+
+            if (changed(() -> diagnosisRepository.complete(jobId, DiagnosisStatus.PROCESSING, DiagnosisStatus.COMPLETED,
+                    result.isFacePrediction(), result.getFaceProbality(), result.isSpeechPrediction(), result.getSpeechProbality(),
+                    LocalDateTime.now()))) {
+                publishStatus(jobId);
+            } else {
+                log.warn("이미 종료된 AI 자가진단 작업의 결과 버림. jobId: {}", jobId);
+            }
+        } catch (GeneralException e) {
+            fail(jobId, DiagnosisStatus.PROCESSING, e.getErrorCode().getCode(), e.getMessage());
+        } catch (ResponseStatusException e) {
+            fail(jobId, DiagnosisStatus.PROCESSING, ErrorCode.AI_CALL_FAILED.getCode(), e.getReason());
+        } catch (RuntimeException e) {
+            log.error("AI 자가진단 작업 실패. jobId: {}", jobId, e);
+            fail(jobId, DiagnosisStatus.PROCESSING, ErrorCode.AI_PREDICTION_FAILED.getCode(), ErrorCode.AI_PREDICTION_FAILED.getMessage());
+        } finally {
+            deleteQuietly(video, audio);
+        }
+    }
+
+    private void fail(Long jobId, DiagnosisStatus expected, String failureCode, String failureMessage) {
+        String message = failureMessage != null && failureMessage.length() > 255 ? failureMessage.substring(0, 255) : failureMessage;
+        try {
+            if (changed(() -> diagnosisRepository.fail(jobId, expected, DiagnosisStatus.FAILED, failureCode, message, LocalDateTime.now()))) {
+                publishStatus(jobId);
+            }
+        } catch (RuntimeException e) {
+            log.error("AI 자가진단 작업 실패 상태 저장 실패. jobId: {}", jobId, e);
+        }
+    }
+
+    // 조건부 UPDATE 를 짧은 트랜잭션으로 실행, 한 행이 바뀌었으면 true
+    private boolean changed(Supplier<Integer> update) {
+        Integer updated = transactionTemplate.execute(status -> update.get());
+        return updated != null && updated > 0;
+    }
+
+    private Diagnosis findJob(Long userId, Long jobId) {
+        return diagnosisRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new GeneralException(ErrorCode.DIAGNOSIS_NOT_FOUND));
+    }
+
+    private void publishStatus(Long jobId) {
+        diagnosisRepository.findById(jobId).ifPresent(this::publishStatus);
+    }
+
+    private void publishStatus(Diagnosis job) {
+        publish(job.getId(), "status", DiagnosisJobResponseDTO.from(job));
+        if (job.getStatus().isFinished()) {
+            List<SseEmitter> emitters = subscribers.remove(job.getId());
+            if (emitters != null) {
+                emitters.forEach(SseEmitter::complete);
+            }
+        }
+    }
+
+    /**
+     * 구독자 제거, 마지막 구독자였으면 작업 항목도 제거
+     */
+    private void unsubscribe(Long jobId, SseEmitter emitter) {
+        subscribers.computeIfPresent(jobId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private void publish(Long jobId, String event, Object data) {
+        List<SseEmitter> emitters = subscribers.get(jobId);
+        if (emitters != null) {
+            emitters.forEach(emitter -> send(emitter, event, data));
+        }
+    }
+
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 연결이 끊긴 구독자는 onError / onCompletion 에서 정리됨
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static void deleteQuietly(StagedMultipartFile... files) {
+        for (StagedMultipartFile file : files) {
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+}
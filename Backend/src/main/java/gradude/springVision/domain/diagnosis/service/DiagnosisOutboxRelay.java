@@ -0,0 +1,99 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.domain.diagnosis.entity.DiagnosisOutbox;
+import gradude.springVision.domain.diagnosis.repository.DiagnosisOutboxRepository;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 자가진단 outbox 재처리
+ * - 요청 스레드가 lease 안에 처리하지 못한 outbox (실패, 서버 종료 등) 를 주기적으로 가져와 처리
+ * - 처리 전에 lease 만큼 availableAt 을 미뤄 선점하므로 여러 인스턴스가 같은 작업을 중복 처리하지 않음
+ * - max-attempts 만큼 실패하면 outbox 를 지우지 않고 dead 로 표시 (deadAt, lastError), 이후 relay 대상에서 제외
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiagnosisOutboxRelay {
+
+    @Value("${diagnosis.outbox.lease:360000}")
+    private long lease;
+    @Value("${diagnosis.outbox.batch-size:20}")
+    private int batchSize;
+    @Value("${diagnosis.outbox.max-attempts:5}")
+    private int maxAttempts;
+    private final DiagnosisOutboxRepository diagnosisOutboxRepository;
+    private final DiagnosisCommandService diagnosisCommandService;
+    private final LlmDiagnosisService llmDiagnosisService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${diagnosis.outbox.poll-interval:30000}")
+    public void relay() {
+        List<DiagnosisOutbox> events = diagnosisOutboxRepository.findByDeadAtIsNullAndAvailableAtLessThanEqualOrderByAvailableAt(
+                LocalDateTime.now(), PageRequest.of(0, batchSize));
+
+        for (DiagnosisOutbox event : events) {
+            if (!claim(event)) {
+                continue;
+            }
+
+            try {
+                process(event);
+            } catch (RuntimeException e) {
+                int attempts = event.getAttempts() + 1;
+                if (attempts >= maxAttempts) {
+                    log.error("자가진단 outbox 처리 포기. id: {}, diagnosisId: {}, type: {}", event.getId(), event.getDiagnosisId(), event.getType(), e);
+                    markDead(event, e);
+                } else {
+                    log.warn("자가진단 outbox 처리 실패 ({}회). id: {}, diagnosisId: {}", attempts, event.getId(), event.getDiagnosisId(), e);
+                }
+            }
+        }
+    }
+
+    private void markDead(DiagnosisOutbox event, RuntimeException cause) {
+        String message = String.valueOf(cause.getMessage());
+        String lastError = cause.getClass().getSimpleName() + ": " + (message.length() > 200 ? message.substring(0, 200) : message);
+        try {
+            transactionTemplate.execute(status -> diagnosisOutboxRepository.markDead(event.getId(), LocalDateTime.now(), lastError));
+        } catch (RuntimeException e) {
+            // 표시하지 못하면 lease 이후 다시 처리되고 그때 다시 표시
+            log.error("자가진단 outbox dead 표시 실패. id: {}", event.getId(), e);
+        }
+    }
+
+    private boolean claim(DiagnosisOutbox event) {
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(Duration.ofMillis(lease));
+        Integer claimed = transactionTemplate.execute(status ->
+                diagnosisOutboxRepository.claim(event.getId(), event.getAvailableAt(), leaseUntil));
+        return claimed != null && claimed == 1;
+    }
+
+    private void process(DiagnosisOutbox event) {
+        switch (event.getType()) {
+            case LLM_RESULT -> {
+                String llmResult = llmDiagnosisService.analyzeSymptoms(event.getSymptoms()).getResult();
+                try {
+                    diagnosisCommandService.saveLlmResult(event.getDiagnosisId(), llmResult);
+                } catch (GeneralException e) {
+                    // 진단이 삭제된 경우 더 처리할 것이 없음
+                    if (e.getErrorCode() != ErrorCode.DIAGNOSIS_NOT_FOUND) {
+                        throw e;
+                    }
+                    diagnosisOutboxRepository.deleteById(event.getId());
+                }
+            }
+        }
+    }
+}
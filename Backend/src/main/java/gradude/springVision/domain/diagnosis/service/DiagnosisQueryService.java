@@ -3,6 +3,7 @@ package gradude.springVision.domain.diagnosis.service;
 import gradude.springVision.domain.diagnosis.dto.response.DiagnosisCalendarResponseDTO;
 import gradude.springVision.domain.diagnosis.dto.response.DiagnosisResponseDTO;
 import gradude.springVision.domain.diagnosis.entity.Diagnosis;
+import gradude.springVision.domain.diagnosis.entity.DiagnosisStatus;
 import gradude.springVision.domain.diagnosis.repository.DiagnosisRepository;
 import gradude.springVision.domain.hospital.dto.response.HospitalDetailResponseDTO;
 import gradude.springVision.domain.hospital.entity.Hospital;
@@ -22,7 +23,7 @@ public class DiagnosisQueryService {
     private final HospitalRepository hospitalRepository;
 
     public List<DiagnosisCalendarResponseDTO> getDiagnosisCalendar(Long userId) {
-        List<Diagnosis> diagnoses = diagnosisRepository.findAllByUserIdOrderByCreatedAtDesc(userId);
+        List<Diagnosis> diagnoses = diagnosisRepository.findAllByUserIdAndStatusOrderByCreatedAtDesc(userId, DiagnosisStatus.COMPLETED);
         return diagnoses.stream()
                 .map(DiagnosisCalendarResponseDTO::from)
                 .toList();
@@ -0,0 +1,60 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.domain.diagnosis.dto.request.DiagnosisUploadRequestDTO;
+import gradude.springVision.domain.diagnosis.dto.response.DiagnosisUploadResponseDTO;
+import gradude.springVision.domain.user.repository.UserRepository;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import gradude.springVision.global.util.MediaStorage;
+import gradude.springVision.global.util.MediaStorage.PresignedUpload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * AI 자가진단 파일 직접 업로드 (1단계)
+ * - 영상 / 음성 각각 presigned PUT URL 을 발급하고, 클라이언트는 API 서버를 거치지 않고 저장소에 바로 업로드
+ * - 업로드가 끝나면 발급받은 키로 POST /api/diagnosis/stored 호출 (2단계)
+ */
+@RequiredArgsConstructor
+@Service
+public class DiagnosisUploadService {
+
+    static final String VIDEO_DIR = "video";
+    static final String AUDIO_DIR = "audio";
+
+    private final UserRepository userRepository;
+    private final MediaStorage mediaStorage;
+    private final MediaUploadValidator mediaUploadValidator;
+
+    public DiagnosisUploadResponseDTO presign(Long userId, DiagnosisUploadRequestDTO diagnosisUploadRequestDTO) {
+        if (!userRepository.existsById(userId)) {
+            throw new GeneralException(ErrorCode.USER_NOT_FOUND);
+        }
+
+        String videoExtension = mediaUploadValidator.videoExtension(diagnosisUploadRequestDTO.getVideoFilename());
+        String audioExtension = mediaUploadValidator.audioExtension(diagnosisUploadRequestDTO.getAudioFilename());
+
+        PresignedUpload video = mediaStorage.presignUpload(userId, VIDEO_DIR, videoExtension);
+        PresignedUpload audio = mediaStorage.presignUpload(userId, AUDIO_DIR, audioExtension);
+
+        return DiagnosisUploadResponseDTO.builder()
+                .videoKey(video.key())
+                .videoUploadUrl(video.url())
+                .audioKey(audio.key())
+                .audioUploadUrl(audio.url())
+                .expiresAt(LocalDateTime.ofInstant(video.expiresAt(), ZoneId.of("Asia/Seoul")))
+                .build();
+    }
+
+    /**
+     * 다른 사용자의 키로 진단하지 못하도록 키가 {dir}/{userId}/ 아래인지 확인
+     */
+    static void checkOwner(Long userId, String dirName, String key) {
+        if (!key.startsWith(dirName + "/" + userId + "/")) {
+            throw new GeneralException(ErrorCode.FORBIDDEN);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gradude.springVision.domain.diagnosis.dto.request.FacialFeatureRequestDTO;
+import gradude.springVision.domain.diagnosis.dto.response.FacialScoreResponseDTO;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 안면 특징 벡터를 AI 서버 호출 없이 채점
+ * - AI 서버와 같은 모델 파일(xgb_stroke.json)을 시작 시 한 번 읽어 XgbTreeEnsemble 로 평가
+ * - 판정 기준(threshold)도 모델 파일 값을 그대로 사용
+ */
+@Slf4j
+@Service
+public class FacialScoringService {
+
+    private final XgbTreeEnsemble model;
+    private final double threshold;
+
+    public FacialScoringService(@Value("${diagnosis.facial-model.location:classpath:model/xgb_stroke.json}") Resource location,
+                                ObjectMapper objectMapper) {
+        JsonNode artefact;
+        try (InputStream in = location.getInputStream()) {
+            // xgb_params.missing 이 NaN 으로 저장되어 있음 (Python json 기본 출력)
+            artefact = objectMapper.reader().with(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS).readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("안면 마비 모델 파일을 읽을 수 없습니다. location: " + location, e);
+        }
+
+        this.model = XgbTreeEnsemble.parse(Base64.getDecoder().decode(artefact.path("model_base64").asText()));
+        this.threshold = artefact.path("threshold").asDouble(0.5);
+        log.info("안면 마비 모델 로드. trees: {}, features: {}, threshold: {}, xgb_version: {}",
+                model.treeCount(), model.featureCount(), threshold, artefact.path("xgb_version").asText("unknown"));
+    }
+
+    public FacialScoreResponseDTO score(FacialFeatureRequestDTO facialFeatureRequestDTO) {
+        List<Double> features = facialFeatureRequestDTO.getFeatures();
+        if (features == null || features.size() != model.featureCount()) {
+            throw new GeneralException(ErrorCode.INVALID_FACIAL_FEATURES);
+        }
+
+        double[] vector = new double[features.size()];
+        for (int i = 0; i < vector.length; i++) {
+            Double value = features.get(i);
+            vector[i] = value == null ? Double.NaN : value;
+        }
+
+        double probability = model.probability(vector);
+        return new FacialScoreResponseDTO(probability >= threshold, probability);
+    }
+}
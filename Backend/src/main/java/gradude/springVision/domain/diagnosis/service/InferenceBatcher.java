@@ -0,0 +1,163 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 모델 서버 하나에 대한 마이크로 배치 요청기
+ * - 추론 요청을 최대 maxWait 동안 또는 maxSize 개까지 모아 배치 API 한 번으로 보내고, 결과를 요청별로 돌려줌
+ * - 수집 스레드는 배치를 넘긴 뒤 바로 다음 배치를 모으고, 전송은 sender 스레드(동시 배치 수 = maxInFlight)에서 실행
+ * - 전송 중인 배치가 maxInFlight 개이면 수집 스레드가 기다리므로 밀린 요청은 queue 에 쌓임
+ * - 대기 요청이 queueCapacity 를 넘으면 AI_SERVER_BUSY
+ * - 호출 측이 시간 초과 등으로 결과를 취소한 요청은 배치에서 빼고 보냄 (취소 후 지워진 임시 파일이 다른 요청까지 실패시키지 않도록)
+ */
+@Slf4j
+final class InferenceBatcher implements AutoCloseable {
+
+    private record Pending(MultipartFile file, CompletableFuture<Map<String, Object>> result) {
+    }
+
+    private final String backend;
+    private final int maxSize;
+    private final long maxWaitNanos;
+    private final Function<List<MultipartFile>, List<Map<String, Object>>> batchCall;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<Pending> queue;
+    private final ExecutorService senders;
+    private final Semaphore inFlight;
+    private final Thread collector;
+    private volatile boolean running = true;
+
+    InferenceBatcher(String backend, int maxSize, long maxWaitMillis, int queueCapacity, int maxInFlight,
+                     MeterRegistry meterRegistry, Function<List<MultipartFile>, List<Map<String, Object>>> batchCall) {
+        this.backend = backend;
+        this.maxSize = maxSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.batchCall = batchCall;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.senders = Executors.newFixedThreadPool(maxInFlight, runnable -> {
+            Thread thread = new Thread(runnable, "ai-batch-" + backend + "-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.collector = new Thread(this::collect, "ai-batch-" + backend);
+        this.collector.setDaemon(true);
+        this.collector.start();
+    }
+
+    /**
+     * 추론 요청 등록, 배치 응답 중 이 파일의 항목({prediction, probability} 또는 {error})으로 완료
+     */
+    CompletableFuture<Map<String, Object>> submit(MultipartFile file) {
+        Pending pending = new Pending(file, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new GeneralException(ErrorCode.AI_SERVER_BUSY);
+        }
+        return pending.result();
+    }
+
+    private void collect() {
+        while (running) {
+            List<Pending> batch = new ArrayList<>(maxSize);
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS); // 종료 여부 확인 주기
+                if (first == null) {
+                    continue;
+                }
+
+                addIfWaiting(batch, first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    addIfWaiting(batch, next);
+                }
+
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                inFlight.acquire();
+                try {
+                    senders.execute(() -> {
+                        try {
+                            send(batch);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            } catch (InterruptedException e) {
+                // 종료 중 모으던 요청은 보내지 않고 실패 처리
+                batch.forEach(pending -> pending.result().completeExceptionally(new GeneralException(ErrorCode.AI_SERVER_BUSY)));
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("AI 배치 수집 실패. backend: {}", backend, e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+        }
+    }
+
+    // 이미 취소된 요청은 모으지 않음
+    private static void addIfWaiting(List<Pending> batch, Pending pending) {
+        if (!pending.result().isDone()) {
+            batch.add(pending);
+        }
+    }
+
+    private void send(List<Pending> collected) {
+        // 수집 후 전송 스레드를 기다리는 동안 취소된 요청도 제외
+        List<Pending> batch = collected.stream().filter(pending -> !pending.result().isDone()).toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+        meterRegistry.summary("diagnosis.ai.batch.size", "backend", backend).record(batch.size());
+        try {
+            List<Map<String, Object>> results = batchCall.apply(batch.stream().map(Pending::file).toList());
+            if (results.size() != batch.size()) {
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI 예측 실패: 배치 응답 개수가 요청과 다릅니다.");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        collector.interrupt();
+        senders.shutdown();
+
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.result().completeExceptionally(new GeneralException(ErrorCode.AI_SERVER_BUSY)));
+    }
+}
@@ -1,24 +1,95 @@
 package gradude.springVision.domain.diagnosis.service;
 
 import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.service.OpenAiService;
 import gradude.springVision.domain.diagnosis.dto.response.LlmDiagnosisResponseDTO;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+/**
+ * LLM 뇌졸중 진단 소견
+ * - 프롬프트는 증상 6개 유무(SymptomMask, 64가지)로만 결정되고 temperature 0 이므로 응답을 Redis 에 캐시
+ * - 캐시 키: llmDiagnosis:{프롬프트 버전}:{증상 비트}
+ * - 프롬프트 버전은 모델명 + 페르소나 + 템플릿 + 증상 문장 형식의 해시라서, 이 중 하나라도 바뀌면 이전 캐시는 자동으로 쓰이지 않음
+ * - openai.cache.warm-up: true 이면 서버 시작 후 64가지 조합을 미리 생성
+ * - 캐시에 없는 같은 프롬프트를 동시에 요청하면 OpenAI 호출 하나를 함께 기다림 (LlmFlight)
+ * - OpenAI 호출은 openai bulkhead / circuit breaker 로 보호 (초과: LLM_BUSY, 차단: LLM_UNAVAILABLE)
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class LlmDiagnosisService {
 
+    private static final String CACHE_KEY_PREFIX = "llmDiagnosis:";
+    private static final String EMPTY_RESULT = "응답이 없습니다.";
+    private static final String OPENAI_BACKEND = "openai";
+
+    private static final String PERSONA = "당신은 뇌졸중 임상 진단 및 치료 전문가입니다.\n" +
+            "환자가 자연어로 표현한 증상을 바탕으로, 현재 임상적으로 고려해야 할 진단 소견, 관련된 뇌졸중 척도(예: CPSS, LAPSS, FAST 등)의 의미,\n" +
+            "그리고 적절한 치료 권고와 추후 관리 방안을 전문적이면서도 이해하기 쉽게 한국어로 설명해 주세요.";
+
+    private static final String TEMPLATE = "아래는 환자의 증상 설명입니다:\n\n\"%s\"\n\n" +
+            "이 증상을 기반으로 다음을 작성해 주세요:\n" +
+            "1) 임상적으로 의심되는 뇌졸중 가능성 및 진단 소견\n" +
+            "2) 관련된 병원전진단척도(예: CPSS, LAPSS, FAST 등)에서 어떤 평가 항목에 해당하는지와 점수 가능성\n" +
+            "3) 응급 처치 또는 병원 이송 권고 등 치료 방향\n" +
+            "4) 추후 관리 및 유의사항\n\n" +
+            "답변은 자연스럽고 전문적으로 작성해 주세요.";
+
     @Value("${openai.model}")
     private String model;
+    @Value("${openai.cache.ttl-days:30}")
+    private long cacheTtlDays;
+    @Value("${openai.cache.warm-up:false}")
+    private boolean warmUp;
 
     private final OpenAiService openAiService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    // 캐시 키(프롬프트 버전 + 증상 조합) -> 진행 중인 OpenAI 호출
+    private final Map<String, LlmFlight> inFlight = new ConcurrentHashMap<>();
+
+    private String promptVersion;
+
+    @PostConstruct
+    void initPromptVersion() {
+        promptVersion = hash(model + "\n" + PERSONA + "\n" + TEMPLATE + "\n" + SymptomMask.SENTENCE_FORMAT);
+        meterRegistry.gaugeMapSize("llm.diagnosis.inflight", Tags.empty(), inFlight);
+    }
 
     /**
      * TODO - 프롬프트 수정해야 함
@@ -34,32 +105,227 @@ public class LlmDiagnosisService {
      *
      * → 3점 이상이면 양성
      */
-    public LlmDiagnosisResponseDTO analyzeSymptoms(String symptoms) {
-        String persona = "당신은 뇌졸중 임상 진단 및 치료 전문가입니다.\n" +
-                "환자가 자연어로 표현한 증상을 바탕으로, 현재 임상적으로 고려해야 할 진단 소견, 관련된 뇌졸중 척도(예: CPSS, LAPSS, FAST 등)의 의미,\n" +
-                "그리고 적절한 치료 권고와 추후 관리 방안을 전문적이면서도 이해하기 쉽게 한국어로 설명해 주세요.";
-
-        String template = "아래는 환자의 증상 설명입니다:\n\n\"" + symptoms + "\"\n\n" +
-                "이 증상을 기반으로 다음을 작성해 주세요:\n" +
-                "1) 임상적으로 의심되는 뇌졸중 가능성 및 진단 소견\n" +
-                "2) 관련된 병원전진단척도(예: CPSS, LAPSS, FAST 등)에서 어떤 평가 항목에 해당하는지와 점수 가능성\n" +
-                "3) 응급 처치 또는 병원 이송 권고 등 치료 방향\n" +
-                "4) 추후 관리 및 유의사항\n\n" +
-                "답변은 자연스럽고 전문적으로 작성해 주세요.";
+    public LlmDiagnosisResponseDTO analyzeSymptoms(int symptomMask) {
+        String key = cacheKey(symptomMask);
+        String cached = getCached(key);
+        if (cached != null) {
+            countRequest("cache_hit");
+            return new LlmDiagnosisResponseDTO(cached);
+        }
+
+        LlmFlight flight = new LlmFlight();
+        LlmFlight shared = inFlight.putIfAbsent(key, flight);
+        if (shared != null) {
+            countRequest("coalesced");
+            return new LlmDiagnosisResponseDTO(shared.await());
+        }
 
+        try {
+            // 캐시 조회 후 앞선 호출이 끝났을 수 있으므로 한 번 더 확인
+            String result = getCached(key);
+            if (result != null) {
+                countRequest("cache_hit");
+            } else {
+                countRequest("leader");
+                result = complete(SymptomMask.describe(symptomMask));
+                if (!EMPTY_RESULT.equals(result)) {
+                    putCached(key, result);
+                }
+            }
+            flight.complete(result);
+            return new LlmDiagnosisResponseDTO(result);
+        } catch (RuntimeException e) {
+            flight.fail(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * LLM 진단 소견을 토큰 단위로 스트리밍
+     * - onToken: 생성된 토큰 조각마다 호출 (캐시 적중 시 전체 결과를 한 번에 전달)
+     * - onComplete: 전체 결과, onError: 호출 실패 (둘 중 하나만 한 번 호출)
+     * - OpenAI 스트림은 OkHttp 스레드에서 비동기로 진행되므로 호출 스레드를 막지 않음
+     * - 같은 프롬프트가 이미 생성 중이면 그 스트림에 합류 (지금까지 생성된 내용부터 전달)
+     */
+    public void streamSymptoms(int symptomMask, Consumer<String> onToken, Consumer<String> onComplete, Consumer<Throwable> onError) {
+        String key = cacheKey(symptomMask);
+        String cached = getCached(key);
+        if (cached != null) {
+            countRequest("cache_hit");
+            onToken.accept(cached);
+            onComplete.accept(cached);
+            return;
+        }
+
+        LlmFlight flight = new LlmFlight();
+        LlmFlight shared = inFlight.putIfAbsent(key, flight);
+        if (shared != null) {
+            countRequest("coalesced");
+            shared.subscribe(onToken, onComplete, onError);
+            return;
+        }
+
+        flight.subscribe(onToken, onComplete, onError);
+
+        cached = getCached(key);
+        if (cached != null) {
+            countRequest("cache_hit");
+            inFlight.remove(key, flight);
+            flight.complete(cached);
+            return;
+        }
+
+        countRequest("leader");
+
+        // 스트림이 끝날 때까지 bulkhead 자리를 잡고, 결과를 circuit breaker 에 직접 기록
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(OPENAI_BACKEND);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(OPENAI_BACKEND);
+        if (!bulkhead.tryAcquirePermission()) {
+            inFlight.remove(key, flight);
+            flight.fail(new GeneralException(ErrorCode.LLM_BUSY));
+            return;
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.onComplete();
+            inFlight.remove(key, flight);
+            flight.fail(new GeneralException(ErrorCode.LLM_UNAVAILABLE));
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            openAiService.streamChatCompletion(buildRequest(SymptomMask.describe(symptomMask)))
+                    .map(LlmDiagnosisService::tokenOf)
+                    .filter(token -> !token.isEmpty())
+                    .subscribe(
+                            flight::emit,
+                            error -> {
+                                circuitBreaker.onError(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS, error);
+                                bulkhead.onComplete();
+                                inFlight.remove(key, flight);
+                                flight.fail(error);
+                            },
+                            () -> {
+                                circuitBreaker.onSuccess(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                                bulkhead.onComplete();
+                                String result = flight.text();
+                                if (result.isEmpty()) {
+                                    result = EMPTY_RESULT;
+                                } else {
+                                    putCached(key, result);
+                                }
+                                inFlight.remove(key, flight);
+                                flight.complete(result);
+                            });
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS, e);
+            bulkhead.onComplete();
+            inFlight.remove(key, flight);
+            flight.fail(e);
+        }
+    }
+
+    /**
+     * 서버 시작 후 캐시에 없는 증상 조합을 백그라운드에서 순서대로 생성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpCache() {
+        if (!warmUp) {
+            return;
+        }
+
+        Thread warmUpThread = new Thread(() -> {
+            for (int mask = 0; mask < SymptomMask.COMBINATIONS; mask++) {
+                try {
+                    if (getCached(cacheKey(mask)) == null) {
+                        analyzeSymptoms(mask);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("LLM 진단 캐시 미리 생성 실패. symptomMask: {}", mask, e);
+                }
+            }
+            log.info("LLM 진단 캐시 미리 생성 완료. promptVersion: {}", promptVersion);
+        }, "llm-cache-warm-up");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    /**
+     * OpenAI 호출 (bulkhead 로 동시 호출 수 제한, circuit breaker 가 열려 있으면 바로 실패)
+     */
+    private String complete(String symptoms) {
+        Supplier<List<ChatCompletionChoice>> call = () -> openAiService.createChatCompletion(buildRequest(symptoms)).getChoices();
+
+        List<ChatCompletionChoice> choices;
+        try {
+            choices = Bulkhead.decorateSupplier(bulkheadRegistry.bulkhead(OPENAI_BACKEND),
+                    CircuitBreaker.decorateSupplier(circuitBreakerRegistry.circuitBreaker(OPENAI_BACKEND), call)).get();
+        } catch (BulkheadFullException e) {
+            throw new GeneralException(ErrorCode.LLM_BUSY);
+        } catch (CallNotPermittedException e) {
+            throw new GeneralException(ErrorCode.LLM_UNAVAILABLE);
+        }
+        return choices.isEmpty() ? EMPTY_RESULT : choices.get(0).getMessage().getContent();
+    }
+
+    private ChatCompletionRequest buildRequest(String symptoms) {
         List<ChatMessage> messages = List.of(
-                new ChatMessage("system", persona),
-                new ChatMessage("user", template)
+                new ChatMessage("system", PERSONA),
+                new ChatMessage("user", TEMPLATE.formatted(symptoms))
         );
 
-        ChatCompletionRequest request = ChatCompletionRequest.builder()
+        return ChatCompletionRequest.builder()
                 .model(model)
                 .messages(messages)
                 .temperature(0.0)
                 .build();
+    }
+
+    // 스트림 조각의 delta 내용 (첫 조각은 role 만, 마지막 조각은 내용 없음)
+    private static String tokenOf(ChatCompletionChunk chunk) {
+        if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) {
+            return "";
+        }
+        ChatMessage delta = chunk.getChoices().get(0).getMessage();
+        return delta == null || delta.getContent() == null ? "" : delta.getContent();
+    }
+
+    // llm.diagnosis.requests{outcome}: cache_hit / leader(OpenAI 호출) / coalesced(진행 중인 호출 공유)
+    // 합치기 비율 = coalesced / (leader + coalesced)
+    private void countRequest(String outcome) {
+        meterRegistry.counter("llm.diagnosis.requests", "outcome", outcome).increment();
+    }
+
+    private String cacheKey(int symptomMask) {
+        return CACHE_KEY_PREFIX + promptVersion + ":" + symptomMask;
+    }
+
+    // 캐시 장애는 진단 실패로 이어지지 않도록 로그만 남김
+    private String getCached(String key) {
+        try {
+            return redisTemplate.opsForValue().get(key);
+        } catch (RuntimeException e) {
+            log.warn("LLM 진단 캐시 조회 실패. key: {}", key, e);
+            return null;
+        }
+    }
+
+    private void putCached(String key, String result) {
+        try {
+            redisTemplate.opsForValue().set(key, result, Duration.ofDays(cacheTtlDays));
+        } catch (RuntimeException e) {
+            log.warn("LLM 진단 캐시 저장 실패. key: {}", key, e);
+        }
+    }
 
-        List<ChatCompletionChoice> choices = openAiService.createChatCompletion(request).getChoices();
-        String result = choices.isEmpty() ? "응답이 없습니다." : choices.get(0).getMessage().getContent();
-        return new LlmDiagnosisResponseDTO(result);
+    private static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
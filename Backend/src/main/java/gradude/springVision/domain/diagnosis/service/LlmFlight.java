@@ -0,0 +1,88 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * 진행 중인 LLM 호출 하나 (같은 프롬프트의 동시 요청이 공유)
+ * - 스트리밍 구독자는 지금까지 생성된 내용을 한 번에 받은 뒤 이후 토큰을 이어서 받음
+ * - 결과가 끝나면 모든 구독자 / 대기자에게 같은 결과 전달
+ */
+final class LlmFlight {
+
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+    private final StringBuilder text = new StringBuilder();
+    private final List<Consumer<String>> listeners = new ArrayList<>();
+
+    void subscribe(Consumer<String> onToken, Consumer<String> onComplete, Consumer<Throwable> onError) {
+        synchronized (this) {
+            if (!text.isEmpty()) {
+                onToken.accept(text.toString());
+            }
+            listeners.add(onToken);
+        }
+        result.whenComplete((value, error) -> {
+            if (error == null) {
+                onComplete.accept(value);
+            } else {
+                onError.accept(unwrap(error));
+            }
+        });
+    }
+
+    void emit(String token) {
+        List<Consumer<String>> targets;
+        synchronized (this) {
+            text.append(token);
+            targets = List.copyOf(listeners);
+        }
+        targets.forEach(listener -> listener.accept(token));
+    }
+
+    synchronized String text() {
+        return text.toString();
+    }
+
+    /**
+     * 토큰 없이 끝난 호출(일반 호출, 캐시)은 전체 결과를 토큰 하나로 보낸 뒤 완료
+     */
+    void complete(String value) {
+        boolean streamed;
+        synchronized (this) {
+            streamed = !text.isEmpty();
+        }
+        if (!streamed) {
+            emit(value);
+        }
+        result.complete(value);
+    }
+
+    void fail(Throwable error) {
+        result.completeExceptionally(error);
+    }
+
+    /**
+     * 결과가 나올 때까지 대기 (호출 실패 시 같은 예외)
+     */
+    String await() {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new GeneralException(ErrorCode.LLM_CALL_FAILED);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,260 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * AI 자가진단 업로드 파일 검사 (해시 계산 / S3 업로드 / AI 호출 전에 실행)
+ * - 확장자와 파일 크기, 컨테이너 시그니처 (mp4/mov/m4a: ftyp, wav: RIFF....WAVE) 확인
+ * - 재생 길이는 헤더에서만 계산: mp4/mov/m4a 는 moov/mvhd, wav 는 fmt 의 byte rate 와 data 크기, pcm 은 16kHz 16bit mono 기준
+ * - 상자(box) / 청크 헤더만 읽고 본문은 건너뛰므로 파일 크기와 관계없이 몇 KB 만 읽음
+ */
+@Slf4j
+@Component
+public class MediaUploadValidator {
+
+    @Value("${diagnosis.upload.video.max-size:500MB}")
+    private DataSize videoMaxSize;
+    @Value("${diagnosis.upload.video.max-duration:120000}")
+    private long videoMaxDuration;
+    @Value("${diagnosis.upload.audio.max-size:50MB}")
+    private DataSize audioMaxSize;
+    @Value("${diagnosis.upload.audio.max-duration:120000}")
+    private long audioMaxDuration;
+
+    private static final Set<String> VIDEO_EXTENSIONS = Set.of("mp4", "mov");
+    private static final Set<String> AUDIO_EXTENSIONS = Set.of("wav", "pcm", "m4a");
+    // 초기 QuickTime(mov) 파일은 ftyp 없이 다른 최상위 atom 으로 시작할 수 있음
+    private static final Set<String> QUICKTIME_LEADING_BOXES = Set.of("moov", "mdat", "wide", "free", "skip");
+    private static final int PCM_BYTES_PER_SECOND = 16000 * 2;
+    private static final int MAX_BOXES = 256;
+
+    public void validate(MultipartFile mp4File, MultipartFile wavFile) {
+        String videoExtension = videoExtension(mp4File.getOriginalFilename());
+        String audioExtension = audioExtension(wavFile.getOriginalFilename());
+        checkSize(mp4File, videoMaxSize);
+        checkSize(wavFile, audioMaxSize);
+
+        checkDuration(videoDuration(mp4File, videoExtension), videoMaxDuration);
+        checkDuration(audioDuration(wavFile, audioExtension), audioMaxDuration);
+    }
+
+    /**
+     * 허용된 영상 확장자 (소문자, 점 제외)
+     */
+    public String videoExtension(String filename) {
+        return extension(filename, VIDEO_EXTENSIONS);
+    }
+
+    /**
+     * 허용된 음성 확장자 (소문자, 점 제외)
+     */
+    public String audioExtension(String filename) {
+        return extension(filename, AUDIO_EXTENSIONS);
+    }
+
+    /**
+     * 저장소에 직접 올라온 파일의 크기 확인 (내려받기 전)
+     */
+    public void validateStoredSizes(long videoSize, long audioSize) {
+        if (videoSize > videoMaxSize.toBytes() || audioSize > audioMaxSize.toBytes()) {
+            throw new GeneralException(ErrorCode.FILE_SIZE_EXCEEDED);
+        }
+    }
+
+    private String extension(String filename, Set<String> allowed) {
+        int dot = filename == null ? -1 : filename.lastIndexOf('.');
+        String extension = dot < 0 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        if (!allowed.contains(extension)) {
+            throw new GeneralException(ErrorCode.FILE_EXTENSION_NOT_SUPPORTED);
+        }
+        return extension;
+    }
+
+    private void checkSize(MultipartFile file, DataSize maxSize) {
+        if (file.isEmpty()) {
+            throw new GeneralException(ErrorCode.FILE_CONTENT_NOT_SUPPORTED);
+        }
+        if (file.getSize() > maxSize.toBytes()) {
+            throw new GeneralException(ErrorCode.FILE_SIZE_EXCEEDED);
+        }
+    }
+
+    private void checkDuration(long durationMillis, long maxDuration) {
+        if (durationMillis > maxDuration) {
+            throw new GeneralException(ErrorCode.MEDIA_DURATION_EXCEEDED);
+        }
+    }
+
+    private long videoDuration(MultipartFile file, String extension) {
+        return probe(file, in -> {
+            String leadingBox = peekLeadingBox(in);
+            if (!"ftyp".equals(leadingBox) && !("mov".equals(extension) && QUICKTIME_LEADING_BOXES.contains(leadingBox))) {
+                throw new GeneralException(ErrorCode.FILE_CONTENT_NOT_SUPPORTED);
+            }
+            return movieDuration(in, file.getSize());
+        });
+    }
+
+    private long audioDuration(MultipartFile file, String extension) {
+        return switch (extension) {
+            case "pcm" -> file.getSize() * 1000 / PCM_BYTES_PER_SECOND;
+            case "m4a" -> probe(file, in -> {
+                if (!"ftyp".equals(peekLeadingBox(in))) {
+                    throw new GeneralException(ErrorCode.FILE_CONTENT_NOT_SUPPORTED);
+                }
+                return movieDuration(in, file.getSize());
+            });
+            default -> probe(file, in -> waveDuration(in, file.getSize()));
+        };
+    }
+
+    /**
+     * ISO BMFF (mp4/mov/m4a) 최상위 상자를 건너뛰며 moov 를 찾고, 그 안의 mvhd 에서 재생 길이(ms) 계산
+     */
+    private long movieDuration(DataInputStream in, long fileSize) throws IOException {
+        long position = 0;
+        long end = fileSize;
+        boolean insideMoov = false;
+
+        for (int i = 0; i < MAX_BOXES && position + 8 <= end; i++) {
+            long size = Integer.toUnsignedLong(in.readInt());
+            String type = readType(in);
+            long headerSize = 8;
+            if (size == 1) {
+                size = in.readLong();
+                headerSize = 16;
+            } else if (size == 0) {
+                size = end - position;
+            }
+            if (size < headerSize || position + size > end) {
+                break;
+            }
+
+            if (!insideMoov && "moov".equals(type)) {
+                // moov 안의 상자로 이동
+                insideMoov = true;
+                position += headerSize;
+                end = position + size - headerSize;
+                continue;
+            }
+            if (insideMoov && "mvhd".equals(type)) {
+                int version = in.readUnsignedByte();
+                skipFully(in, 3 + (version == 1 ? 16 : 8)); // flags, creation / modification time
+                long timescale = Integer.toUnsignedLong(in.readInt());
+                long duration = version == 1 ? in.readLong() : Integer.toUnsignedLong(in.readInt());
+                if (timescale == 0 || duration < 0) {
+                    break;
+                }
+                return duration / timescale * 1000 + duration % timescale * 1000 / timescale;
+            }
+
+            skipFully(in, size - headerSize);
+            position += size;
+        }
+
+        // moov 가 없거나 잘린 파일은 모델 서버에서도 열 수 없음
+        throw new GeneralException(ErrorCode.FILE_CONTENT_NOT_SUPPORTED);
+    }
+
+    /**
+     * RIFF/WAVE 청크를 건너뛰며 fmt 의 byte rate 와 data 크기로 재생 길이(ms) 계산
+     */
+    private long waveDuration(DataInputStream in, long fileSize) throws IOException {
+        if (!"RIFF".equals(readType(in))) {
+            throw new GeneralException(ErrorCode.FILE_CONTENT_NOT_SUPPORTED);
+        }
+        skipFully(in, 4);
+        if (!"WAVE".equals(readType(in))) {
+            throw new GeneralException(ErrorCode.FILE_CONTENT_NOT_SUPPORTED);
+        }
+
+        long position = 12;
+        long byteRate = 0;
+        for (int i = 0; i < MAX_BOXES && position + 8 <= fileSize; i++) {
+            String type = readType(in);
+            long size = Integer.toUnsignedLong(Integer.reverseBytes(in.readInt()));
+            position += 8;
+
+            if ("fmt ".equals(type)) {
+                if (size < 16) {
+                    break;
+                }
+                skipFully(in, 8); // format, channels, sample rate
+                byteRate = Integer.toUnsignedLong(Integer.reverseBytes(in.readInt()));
+                skipFully(in, size - 12);
+            } else if ("data".equals(type)) {
+                if (byteRate == 0) {
+                    break;
+                }
+                // 녹음 중 잘린 파일은 헤더의 data 크기가 실제보다 클 수 있으므로 남은 파일 크기로 제한
+                long dataSize = Math.min(size, fileSize - position);
+                return dataSize * 1000 / byteRate;
+            } else {
+                skipFully(in, size);
+            }
+            position += size + (size & 1); // 청크는 2바이트 단위로 정렬
+            if ((size & 1) == 1) {
+                skipFully(in, 1);
+            }
+        }
+
+        throw new GeneralException(ErrorCode.FILE_CONTENT_NOT_SUPPORTED);
+    }
+
+    private interface Probe {
+        long read(DataInputStream in) throws IOException;
+    }
+
+    private long probe(MultipartFile file, Probe probe) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.getInputStream(), 4096))) {
+            return probe.read(in);
+        } catch (EOFException e) {
+            throw new GeneralException(ErrorCode.FILE_CONTENT_NOT_SUPPORTED);
+        } catch (IOException e) {
+            log.warn("업로드 파일 헤더 읽기 실패. file: {}", file.getOriginalFilename(), e);
+            throw new GeneralException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    // 첫 상자 종류 (스트림 위치는 그대로)
+    private String peekLeadingBox(DataInputStream in) throws IOException {
+        in.mark(8);
+        skipFully(in, 4);
+        String type = readType(in);
+        in.reset();
+        return type;
+    }
+
+    private String readType(DataInputStream in) throws IOException {
+        byte[] type = new byte[4];
+        in.readFully(type);
+        return new String(type, StandardCharsets.US_ASCII);
+    }
+
+    // 디스크에 저장된 업로드는 skip 이 파일 위치 이동이라 본문을 읽지 않음
+    private void skipFully(InputStream in, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+}
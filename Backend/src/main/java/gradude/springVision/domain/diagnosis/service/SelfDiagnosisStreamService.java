@@ -0,0 +1,71 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.domain.diagnosis.dto.request.SelfDiagnosisRequestDTO;
+import gradude.springVision.domain.diagnosis.dto.response.LlmDiagnosisResponseDTO;
+import gradude.springVision.domain.diagnosis.service.DiagnosisCommandService.SurveyScore;
+import gradude.springVision.global.common.response.ApiResponse;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * 스트리밍 설문 자가진단
+ * - score 이벤트: CG-FAST 점수와 가까운 병원 (LLM 소견 제외) 을 먼저 전송
+ * - token 이벤트: LLM 소견 토큰 조각, done 이벤트: 전체 소견 (Diagnosis.llmResult 저장 후)
+ * - error 이벤트: LLM 호출 실패 / 과부하 / 차단 (점수는 이미 저장되어 있고 소견은 outbox relay 가 나중에 저장)
+ * - 클라이언트 연결이 끊겨도 LLM 생성은 끝까지 진행해서 소견을 저장
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SelfDiagnosisStreamService {
+
+    @Value("${diagnosis.survey.sse-timeout:300000}")
+    private long sseTimeout;
+    private final DiagnosisCommandService diagnosisCommandService;
+    private final LlmDiagnosisService llmDiagnosisService;
+
+    public SseEmitter stream(Long userId, SelfDiagnosisRequestDTO selfDiagnosisRequestDTO, double latitude, double longitude) {
+        // 진단 기록 없음 등은 스트림 시작 전에 일반 오류 응답으로 반환
+        SurveyScore score = diagnosisCommandService.scoreSelfDiagnosis(userId, selfDiagnosisRequestDTO, latitude, longitude);
+
+        SseEmitter emitter = new SseEmitter(sseTimeout);
+        send(emitter, "score", score.response());
+
+        llmDiagnosisService.streamSymptoms(score.symptoms(),
+                token -> send(emitter, "token", new LlmDiagnosisResponseDTO(token)),
+                llmResult -> {
+                    try {
+                        diagnosisCommandService.saveLlmResult(score.diagnosisId(), llmResult);
+                    } catch (RuntimeException e) {
+                        log.error("LLM 진단 소견 저장 실패. diagnosisId: {}", score.diagnosisId(), e);
+                    }
+                    send(emitter, "done", new LlmDiagnosisResponseDTO(llmResult));
+                    emitter.complete();
+                },
+                error -> {
+                    // 과부하 / 차단(LLM_BUSY, LLM_UNAVAILABLE)은 그대로 전달, 그 외는 호출 실패
+                    ErrorCode errorCode = error instanceof GeneralException generalException ? generalException.getErrorCode() : ErrorCode.LLM_CALL_FAILED;
+                    log.error("LLM 진단 소견 스트리밍 실패. diagnosisId: {}", score.diagnosisId(), error);
+                    send(emitter, "error", ApiResponse.onFailure(errorCode.getCode(), errorCode.getMessage(), null));
+                    emitter.complete();
+                });
+
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 연결이 끊긴 뒤에도 생성 / 저장은 계속되므로 전송 실패는 무시
+            log.debug("설문 자가진단 스트림 전송 실패. event: {}", event);
+        }
+    }
+}
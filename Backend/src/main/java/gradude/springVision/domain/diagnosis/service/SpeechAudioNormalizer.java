@@ -0,0 +1,425 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import gradude.springVision.global.util.StagedMultipartFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * 음성 모델 입력 정규화 (16kHz, mono, 16bit PCM WAV)
+ * - 모델 서버가 어차피 16kHz mono 로 바꿔 쓰므로 미리 변환해서 전송량을 줄임 (44.1kHz stereo 기준 약 1/5)
+ * - wav: 헤더를 읽고 채널 평균으로 mono 변환 후 windowed-sinc 로 리샘플링, 고정 크기 버퍼로 스트리밍 처리
+ * - pcm: 헤더 없는 16kHz mono 16bit 로 보고 WAV 헤더만 붙임 (모델 서버의 soundfile 은 헤더 없는 파일을 읽지 못함)
+ * - 이미 16kHz mono 16bit 인 wav, 지원하지 않는 인코딩(ADPCM 등), m4a 는 원본 그대로 전송
+ */
+@Slf4j
+@Component
+public class SpeechAudioNormalizer {
+
+    @Value("${diagnosis.audio.normalize:true}")
+    private boolean enabled;
+    @Value("${diagnosis.audio.buffer-frames:4096}")
+    private int bufferFrames;
+
+    static final int TARGET_SAMPLE_RATE = 16000;
+    private static final int PCM_FORMAT = 1;
+    private static final int FLOAT_FORMAT = 3;
+    private static final int EXTENSIBLE_FORMAT = 0xFFFE;
+    private static final int WAV_HEADER_BYTES = 44;
+    private static final int MAX_CHUNKS = 256;
+
+    private record WaveFormat(int formatTag, int channels, int sampleRate, int bitsPerSample, long dataSize) {
+
+        int bytesPerSample() {
+            return bitsPerSample / 8;
+        }
+
+        boolean isSupported() {
+            return channels > 0 && sampleRate > 0 && switch (formatTag) {
+                case PCM_FORMAT -> bitsPerSample == 8 || bitsPerSample == 16 || bitsPerSample == 24 || bitsPerSample == 32;
+                case FLOAT_FORMAT -> bitsPerSample == 32;
+                default -> false;
+            };
+        }
+
+        boolean isNormalized() {
+            return formatTag == PCM_FORMAT && channels == 1 && sampleRate == TARGET_SAMPLE_RATE && bitsPerSample == 16;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 정규화한 임시 파일 반환 (변환이 필요 없으면 원본 그대로)
+     * - 반환값이 원본과 다르면 호출한 쪽에서 사용 후 StagedMultipartFile.delete 로 정리
+     */
+    public MultipartFile normalize(MultipartFile file) {
+        if (!enabled) {
+            return file;
+        }
+
+        String extension = extension(file.getOriginalFilename());
+        if (!"wav".equals(extension) && !"pcm".equals(extension)) {
+            return file;
+        }
+
+        Path target = null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.getInputStream(), 64 * 1024))) {
+            WaveFormat format = "pcm".equals(extension)
+                    ? new WaveFormat(PCM_FORMAT, 1, TARGET_SAMPLE_RATE, 16, file.getSize())
+                    : readHeader(in, file.getSize());
+            if (format == null || !format.isSupported() || ("wav".equals(extension) && format.isNormalized())) {
+                return file;
+            }
+
+            target = Files.createTempFile("speech-", ".wav");
+            long startedAt = System.nanoTime();
+            long samples = convert(in, format, target);
+            log.debug("음성 정규화. {}Hz {}ch {}bit -> 16kHz mono, {} bytes -> {} bytes, {} ms",
+                    format.sampleRate(), format.channels(), format.bitsPerSample(), file.getSize(),
+                    WAV_HEADER_BYTES + samples * 2, (System.nanoTime() - startedAt) / 1_000_000);
+
+            return StagedMultipartFile.of(file.getName(), baseName(file.getOriginalFilename()) + ".wav", "audio/wav", target);
+        } catch (IOException e) {
+            deleteQuietly(target);
+            log.warn("음성 정규화 실패. file: {}", file.getOriginalFilename(), e);
+            throw new GeneralException(ErrorCode.FILE_UPLOAD_FAILED);
+        } catch (RuntimeException e) {
+            deleteQuietly(target);
+            throw e;
+        }
+    }
+
+    /**
+     * RIFF/WAVE 헤더에서 fmt 를 읽고 data 청크 시작 위치까지 이동 (읽을 수 없는 헤더면 null)
+     */
+    private WaveFormat readHeader(DataInputStream in, long fileSize) throws IOException {
+        try {
+            if (!"RIFF".equals(readTag(in))) {
+                return null;
+            }
+            in.readInt();
+            if (!"WAVE".equals(readTag(in))) {
+                return null;
+            }
+
+            long position = 12;
+            int formatTag = 0;
+            int channels = 0;
+            int sampleRate = 0;
+            int bitsPerSample = 0;
+            for (int i = 0; i < MAX_CHUNKS; i++) {
+                String tag = readTag(in);
+                long size = Integer.toUnsignedLong(Integer.reverseBytes(in.readInt()));
+                position += 8;
+
+                if ("fmt ".equals(tag)) {
+                    if (size < 16) {
+                        return null;
+                    }
+                    formatTag = Short.toUnsignedInt(Short.reverseBytes(in.readShort()));
+                    channels = Short.toUnsignedInt(Short.reverseBytes(in.readShort()));
+                    sampleRate = Integer.reverseBytes(in.readInt());
+                    in.readInt();   // byte rate
+                    in.readShort(); // block align
+                    bitsPerSample = Short.toUnsignedInt(Short.reverseBytes(in.readShort()));
+                    long read = 16;
+                    if (formatTag == EXTENSIBLE_FORMAT && size >= 26) {
+                        in.readShort(); // cbSize
+                        in.readShort(); // valid bits
+                        in.readInt();   // channel mask
+                        formatTag = Short.toUnsignedInt(Short.reverseBytes(in.readShort())); // sub format GUID 앞 2바이트
+                        read = 26;
+                    }
+                    in.skipNBytes(size - read + (size & 1));
+                } else if ("data".equals(tag)) {
+                    // 녹음 중 잘린 파일은 data 크기가 실제보다 크거나 0 일 수 있음
+                    long remaining = fileSize - position;
+                    long dataSize = size == 0 || size > remaining ? remaining : size;
+                    return formatTag == 0 ? null : new WaveFormat(formatTag, channels, sampleRate, bitsPerSample, dataSize);
+                } else {
+                    in.skipNBytes(size + (size & 1));
+                }
+                position += size + (size & 1);
+            }
+            return null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /**
+     * data 를 bufferFrames 단위로 읽어 mono 변환 -> 리샘플링 -> 16bit 로 기록, 기록한 샘플 수 반환
+     */
+    private long convert(DataInputStream in, WaveFormat format, Path target) throws IOException {
+        int frameBytes = format.channels() * format.bytesPerSample();
+        byte[] block = new byte[bufferFrames * frameBytes];
+        float[] mono = new float[bufferFrames];
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            PcmWriter writer = new PcmWriter(channel, bufferFrames * 2);
+            Resampler resampler = new Resampler(format.sampleRate(), TARGET_SAMPLE_RATE, bufferFrames);
+
+            long remaining = format.dataSize() - format.dataSize() % frameBytes;
+            while (remaining > 0) {
+                int read = in.readNBytes(block, 0, (int) Math.min(block.length, remaining));
+                int frames = read / frameBytes;
+                if (frames == 0) {
+                    break;
+                }
+                downmix(block, frames, format, mono);
+                resampler.push(mono, frames, writer);
+                remaining -= read;
+                if (read % frameBytes != 0) {
+                    break;
+                }
+            }
+            resampler.finish(writer);
+            return writer.finish();
+        }
+    }
+
+    // 채널 평균 (모델 서버의 np.mean(waveform, axis=1) 과 같음)
+    private static void downmix(byte[] block, int frames, WaveFormat format, float[] mono) {
+        int channels = format.channels();
+        int bytes = format.bytesPerSample();
+        boolean floating = format.formatTag() == FLOAT_FORMAT;
+        float scale = 1f / channels;
+
+        int offset = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            float sum = 0;
+            for (int channel = 0; channel < channels; channel++) {
+                sum += sample(block, offset, bytes, floating);
+                offset += bytes;
+            }
+            mono[frame] = sum * scale;
+        }
+    }
+
+    // little-endian 샘플 하나를 -1.0 ~ 1.0 으로 변환
+    private static float sample(byte[] b, int i, int bytes, boolean floating) {
+        switch (bytes) {
+            case 1:
+                return ((b[i] & 0xFF) - 128) / 128f;
+            case 2:
+                return (short) ((b[i] & 0xFF) | (b[i + 1] << 8)) / 32768f;
+            case 3:
+                return ((b[i] & 0xFF) | ((b[i + 1] & 0xFF) << 8) | (b[i + 2] << 16)) / 8388608f;
+            default:
+                int bits = (b[i] & 0xFF) | ((b[i + 1] & 0xFF) << 8) | ((b[i + 2] & 0xFF) << 16) | (b[i + 3] << 24);
+                return floating ? Float.intBitsToFloat(bits) : bits / 2147483648f;
+        }
+    }
+
+    /**
+     * 16bit mono WAV 기록기 (고정 크기 버퍼, 끝나면 헤더의 크기 값을 채움)
+     */
+    private static final class PcmWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long samples;
+
+        PcmWriter(FileChannel channel, int bufferBytes) throws IOException {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(Math.max(bufferBytes, 2)).order(ByteOrder.LITTLE_ENDIAN);
+            channel.position(WAV_HEADER_BYTES);
+        }
+
+        // 읽을 때와 같은 32768 배율이라 16bit 입력은 값이 그대로 유지됨
+        void write(float value) throws IOException {
+            int scaled = Math.round(value * 32768f);
+            buffer.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, scaled)));
+            samples++;
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+        }
+
+        long finish() throws IOException {
+            flush();
+            long dataBytes = samples * 2;
+            ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt((int) (36 + dataBytes))
+                    .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                    .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                    .putShort((short) PCM_FORMAT).putShort((short) 1)
+                    .putInt(TARGET_SAMPLE_RATE).putInt(TARGET_SAMPLE_RATE * 2)
+                    .putShort((short) 2).putShort((short) 16)
+                    .put("data".getBytes(StandardCharsets.US_ASCII)).putInt((int) dataBytes)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            return samples;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 스트리밍 windowed-sinc 리샘플러 (Blackman 창, 낮추는 경우 출력 Nyquist 의 95% 에서 차단)
+     * - 필터 계수는 입력 샘플 간격당 TABLE_RESOLUTION 개로 미리 계산해 두고 선형 보간
+     * - 입력은 고정 크기 창(window)에 쌓고, 출력에 더 이상 필요 없는 앞부분은 버림
+     * - 출력 시각은 (출력 번호 * 입력 rate / 출력 rate) 로 정확히 계산해서 긴 파일에서도 오차가 누적되지 않음
+     */
+    private static final class Resampler {
+
+        private static final int ZERO_CROSSINGS = 16;
+        private static final int TABLE_RESOLUTION = 256;
+        private static final double CUTOFF = 0.95;
+
+        private final int inRate;
+        private final int outRate;
+        private final boolean passThrough;
+        private final int halfWidth;
+        private final float[] kernel;
+        private final float[] window;
+        private long windowStart;   // window[0] 의 입력 샘플 번호
+        private int windowLength;
+        private long outIndex;
+
+        Resampler(int inRate, int outRate, int blockFrames) {
+            this.inRate = inRate;
+            this.outRate = outRate;
+            this.passThrough = inRate == outRate;
+
+            double scale = Math.min(1.0, (double) outRate / inRate) * CUTOFF;
+            this.halfWidth = passThrough ? 0 : (int) Math.ceil(ZERO_CROSSINGS / scale);
+            this.kernel = new float[halfWidth * TABLE_RESOLUTION + 2];
+            for (int i = 0; i < kernel.length; i++) {
+                double x = (double) i / TABLE_RESOLUTION;
+                if (x >= halfWidth) {
+                    break;
+                }
+                double y = Math.PI * scale * x;
+                double sinc = x == 0 ? 1.0 : Math.sin(y) / y;
+                double u = Math.PI * x / halfWidth;
+                double blackman = 0.42 + 0.5 * Math.cos(u) + 0.08 * Math.cos(2 * u);
+                kernel[i] = (float) (scale * sinc * blackman);
+            }
+            this.window = new float[blockFrames + 2 * halfWidth + inRate / outRate + 2];
+        }
+
+        void push(float[] samples, int count, PcmWriter writer) throws IOException {
+            if (passThrough) {
+                for (int i = 0; i < count; i++) {
+                    writer.write(samples[i]);
+                }
+                return;
+            }
+
+            int offset = 0;
+            while (offset < count) {
+                int copied = Math.min(count - offset, window.length - windowLength);
+                System.arraycopy(samples, offset, window, windowLength, copied);
+                windowLength += copied;
+                offset += copied;
+                drain(writer, false);
+                compact();
+            }
+        }
+
+        void finish(PcmWriter writer) throws IOException {
+            if (!passThrough) {
+                drain(writer, true);
+            }
+        }
+
+        // 필요한 입력이 모두 창에 있는 출력 샘플을 계산 (eof 이면 창 밖은 0 으로 보고 끝까지)
+        private void drain(PcmWriter writer, boolean eof) throws IOException {
+            long inputEnd = windowStart + windowLength;
+            while (true) {
+                long numerator = outIndex * inRate;
+                long center = numerator / outRate;
+                if (eof ? numerator >= inputEnd * outRate : center + halfWidth >= inputEnd) {
+                    return;
+                }
+                double phase = (double) (numerator % outRate) / outRate * TABLE_RESOLUTION;
+                int c = (int) (center - windowStart);
+                int first = (int) Math.max(center - halfWidth + 1, windowStart) - (int) windowStart;
+                int last = (int) (Math.min(center + halfWidth, inputEnd - 1) - windowStart);
+
+                // 입력 한 칸 = 계수 표 TABLE_RESOLUTION 칸이므로 중심 양쪽에서 보간 비율이 각각 일정
+                float sum = 0;
+                int leftIndex = (int) phase;
+                float leftWeight = (float) (phase - leftIndex);
+                for (int i = c, k = leftIndex; i >= first; i--, k += TABLE_RESOLUTION) {
+                    sum += window[i] * (kernel[k] + leftWeight * (kernel[k + 1] - kernel[k]));
+                }
+                double rightPhase = TABLE_RESOLUTION - phase;
+                int rightIndex = (int) rightPhase;
+                float rightWeight = (float) (rightPhase - rightIndex);
+                for (int i = c + 1, k = rightIndex; i <= last; i++, k += TABLE_RESOLUTION) {
+                    sum += window[i] * (kernel[k] + rightWeight * (kernel[k + 1] - kernel[k]));
+                }
+                writer.write(sum);
+                outIndex++;
+            }
+        }
+
+        // 다음 출력에 필요 없는 앞부분 제거
+        private void compact() {
+            long needed = outIndex * inRate / outRate - halfWidth + 1;
+            int drop = (int) Math.max(0, Math.min(windowLength, needed - windowStart));
+            if (drop > 0) {
+                System.arraycopy(window, drop, window, 0, windowLength - drop);
+                windowLength -= drop;
+                windowStart += drop;
+            }
+        }
+    }
+
+    private static String readTag(DataInputStream in) throws IOException {
+        byte[] tag = new byte[4];
+        in.readFully(tag);
+        return new String(tag, StandardCharsets.US_ASCII);
+    }
+
+    private static String extension(String filename) {
+        int dot = filename == null ? -1 : filename.lastIndexOf('.');
+        return dot < 0 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String baseName(String filename) {
+        int dot = filename == null ? -1 : filename.lastIndexOf('.');
+        return dot < 0 ? "speech" : filename.substring(0, dot);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 임시 디렉토리 정리는 OS 에 맡김
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package gradude.springVision.domain.diagnosis.service;
+
+/**
+ * 설문 + AI 자가진단 증상 6개를 비트로 묶은 값 (0 ~ 63)
+ * - 비트가 1 이면 해당 증상 있음
+ * - LLM 프롬프트는 이 값으로만 결정되므로 LLM 응답 캐시 키로 사용
+ */
+public final class SymptomMask {
+
+    public static final int GAZE = 1;
+    public static final int ARM = 1 << 1;
+    public static final int FACE = 1 << 2;
+    public static final int SPEECH = 1 << 3;
+    public static final int MONTH = 1 << 4; // 시간(월) 인지 이상
+    public static final int AGE = 1 << 5;   // 나이 인지 이상
+
+    public static final int COMBINATIONS = 1 << 6;
+
+    // 증상 문장 형식 (바뀌면 LLM 캐시 버전도 바뀜)
+    static final String SENTENCE_FORMAT = "환자는 시선 이상 %s, 팔 움직임 이상 %s, 안면 마비 %s, 구음 장애 %s, 시간 인지 이상 %s, 나이 인지 이상 %s";
+
+    private SymptomMask() {
+    }
+
+    public static int of(boolean gaze, boolean arm, boolean face, boolean speech, boolean month, boolean age) {
+        return (gaze ? GAZE : 0) | (arm ? ARM : 0) | (face ? FACE : 0)
+                | (speech ? SPEECH : 0) | (month ? MONTH : 0) | (age ? AGE : 0);
+    }
+
+    /**
+     * 증상 문장 생성
+     */
+    public static String describe(int mask) {
+        return String.format(SENTENCE_FORMAT,
+                mark(mask, GAZE), mark(mask, ARM), mark(mask, FACE),
+                mark(mask, SPEECH), mark(mask, MONTH), mark(mask, AGE));
+    }
+
+    private static String mark(int mask, int symptom) {
+        return (mask & symptom) != 0 ? "있음" : "없음";
+    }
+}
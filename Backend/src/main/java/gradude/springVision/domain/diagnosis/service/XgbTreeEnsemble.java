@@ -0,0 +1,194 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * XGBoost(1.x binary:logistic, gbtree) 모델을 Java 에서 직접 평가
+ * - xgb_stroke.json 의 model_base64 (XGBoost 바이너리 포맷) 를 읽어 모든 트리 노드를 평탄화된 배열 하나씩에 보관
+ * - 노드 번호는 전체 트리 기준, 분기: feature 값 < threshold 이면 왼쪽, 값이 없으면(NaN) 학습된 기본 방향
+ * - 평가 중에는 객체를 만들지 않음 (float 누적 / 비교 순서를 XGBoost CPU 예측기와 맞춤)
+ * - 불변 객체라 여러 스레드에서 동시에 평가해도 안전
+ */
+final class XgbTreeEnsemble {
+
+    private static final byte[] BINARY_MAGIC = "binf".getBytes(StandardCharsets.US_ASCII);
+    private static final int LEARNER_PARAM_BYTES = 136;
+    private static final int GBTREE_PARAM_BYTES = 160;
+    private static final int TREE_PARAM_BYTES = 148;
+    private static final int NODE_STAT_BYTES = 16;
+    private static final int DEFAULT_LEFT_BIT = 0x80000000;
+
+    private final int featureCount;
+    private final float baseMargin;
+    private final int[] roots;
+    private final int[] feature;
+    private final float[] value;      // 분기 노드: threshold, 리프: leaf value
+    private final int[] left;         // 리프이면 -1
+    private final int[] right;
+    private final boolean[] defaultLeft;
+
+    private XgbTreeEnsemble(int featureCount, float baseMargin, int[] roots, int[] feature, float[] value,
+                            int[] left, int[] right, boolean[] defaultLeft) {
+        this.featureCount = featureCount;
+        this.baseMargin = baseMargin;
+        this.roots = roots;
+        this.feature = feature;
+        this.value = value;
+        this.left = left;
+        this.right = right;
+        this.defaultLeft = defaultLeft;
+    }
+
+    /**
+     * XGBoost 바이너리 모델 (Booster.save_raw) 로드
+     */
+    static XgbTreeEnsemble parse(byte[] model) {
+        try {
+            return read(ByteBuffer.wrap(model).order(ByteOrder.LITTLE_ENDIAN));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("XGBoost 모델 바이너리가 손상되었습니다.", e);
+        }
+    }
+
+    private static XgbTreeEnsemble read(ByteBuffer buffer) {
+        skipMagic(buffer);
+
+        // LearnerModelParam: base_score, num_feature, num_class, ...
+        int learnerStart = buffer.position();
+        float baseScore = buffer.getFloat();
+        int featureCount = buffer.getInt();
+        int classCount = buffer.getInt();
+        buffer.position(learnerStart + LEARNER_PARAM_BYTES);
+
+        String objective = readString(buffer);
+        String booster = readString(buffer);
+        if (!"binary:logistic".equals(objective) || !"gbtree".equals(booster) || classCount > 1) {
+            throw new IllegalArgumentException("지원하지 않는 XGBoost 모델입니다. objective: " + objective + ", booster: " + booster);
+        }
+
+        // GBTreeModelParam: num_trees, ...
+        int gbtreeStart = buffer.position();
+        int treeCount = buffer.getInt();
+        buffer.position(gbtreeStart + GBTREE_PARAM_BYTES);
+
+        // 노드 수를 모르므로 트리별로 읽은 뒤 한 번에 평탄화
+        int[][] treeNodes = new int[treeCount][];
+        float[][] treeValues = new float[treeCount][];
+        int nodeCount = 0;
+        for (int t = 0; t < treeCount; t++) {
+            int treeStart = buffer.position();
+            buffer.getInt(); // num_roots (deprecated)
+            int nodes = buffer.getInt();
+            buffer.position(treeStart + TREE_PARAM_BYTES);
+
+            // Node: parent, cleft, cright, sindex(최상위 비트 = default left), split_cond / leaf_value
+            int[] packed = new int[nodes * 3];
+            float[] values = new float[nodes];
+            for (int n = 0; n < nodes; n++) {
+                buffer.getInt();
+                packed[n * 3] = buffer.getInt();
+                packed[n * 3 + 1] = buffer.getInt();
+                packed[n * 3 + 2] = buffer.getInt();
+                values[n] = buffer.getFloat();
+            }
+            buffer.position(buffer.position() + nodes * NODE_STAT_BYTES);
+
+            treeNodes[t] = packed;
+            treeValues[t] = values;
+            nodeCount += nodes;
+        }
+
+        int[] roots = new int[treeCount];
+        int[] feature = new int[nodeCount];
+        float[] value = new float[nodeCount];
+        int[] left = new int[nodeCount];
+        int[] right = new int[nodeCount];
+        boolean[] defaultLeft = new boolean[nodeCount];
+
+        int offset = 0;
+        for (int t = 0; t < treeCount; t++) {
+            roots[t] = offset;
+            int[] packed = treeNodes[t];
+            int nodes = treeValues[t].length;
+            for (int n = 0; n < nodes; n++) {
+                int cleft = packed[n * 3];
+                int cright = packed[n * 3 + 1];
+                int sindex = packed[n * 3 + 2];
+                int node = offset + n;
+                boolean leaf = cleft == -1;
+                left[node] = leaf ? -1 : offset + cleft;
+                right[node] = leaf ? -1 : offset + cright;
+                feature[node] = sindex & ~DEFAULT_LEFT_BIT;
+                defaultLeft[node] = (sindex & DEFAULT_LEFT_BIT) != 0;
+                value[node] = treeValues[t][n];
+                if (!leaf && feature[node] >= featureCount) {
+                    throw new IllegalArgumentException("XGBoost 모델의 feature 번호가 범위를 벗어났습니다. feature: " + feature[node]);
+                }
+            }
+            offset += nodes;
+        }
+
+        // base_score 는 확률로 저장되어 있으므로 logit 으로 변환
+        float baseMargin = (float) -Math.log(1.0 / baseScore - 1.0);
+        return new XgbTreeEnsemble(featureCount, baseMargin, roots, feature, value, left, right, defaultLeft);
+    }
+
+    private static void skipMagic(ByteBuffer buffer) {
+        for (int i = 0; i < BINARY_MAGIC.length; i++) {
+            if (buffer.get(i) != BINARY_MAGIC[i]) {
+                return;
+            }
+        }
+        buffer.position(BINARY_MAGIC.length);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        long length = buffer.getLong();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("XGBoost 모델 바이너리가 손상되었습니다.");
+        }
+        byte[] bytes = new byte[(int) length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int featureCount() {
+        return featureCount;
+    }
+
+    int treeCount() {
+        return roots.length;
+    }
+
+    /**
+     * 양성 확률 (sigmoid(margin)), 없는 feature 는 NaN
+     */
+    float probability(double[] features) {
+        return (float) (1.0 / (1.0 + Math.exp(-margin(features))));
+    }
+
+    float margin(double[] features) {
+        if (features.length != featureCount) {
+            throw new IllegalArgumentException("feature 개수가 모델과 다릅니다. expected: " + featureCount + ", actual: " + features.length);
+        }
+
+        float sum = baseMargin;
+        for (int root : roots) {
+            int node = root;
+            while (left[node] >= 0) {
+                // XGBoost 는 입력을 float 으로 바꿔 비교
+                float x = (float) features[feature[node]];
+                if (Float.isNaN(x)) {
+                    node = defaultLeft[node] ? left[node] : right[node];
+                } else {
+                    node = x < value[node] ? left[node] : right[node];
+                }
+            }
+            sum += value[node];
+        }
+        return sum;
+    }
+}
@@ -1,5 +1,6 @@
 package gradude.springVision.domain.hospital.controller;
 import gradude.springVision.domain.hospital.dto.response.HospitalDetailResponseDTO;
+import gradude.springVision.domain.hospital.dto.response.HospitalMapResponseDTO;
 import gradude.springVision.domain.hospital.dto.response.HospitalMarkerResponseDTO;
 import gradude.springVision.domain.hospital.dto.response.HospitalSearchResponseDTO;
 import gradude.springVision.domain.hospital.service.HospitalQueryService;
@@ -36,14 +37,32 @@ public class HospitalController {
         return ApiResponse.onSuccess(hospitalQueryService.getHospitalMarkers(neLatitude, neLongitude, swLatitude, swLongitude));
     }
 
+    @Operation(summary = "병원 지도 마커/클러스터 조회", description = "화면 안 병원이 많으면 줌 레벨별 클러스터(병원 수, 뇌졸중센터 수)로 묶어서 반환 <br> 병원이 1개인 칸은 markers로 반환")
+    @Parameters({
+            @Parameter(name = "neLatitude", description = "북동 위도"),
+            @Parameter(name = "neLongitude", description = "북동 경도"),
+            @Parameter(name = "swLatitude", description = "남서 위도"),
+            @Parameter(name = "swLongitude", description = "남서 경도"),
+            @Parameter(name = "zoom", description = "지도 줌 레벨 (0~17, 웹 메르카토르 기준)"),
+            @Parameter(name = "openNow", description = "현재 운영 중인 병원만 조회")
+    })
+    @GetMapping("/map")
+    public ApiResponse<HospitalMapResponseDTO> getHospitalMap(@RequestParam double neLatitude, @RequestParam double neLongitude,
+                                                              @RequestParam double swLatitude, @RequestParam double swLongitude,
+                                                              @RequestParam int zoom, @RequestParam(defaultValue = "false") boolean openNow) {
+        return ApiResponse.onSuccess(hospitalQueryService.getHospitalMap(neLatitude, neLongitude, swLatitude, swLongitude, zoom, openNow));
+    }
+
     @Operation(summary = "가까운 병원 6개 조회(검색창 눌렀을 때 뜨는거)")
     @Parameters({
             @Parameter(name = "latitude", description = "현위치 위도"),
-            @Parameter(name = "longitude", description = "현위치 경도")
+            @Parameter(name = "longitude", description = "현위치 경도"),
+            @Parameter(name = "openNow", description = "현재 운영 중인 병원만 조회")
     })
     @GetMapping("/nearest")
-    public ApiResponse<List<HospitalSearchResponseDTO>> getNearestHospital(@RequestParam double latitude, @RequestParam double longitude) {
-        return ApiResponse.onSuccess(hospitalQueryService.getNearestHospitals(latitude, longitude));
+    public ApiResponse<List<HospitalSearchResponseDTO>> getNearestHospital(@RequestParam double latitude, @RequestParam double longitude,
+                                                                           @RequestParam(defaultValue = "false") boolean openNow) {
+        return ApiResponse.onSuccess(hospitalQueryService.getNearestHospitals(latitude, longitude, openNow));
     }
 
     @Operation(summary = "병원 마커 모달 조회", description = "openingHour: null 고정")
@@ -83,4 +102,32 @@ public class HospitalController {
         Pageable pageable = PageRequest.of(page, size);
         return ApiResponse.onSuccess(hospitalQueryService.searchHospital(latitude, longitude, keyword, pageable));
     }
+
+    @Operation(summary = "병원 검색 (커서 방식)", description = "2글자 이상 입력 -> 가까운 순 병원 리스트 <br> 첫 페이지는 cursor 없이 요청, 다음 페이지는 응답의 nextCursor 전달 (hasNext: false 이면 마지막)")
+    @Parameters({
+            @Parameter(name = "latitude", description = "현위치 위도"),
+            @Parameter(name = "longitude", description = "현위치 경도"),
+            @Parameter(name = "keyword", description = "검색 키워드 (2자 이상)"),
+            @Parameter(name = "cursor", description = "이전 응답의 nextCursor"),
+            @Parameter(name = "size", description = "페이지 크기 (1 ~ 50)", example = "6")
+    })
+    @GetMapping("/search/cursor")
+    public ApiResponse<PageResponseDTO<HospitalSearchResponseDTO>> searchHospitalByCursor(@RequestParam double latitude, @RequestParam double longitude,
+                                                                                          @RequestParam String keyword, @RequestParam(required = false) String cursor,
+                                                                                          @RequestParam(defaultValue = "6") int size) {
+        return ApiResponse.onSuccess(hospitalQueryService.searchHospitalByCursor(latitude, longitude, keyword, cursor, size));
+    }
+
+    @Operation(summary = "병원 이름 자동완성", description = "1글자 이상 입력 중인 검색어 -> 가까운 순 병원 리스트 <br> 초성만 입력한 글자는 초성으로 (ㅅㅇ -> 서울), 마지막 글자는 조합 중인 글자로 처리 (ㅂ, 벼 -> 병원)")
+    @Parameters({
+            @Parameter(name = "latitude", description = "현위치 위도"),
+            @Parameter(name = "longitude", description = "현위치 경도"),
+            @Parameter(name = "keyword", description = "입력 중인 검색어 (1자 이상)"),
+            @Parameter(name = "size", description = "조회 개수 (1 ~ 50)", example = "10")
+    })
+    @GetMapping("/autocomplete")
+    public ApiResponse<List<HospitalSearchResponseDTO>> autocompleteHospital(@RequestParam double latitude, @RequestParam double longitude,
+                                                                             @RequestParam String keyword, @RequestParam(defaultValue = "10") int size) {
+        return ApiResponse.onSuccess(hospitalQueryService.autocompleteHospital(latitude, longitude, keyword, size));
+    }
 }
@@ -0,0 +1,82 @@
+package gradude.springVision.domain.hospital.dto.request;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 병원 검색 커서 (마지막으로 내려준 병원의 거리, id + 검색 조건 해시)
+ * - 검색 결과는 (distance, hospitalId) 오름차순이므로 다음 페이지는 이 값보다 뒤에 있는 병원부터 조회
+ * - 다른 검색어 / 위치로 만든 커서는 거리 기준이 달라 페이지가 어긋나므로 queryHash 로 거부
+ * - 클라이언트에는 URL-safe Base64 문자열로 전달
+ */
+@Getter
+@AllArgsConstructor
+public class HospitalSearchCursor {
+
+    private static final int BYTES = Double.BYTES + Long.BYTES + Integer.BYTES;
+
+    private final double distance;
+    private final long hospitalId;
+    private final int queryHash;
+
+    /**
+     * 첫 페이지 커서 (모든 병원보다 앞)
+     */
+    public static HospitalSearchCursor first(int queryHash) {
+        return new HospitalSearchCursor(-1, 0, queryHash);
+    }
+
+    /**
+     * 검색 조건 해시 (검색어는 대소문자 무시)
+     */
+    public static int queryHash(String keyword, double latitude, double longitude) {
+        return Objects.hash(keyword.toLowerCase(Locale.ROOT), latitude, longitude);
+    }
+
+    /**
+     * cursor 가 없으면 첫 페이지, 형식이 잘못되었거나 다른 검색 조건의 커서면 HOSPITAL_INVALID_CURSOR
+     */
+    public static HospitalSearchCursor decode(String cursor, int queryHash) {
+        if (cursor == null || cursor.isBlank()) {
+            return first(queryHash);
+        }
+
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+        } catch (IllegalArgumentException e) {
+            throw new GeneralException(ErrorCode.HOSPITAL_INVALID_CURSOR);
+        }
+        if (buffer.remaining() != BYTES) {
+            throw new GeneralException(ErrorCode.HOSPITAL_INVALID_CURSOR);
+        }
+
+        HospitalSearchCursor decoded = new HospitalSearchCursor(buffer.getDouble(), buffer.getLong(), buffer.getInt());
+        if (decoded.queryHash != queryHash) {
+            throw new GeneralException(ErrorCode.HOSPITAL_INVALID_CURSOR);
+        }
+        return decoded;
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES)
+                .putDouble(distance)
+                .putLong(hospitalId)
+                .putInt(queryHash);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * (distance, hospitalId) 가 커서보다 뒤에 있는지
+     */
+    public boolean isBefore(double distance, long hospitalId) {
+        return distance > this.distance || (distance == this.distance && hospitalId > this.hospitalId);
+    }
+}
@@ -0,0 +1,23 @@
+package gradude.springVision.domain.hospital.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class HospitalClusterResponseDTO {
+
+    private double latitude;
+    private double longitude;
+    private int count;
+    private int strokeCenterCount;
+
+    public static HospitalClusterResponseDTO of(double latitude, double longitude, int count, int strokeCenterCount) {
+        return HospitalClusterResponseDTO.builder()
+                .latitude(latitude)
+                .longitude(longitude)
+                .count(count)
+                .strokeCenterCount(strokeCenterCount)
+                .build();
+    }
+}
@@ -2,12 +2,16 @@ package gradude.springVision.domain.hospital.dto.response;
 
 import gradude.springVision.domain.hospital.entity.Hospital;
 import gradude.springVision.domain.hospital.entity.OpeningHour;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Builder
 @Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 public class HospitalDetailResponseDTO {
 
@@ -16,6 +20,7 @@ public class HospitalDetailResponseDTO {
     private double distance;
     private String address;
     private String phoneNumber;
+    @JsonProperty("open") // 응답 필드명(open) 그대로 역직렬화
     private boolean isOpen;
     private OpeningHour openingHour;
     private boolean strokeCenter;
@@ -0,0 +1,23 @@
+package gradude.springVision.domain.hospital.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class HospitalMapResponseDTO {
+
+    private boolean clustered;
+    private List<HospitalClusterResponseDTO> clusters;
+    private List<HospitalMarkerResponseDTO> markers;
+
+    public static HospitalMapResponseDTO of(boolean clustered, List<HospitalClusterResponseDTO> clusters, List<HospitalMarkerResponseDTO> markers) {
+        return HospitalMapResponseDTO.builder()
+                .clustered(clustered)
+                .clusters(clusters)
+                .markers(markers)
+                .build();
+    }
+}
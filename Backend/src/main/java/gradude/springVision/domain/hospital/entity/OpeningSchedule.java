@@ -0,0 +1,172 @@
+package gradude.springVision.domain.hospital.entity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * OpeningHour 문자열("09:00~18:00")을 한 번만 파싱해 만든 주간 운영 구간
+ * - 월요일 00:00 을 0분으로 하는 주 단위 분(minute-of-week) [start, end) 구간 배열, 정렬 및 병합된 상태
+ * - "24:00" 종료, 자정을 넘기는 구간("22:00~02:00")은 다음 날로 이어서 처리
+ * - 시작과 종료가 같은 구간("00:00~00:00", "09:00~09:00")은 운영 안 함 (24시간 운영은 "00:00~24:00")
+ * - 형식이 잘못된 요일은 운영 안 함으로 취급하고 invalidDays 에 기록 (단건 조회와 HospitalOpeningIndex 가 같은 결과)
+ */
+public class OpeningSchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final OpeningSchedule CLOSED = new OpeningSchedule(new int[0], new int[0], 0);
+
+    private final int[] starts;
+    private final int[] ends;
+    private final int invalidDays;
+
+    private OpeningSchedule(int[] starts, int[] ends, int invalidDays) {
+        this.starts = starts;
+        this.ends = ends;
+        this.invalidDays = invalidDays;
+    }
+
+    public static OpeningSchedule compile(OpeningHour openingHour) {
+        if (openingHour == null) {
+            return CLOSED;
+        }
+
+        List<int[]> intervals = new ArrayList<>();
+        int invalidDays = 0;
+
+        for (int day = 0; day < 7; day++) {
+            String hours = openingHour.getByDay(DayOfWeek.of(day + 1));
+            if (hours == null || hours.isBlank()) {
+                continue;
+            }
+
+            int[] range = parseRange(hours);
+            if (range == null) {
+                invalidDays |= 1 << day;
+                continue;
+            }
+
+            if (range[0] == range[1]) {
+                continue; // 빈 구간
+            }
+
+            int start = day * MINUTES_PER_DAY + range[0];
+            int end = day * MINUTES_PER_DAY + range[1];
+            if (range[1] < range[0]) {
+                end += MINUTES_PER_DAY; // 자정 넘김
+            }
+
+            if (end > MINUTES_PER_WEEK) {
+                intervals.add(new int[]{start, MINUTES_PER_WEEK});
+                intervals.add(new int[]{0, end - MINUTES_PER_WEEK});
+            } else {
+                intervals.add(new int[]{start, end});
+            }
+        }
+
+        return merge(intervals, invalidDays);
+    }
+
+    /**
+     * 주 단위 분 (월요일 00:00 = 0)
+     */
+    public static int minuteOfWeek(LocalDateTime dateTime) {
+        return (dateTime.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    public boolean isOpenAt(LocalDateTime dateTime) {
+        return contains(minuteOfWeek(dateTime));
+    }
+
+    /**
+     * 운영 구간 포함 여부 (형식 오류 요일은 운영 안 함으로 취급)
+     */
+    public boolean contains(int minuteOfWeek) {
+        int index = Arrays.binarySearch(starts, minuteOfWeek);
+        if (index >= 0) {
+            return true;
+        }
+        int candidate = -index - 2; // minuteOfWeek 보다 작은 start 중 가장 큰 구간
+        return candidate >= 0 && minuteOfWeek < ends[candidate];
+    }
+
+    /**
+     * 형식이 잘못되어 운영 안 함으로 처리된 요일이 있는지 (데이터 점검용)
+     */
+    public boolean hasInvalidDays() {
+        return invalidDays != 0;
+    }
+
+    public int[] getStarts() {
+        return starts.clone();
+    }
+
+    public int[] getEnds() {
+        return ends.clone();
+    }
+
+    private static OpeningSchedule merge(List<int[]> intervals, int invalidDays) {
+        if (intervals.isEmpty()) {
+            return invalidDays == 0 ? CLOSED : new OpeningSchedule(new int[0], new int[0], invalidDays);
+        }
+
+        intervals.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        int[] starts = new int[intervals.size()];
+        int[] ends = new int[intervals.size()];
+        int count = 0;
+        for (int[] interval : intervals) {
+            if (count > 0 && interval[0] <= ends[count - 1]) {
+                ends[count - 1] = Math.max(ends[count - 1], interval[1]);
+            } else {
+                starts[count] = interval[0];
+                ends[count] = interval[1];
+                count++;
+            }
+        }
+
+        return new OpeningSchedule(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count), invalidDays);
+    }
+
+    /**
+     * "09:00~18:00" -> {540, 1080}, 형식 오류 시 null
+     */
+    private static int[] parseRange(String hours) {
+        int separator = hours.indexOf('~');
+        if (separator < 0) {
+            return null;
+        }
+
+        int start = parseMinute(hours.substring(0, separator).trim());
+        int end = parseMinute(hours.substring(separator + 1).trim());
+        if (start < 0 || end < 0 || start == MINUTES_PER_DAY) {
+            return null;
+        }
+        return new int[]{start, end};
+    }
+
+    /**
+     * "HH:mm" -> 0 ~ 1440 ("24:00" 허용), 형식 오류 시 -1
+     */
+    private static int parseMinute(String time) {
+        int colon = time.indexOf(':');
+        if (colon < 1 || colon != time.length() - 3) {
+            return -1;
+        }
+
+        try {
+            int hour = Integer.parseInt(time.substring(0, colon));
+            int minute = Integer.parseInt(time.substring(colon + 1));
+            if (hour < 0 || minute < 0 || minute > 59 || hour > 24 || (hour == 24 && minute != 0)) {
+                return -1;
+            }
+            return hour * 60 + minute;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package gradude.springVision.domain.hospital.index;
+
+import java.util.function.IntPredicate;
+
+/**
+ * 위도/경도 좌표에 대한 3차원 KD-tree (k-최근접 이웃 검색)
+ * - 좌표를 단위 구 위의 (x, y, z) 벡터로 변환해 저장하므로 현 거리(chord) 순서 == 대원 거리 순서
+ * - 노드는 별도 객체 없이 정렬된 배열의 [lo, hi) 구간 중앙값으로 표현
+ */
+public class GeoKdTree {
+
+    private static final double EARTH_RADIUS = 6371.0;
+
+    private final int size;
+    private final int[] order;     // 트리 위치 -> 원본 인덱스
+    private final double[] coords; // 트리 위치별 x, y, z (3개씩)
+    private final byte[] axes;     // 트리 위치별 분할 축
+
+    private GeoKdTree(int size, int[] order, double[] coords, byte[] axes) {
+        this.size = size;
+        this.order = order;
+        this.coords = coords;
+        this.axes = axes;
+    }
+
+    public static GeoKdTree build(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        double[] points = new double[n * 3];
+        for (int i = 0; i < n; i++) {
+            toUnitVector(latitudes[i], longitudes[i], points, i * 3);
+        }
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+
+        byte[] axes = new byte[n];
+        buildRange(points, order, axes, 0, n);
+
+        // 트리 순서대로 좌표 재배치 (검색 시 메모리 접근 지역성)
+        double[] coords = new double[n * 3];
+        for (int pos = 0; pos < n; pos++) {
+            System.arraycopy(points, order[pos] * 3, coords, pos * 3, 3);
+        }
+
+        return new GeoKdTree(n, order, coords, axes);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 기준 좌표에서 가까운 순으로 최대 k개의 원본 인덱스 반환 (maxDistanceKm 이내)
+     */
+    public int[] nearest(double latitude, double longitude, int k, double maxDistanceKm) {
+        return nearest(latitude, longitude, k, maxDistanceKm, null);
+    }
+
+    /**
+     * filter 를 통과하는 원본 인덱스 중 가까운 순으로 최대 k개 반환 (filter == null 이면 전체)
+     */
+    public int[] nearest(double latitude, double longitude, int k, double maxDistanceKm, IntPredicate filter) {
+        if (k <= 0 || size == 0) {
+            return new int[0];
+        }
+
+        double[] query = new double[3];
+        toUnitVector(latitude, longitude, query, 0);
+
+        double maxChord = toChord(maxDistanceKm);
+        KnnHeap heap = new KnnHeap(Math.min(k, size), maxChord * maxChord);
+        search(query, heap, filter, 0, size);
+
+        return heap.drainSorted();
+    }
+
+    /**
+     * 두 좌표 사이의 대원 거리(km)
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double[] a = new double[3];
+        double[] b = new double[3];
+        toUnitVector(lat1, lng1, a, 0);
+        toUnitVector(lat2, lng2, b, 0);
+
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return fromChord(Math.sqrt(dx * dx + dy * dy + dz * dz));
+    }
+
+    private void search(double[] query, KnnHeap heap, IntPredicate filter, int lo, int hi) {
+        if (lo >= hi) {
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        int base = mid * 3;
+        double dx = query[0] - coords[base];
+        double dy = query[1] - coords[base + 1];
+        double dz = query[2] - coords[base + 2];
+        if (filter == null || filter.test(order[mid])) {
+            heap.offer(dx * dx + dy * dy + dz * dz, order[mid]);
+        }
+
+        int axis = axes[mid];
+        double diff = query[axis] - coords[base + axis];
+
+        if (diff < 0) {
+            search(query, heap, filter, lo, mid);
+            if (diff * diff <= heap.bound()) {
+                search(query, heap, filter, mid + 1, hi);
+            }
+        } else {
+            search(query, heap, filter, mid + 1, hi);
+            if (diff * diff <= heap.bound()) {
+                search(query, heap, filter, lo, mid);
+            }
+        }
+    }
+
+    private static void buildRange(double[] points, int[] order, byte[] axes, int lo, int hi) {
+        if (hi - lo <= 0) {
+            return;
+        }
+
+        int axis = widestAxis(points, order, lo, hi);
+        int mid = (lo + hi) >>> 1;
+        select(points, order, axis, lo, hi - 1, mid);
+        axes[mid] = (byte) axis;
+
+        buildRange(points, order, axes, lo, mid);
+        buildRange(points, order, axes, mid + 1, hi);
+    }
+
+    private static int widestAxis(double[] points, int[] order, int lo, int hi) {
+        double[] min = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+        double[] max = {-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (int i = lo; i < hi; i++) {
+            int base = order[i] * 3;
+            for (int axis = 0; axis < 3; axis++) {
+                double value = points[base + axis];
+                if (value < min[axis]) min[axis] = value;
+                if (value > max[axis]) max[axis] = value;
+            }
+        }
+
+        int widest = 0;
+        for (int axis = 1; axis < 3; axis++) {
+            if (max[axis] - min[axis] > max[widest] - min[widest]) {
+                widest = axis;
+            }
+        }
+        return widest;
+    }
+
+    /**
+     * quickselect: order[lo..hi] 구간에서 target 위치에 중앙값이 오도록 부분 정렬
+     */
+    private static void select(double[] points, int[] order, int axis, int lo, int hi, int target) {
+        while (lo < hi) {
+            double pivot = points[order[(lo + hi) >>> 1] * 3 + axis];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (points[order[i] * 3 + axis] < pivot) i++;
+                while (points[order[j] * 3 + axis] > pivot) j--;
+                if (i <= j) {
+                    int tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (target <= j) {
+                hi = j;
+            } else if (target >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void toUnitVector(double latitude, double longitude, double[] out, int offset) {
+        double lat = Math.toRadians(latitude);
+        double lng = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        out[offset] = cosLat * Math.cos(lng);
+        out[offset + 1] = cosLat * Math.sin(lng);
+        out[offset + 2] = Math.sin(lat);
+    }
+
+    private static double toChord(double distanceKm) {
+        double angle = Math.min(distanceKm / EARTH_RADIUS, Math.PI);
+        return 2 * Math.sin(angle / 2);
+    }
+
+    static double fromChord(double chord) {
+        return 2 * EARTH_RADIUS * Math.asin(Math.min(1.0, chord / 2));
+    }
+
+    /**
+     * 크기 k 로 제한된 최대 힙 (가장 먼 후보가 루트)
+     */
+    private static class KnnHeap {
+
+        private final double[] distances;
+        private final int[] indexes;
+        private final double limit;
+        private int count;
+
+        KnnHeap(int capacity, double limit) {
+            this.distances = new double[capacity];
+            this.indexes = new int[capacity];
+            this.limit = limit;
+        }
+
+        double bound() {
+            return count < distances.length ? limit : distances[0];
+        }
+
+        void offer(double distance, int index) {
+            if (distance > bound()) {
+                return;
+            }
+            if (count < distances.length) {
+                int i = count++;
+                distances[i] = distance;
+                indexes[i] = index;
+                siftUp(i);
+            } else if (distance < distances[0]) {
+                distances[0] = distance;
+                indexes[0] = index;
+                siftDown(0);
+            }
+        }
+
+        int[] drainSorted() {
+            int[] result = new int[count];
+            for (int i = count - 1; i >= 0; i--) {
+                result[i] = indexes[0];
+                count--;
+                distances[0] = distances[count];
+                indexes[0] = indexes[count];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (distances[parent] >= distances[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                int right = left + 1;
+                int largest = i;
+                if (left < count && distances[left] > distances[largest]) largest = left;
+                if (right < count && distances[right] > distances[largest]) largest = right;
+                if (largest == i) {
+                    return;
+                }
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+            int index = indexes[a];
+            indexes[a] = indexes[b];
+            indexes[b] = index;
+        }
+    }
+}
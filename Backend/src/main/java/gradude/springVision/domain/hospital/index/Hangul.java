@@ -0,0 +1,109 @@
+package gradude.springVision.domain.hospital.index;
+
+/**
+ * 한글 음절 자모 분해 유틸
+ * - 완성형 음절(가~힣) = 0xAC00 + (초성 * 21 + 중성) * 28 + 종성
+ */
+final class Hangul {
+
+    private static final char SYLLABLE_BEGIN = 0xAC00;
+    private static final char SYLLABLE_END = 0xD7A3;
+
+    // 호환용 자모(ㄱ, ㄴ ...) 기준 초성 / 종성 목록
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    private static final char[] JONGSEONG = {
+            0, 'ㄱ', 'ㄲ', 'ㄳ', 'ㄴ', 'ㄵ', 'ㄶ', 'ㄷ', 'ㄹ', 'ㄺ', 'ㄻ', 'ㄼ', 'ㄽ', 'ㄾ', 'ㄿ', 'ㅀ',
+            'ㅁ', 'ㅂ', 'ㅄ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    // 겹모음 -> 앞 모음 인덱스 (ㅘ -> ㅗ), 겹모음이 아니면 -1
+    private static final int[] COMPOUND_JUNGSEONG = {
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, 8, 8, 8, -1, -1, 13, 13, 13, -1, -1, 18, -1
+    };
+    // 겹받침 -> 앞 받침 인덱스 (ㄺ -> ㄹ), 겹받침이 아니면 -1
+    private static final int[] COMPOUND_JONGSEONG = {
+            -1, -1, -1, 1, -1, 4, 4, -1, -1, 8, 8, 8, 8, 8, 8, 8, -1, -1, 17, -1, -1, -1, -1, -1, -1, -1, -1, -1
+    };
+    // 겹받침 -> 뒤 자음 (ㄺ -> ㄱ)
+    private static final char[] SPLIT_JONGSEONG = {
+            0, 0, 0, 'ㅅ', 0, 'ㅈ', 'ㅎ', 0, 0, 'ㄱ', 'ㅁ', 'ㅂ', 'ㅅ', 'ㅌ', 'ㅍ', 'ㅎ', 0, 0, 'ㅅ', 0, 0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private Hangul() {
+    }
+
+    static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BEGIN && c <= SYLLABLE_END;
+    }
+
+    static boolean isConsonant(char c) {
+        return c >= 'ㄱ' && c <= 'ㅎ';
+    }
+
+    static char choseong(char syllable) {
+        return CHOSEONG[(syllable - SYLLABLE_BEGIN) / (21 * 28)];
+    }
+
+    /**
+     * 입력이 끝난 글자(typed)가 target 과 같은지 (초성만 입력한 글자 포함: ㅅ -> 서)
+     */
+    static boolean matches(char typed, char target) {
+        return typed == target || (isConsonant(typed) && isSyllable(target) && choseong(target) == typed);
+    }
+
+    /**
+     * 입력 중인 마지막 글자(typed)가 완성된 글자 target 의 앞부분인지
+     * - ㅂ -> 병 (초성만 입력)
+     * - 벼 -> 병, 우 -> 원 (종성 / 겹모음 입력 전)
+     * - 갈 -> 갉 (겹받침 입력 전)
+     * - 댑 -> 대 + 병, 닭 -> 달 + 걀 (다음 글자 초성이 아직 종성 자리에 붙어 있는 상태)
+     */
+    static boolean isTypingPrefix(char typed, char target, char next) {
+        if (typed == target) {
+            return true;
+        }
+        if (!isSyllable(target)) {
+            return false;
+        }
+        if (isConsonant(typed)) {
+            return choseong(target) == typed;
+        }
+        if (!isSyllable(typed) || choseong(typed) != choseong(target)) {
+            return false;
+        }
+
+        int typedJung = jungseongIndex(typed);
+        int targetJung = jungseongIndex(target);
+        int typedJong = jongseongIndex(typed);
+        int targetJong = jongseongIndex(target);
+
+        if (typedJong == 0) {
+            return typedJung == targetJung || COMPOUND_JUNGSEONG[targetJung] == typedJung;
+        }
+        if (typedJung != targetJung) {
+            return false;
+        }
+        if (COMPOUND_JONGSEONG[targetJong] == typedJong) {
+            return true;
+        }
+
+        // 종성 자리의 자음이 실제로는 다음 글자의 초성
+        if (!isSyllable(next)) {
+            return false;
+        }
+        if (targetJong == 0) {
+            return choseong(next) == JONGSEONG[typedJong];
+        }
+        return COMPOUND_JONGSEONG[typedJong] == targetJong && choseong(next) == SPLIT_JONGSEONG[typedJong];
+    }
+
+    private static int jungseongIndex(char syllable) {
+        return (syllable - SYLLABLE_BEGIN) / 28 % 21;
+    }
+
+    private static int jongseongIndex(char syllable) {
+        return (syllable - SYLLABLE_BEGIN) % 28;
+    }
+}
@@ -0,0 +1,7 @@
+package gradude.springVision.domain.hospital.index;
+
+/**
+ * 병원 엔티티 생성/수정/삭제 이벤트
+ */
+public class HospitalChangedEvent {
+}
@@ -0,0 +1,362 @@
+package gradude.springVision.domain.hospital.index;
+
+import gradude.springVision.domain.hospital.entity.Hospital;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+
+/**
+ * 지도 줌 레벨별 병원 클러스터 인덱스 (격자 기반 계층 클러스터)
+ * - 웹 메르카토르 좌표를 줌 레벨마다 2^(zoom+2) x 2^(zoom+2) 격자(256px 타일 기준 64px 칸)로 나눔
+ * - 병원을 최대 줌 레벨 칸의 모턴(Z-order) 코드 순으로 정렬해 두므로 모든 레벨의 칸이 연속 구간이 되고,
+ *   하위 레벨 칸을 합쳐 상위 레벨 칸을 만드는 방식으로 전체 계층을 rebuild 시 한 번에 계산
+ * - 지도 이동 시에는 해당 줌 레벨에서 화면에 걸치는 칸만 조회
+ */
+@Component
+public class HospitalClusterIndex implements HospitalIndex {
+
+    public static final int MIN_ZOOM = 0;
+    public static final int MAX_ZOOM = 17;
+    private static final int CELL_SHIFT = 2; // 타일당 4 x 4 칸
+
+    private volatile Snapshot snapshot;
+
+    @Override
+    public void rebuild(List<Hospital> hospitals) {
+        int n = hospitals.size();
+        int leafBits = MAX_ZOOM + CELL_SHIFT;
+
+        long[] leafCodes = new long[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            Hospital hospital = hospitals.get(i);
+            leafCodes[i] = interleave(cellX(hospital.getLongitude(), leafBits), cellY(hospital.getLatitude(), leafBits));
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> leafCodes[i]));
+
+        long[] ids = new long[n];
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        boolean[] strokeCenters = new boolean[n];
+        long[] sortedCodes = new long[n];
+        for (int pos = 0; pos < n; pos++) {
+            Hospital hospital = hospitals.get(order[pos]);
+            ids[pos] = hospital.getId();
+            latitudes[pos] = hospital.getLatitude();
+            longitudes[pos] = hospital.getLongitude();
+            strokeCenters[pos] = hospital.isStrokeCenter();
+            sortedCodes[pos] = leafCodes[order[pos]];
+        }
+
+        Level[] levels = new Level[MAX_ZOOM + 1];
+        levels[MAX_ZOOM] = Level.ofLeaves(sortedCodes, latitudes, longitudes, strokeCenters);
+        for (int zoom = MAX_ZOOM - 1; zoom >= MIN_ZOOM; zoom--) {
+            levels[zoom] = Level.ofParent(levels[zoom + 1]);
+        }
+
+        this.snapshot = new Snapshot(ids, latitudes, longitudes, strokeCenters, levels);
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * 화면 영역과 줌 레벨에 해당하는 클러스터 조회
+     * - 화면에 걸치는 병원 수(filter 적용 후)가 threshold 이하이면 클러스터 없이 개별 마커만 반환
+     * - 병원이 1개뿐인 칸은 클러스터 대신 개별 마커로 반환 (개별 마커는 클러스터 여부와 관계없이 화면 안 병원만)
+     * - filter(병원 id) 가 있으면 통과한 병원만 마커/클러스터 개수에 포함 (클러스터 중심 좌표는 전체 기준)
+     */
+    public ClusterResult findClusters(double neLatitude, double neLongitude, double swLatitude, double swLongitude, int zoom, int threshold,
+                                      LongPredicate filter) {
+        Snapshot current = snapshot;
+        ClusterResult result = new ClusterResult();
+        if (current == null) {
+            return result;
+        }
+
+        Level level = current.levels[Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom))];
+        int[] cells = level.cellsWithin(neLatitude, neLongitude, swLatitude, swLongitude);
+
+        int total = 0;
+        for (int cell : cells) {
+            total += filter == null ? level.counts[cell] : countFiltered(current, level, cell, filter);
+        }
+
+        boolean clustered = total > threshold;
+        result.clustered = clustered;
+
+        // 화면 경계에 걸친 칸에는 화면 밖 병원도 있으므로 개별 마커는 좌표로 한 번 더 확인
+        IntPredicate inView = pos -> contains(current, pos, neLatitude, neLongitude, swLatitude, swLongitude);
+        for (int cell : cells) {
+            if (clustered && level.counts[cell] > 1) {
+                addCluster(current, level, cell, filter, inView, result);
+                continue;
+            }
+
+            for (int pos = level.starts[cell]; pos < level.ends[cell]; pos++) {
+                if (!inView.test(pos)) {
+                    continue;
+                }
+                if (filter != null && !filter.test(current.ids[pos])) {
+                    continue;
+                }
+                result.markers.add(marker(current, pos));
+            }
+        }
+        return result;
+    }
+
+    private static void addCluster(Snapshot snapshot, Level level, int cell, LongPredicate filter, IntPredicate inView, ClusterResult result) {
+        if (filter == null) {
+            result.clusters.add(new Cluster(level.latitudes[cell], level.longitudes[cell], level.counts[cell], level.strokeCounts[cell]));
+            return;
+        }
+
+        int count = 0;
+        int strokeCount = 0;
+        int last = -1;
+        for (int pos = level.starts[cell]; pos < level.ends[cell]; pos++) {
+            if (filter.test(snapshot.ids[pos])) {
+                count++;
+                strokeCount += snapshot.strokeCenters[pos] ? 1 : 0;
+                last = pos;
+            }
+        }
+
+        if (count > 1) {
+            result.clusters.add(new Cluster(level.latitudes[cell], level.longitudes[cell], count, strokeCount));
+        } else if (count == 1 && inView.test(last)) {
+            result.markers.add(marker(snapshot, last));
+        }
+    }
+
+    private static int countFiltered(Snapshot snapshot, Level level, int cell, LongPredicate filter) {
+        int count = 0;
+        for (int pos = level.starts[cell]; pos < level.ends[cell]; pos++) {
+            if (filter.test(snapshot.ids[pos])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Marker marker(Snapshot snapshot, int pos) {
+        return new Marker(snapshot.ids[pos], snapshot.latitudes[pos], snapshot.longitudes[pos], snapshot.strokeCenters[pos]);
+    }
+
+    private static boolean contains(Snapshot snapshot, int pos, double neLatitude, double neLongitude, double swLatitude, double swLongitude) {
+        double latitude = snapshot.latitudes[pos];
+        double longitude = snapshot.longitudes[pos];
+        return latitude >= swLatitude && latitude <= neLatitude && longitude >= swLongitude && longitude <= neLongitude;
+    }
+
+    private static int cellX(double longitude, int bits) {
+        double x = (longitude + 180.0) / 360.0;
+        return clampCell(x, bits);
+    }
+
+    private static int cellY(double latitude, int bits) {
+        double lat = Math.toRadians(Math.max(-85.05112878, Math.min(85.05112878, latitude)));
+        double y = (1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2;
+        return clampCell(y, bits);
+    }
+
+    private static int clampCell(double value, int bits) {
+        int cells = 1 << bits;
+        return (int) Math.max(0, Math.min(cells - 1, Math.floor(value * cells)));
+    }
+
+    private static long interleave(int x, int y) {
+        return spread(x) | (spread(y) << 1);
+    }
+
+    private static long spread(int value) {
+        long v = value & 0xFFFFFFFFL;
+        v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v << 8)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v << 2)) & 0x3333333333333333L;
+        v = (v | (v << 1)) & 0x5555555555555555L;
+        return v;
+    }
+
+    /**
+     * 한 줌 레벨의 칸 목록 (모턴 코드 오름차순)
+     */
+    private static class Level {
+
+        private final int bits;
+        private final long[] codes;
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] counts;
+        private final int[] strokeCounts;
+        private final double[] latitudes;  // 칸 안 병원들의 중심 위도
+        private final double[] longitudes; // 칸 안 병원들의 중심 경도
+
+        private Level(int bits, int size) {
+            this.bits = bits;
+            this.codes = new long[size];
+            this.starts = new int[size];
+            this.ends = new int[size];
+            this.counts = new int[size];
+            this.strokeCounts = new int[size];
+            this.latitudes = new double[size];
+            this.longitudes = new double[size];
+        }
+
+        static Level ofLeaves(long[] codes, double[] latitudes, double[] longitudes, boolean[] strokeCenters) {
+            int size = 0;
+            for (int i = 0; i < codes.length; i++) {
+                if (i == 0 || codes[i] != codes[i - 1]) size++;
+            }
+
+            Level level = new Level(MAX_ZOOM + CELL_SHIFT, size);
+            int cell = -1;
+            for (int i = 0; i < codes.length; i++) {
+                if (i == 0 || codes[i] != codes[i - 1]) {
+                    cell++;
+                    level.codes[cell] = codes[i];
+                    level.starts[cell] = i;
+                }
+                level.ends[cell] = i + 1;
+                level.counts[cell]++;
+                level.strokeCounts[cell] += strokeCenters[i] ? 1 : 0;
+                level.latitudes[cell] += latitudes[i];
+                level.longitudes[cell] += longitudes[i];
+            }
+            for (int c = 0; c < size; c++) {
+                level.latitudes[c] /= level.counts[c];
+                level.longitudes[c] /= level.counts[c];
+            }
+            return level;
+        }
+
+        static Level ofParent(Level child) {
+            int size = 0;
+            for (int i = 0; i < child.codes.length; i++) {
+                if (i == 0 || (child.codes[i] >>> 2) != (child.codes[i - 1] >>> 2)) size++;
+            }
+
+            Level level = new Level(child.bits - 1, size);
+            int cell = -1;
+            for (int i = 0; i < child.codes.length; i++) {
+                long code = child.codes[i] >>> 2;
+                if (i == 0 || code != level.codes[cell]) {
+                    cell++;
+                    level.codes[cell] = code;
+                    level.starts[cell] = child.starts[i];
+                }
+                int count = child.counts[i];
+                level.ends[cell] = child.ends[i];
+                level.counts[cell] += count;
+                level.strokeCounts[cell] += child.strokeCounts[i];
+                level.latitudes[cell] += child.latitudes[i] * count;
+                level.longitudes[cell] += child.longitudes[i] * count;
+            }
+            for (int c = 0; c < size; c++) {
+                level.latitudes[c] /= level.counts[c];
+                level.longitudes[c] /= level.counts[c];
+            }
+            return level;
+        }
+
+        /**
+         * 화면 영역에 걸치는 칸 번호 목록
+         * - 화면 안 격자 칸 수가 적으면 칸마다 이진 탐색, 많으면 레벨 전체를 한 번 훑음
+         */
+        int[] cellsWithin(double neLatitude, double neLongitude, double swLatitude, double swLongitude) {
+            int minX = cellX(swLongitude, bits);
+            int maxX = cellX(neLongitude, bits);
+            int minY = cellY(neLatitude, bits);
+            int maxY = cellY(swLatitude, bits);
+            if (minX > maxX || minY > maxY) {
+                return new int[0];
+            }
+
+            long gridCells = (long) (maxX - minX + 1) * (maxY - minY + 1);
+            int[] found = new int[(int) Math.min(gridCells, codes.length)];
+            int count = 0;
+
+            if (gridCells <= codes.length) {
+                for (int x = minX; x <= maxX; x++) {
+                    for (int y = minY; y <= maxY; y++) {
+                        int cell = Arrays.binarySearch(codes, interleave(x, y));
+                        if (cell >= 0) found[count++] = cell;
+                    }
+                }
+            } else {
+                for (int cell = 0; cell < codes.length; cell++) {
+                    int x = compact(codes[cell]);
+                    int y = compact(codes[cell] >>> 1);
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) found[count++] = cell;
+                }
+            }
+            return Arrays.copyOf(found, count);
+        }
+
+        private static int compact(long code) {
+            long v = code & 0x5555555555555555L;
+            v = (v | (v >>> 1)) & 0x3333333333333333L;
+            v = (v | (v >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+            v = (v | (v >>> 4)) & 0x00FF00FF00FF00FFL;
+            v = (v | (v >>> 8)) & 0x0000FFFF0000FFFFL;
+            v = (v | (v >>> 16)) & 0x00000000FFFFFFFFL;
+            return (int) v;
+        }
+    }
+
+    private static class Snapshot {
+
+        private final long[] ids;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final boolean[] strokeCenters;
+        private final Level[] levels;
+
+        Snapshot(long[] ids, double[] latitudes, double[] longitudes, boolean[] strokeCenters, Level[] levels) {
+            this.ids = ids;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.strokeCenters = strokeCenters;
+            this.levels = levels;
+        }
+    }
+
+    @Getter
+    public static class ClusterResult {
+
+        private boolean clustered;
+        private final List<Cluster> clusters = new ArrayList<>();
+        private final List<Marker> markers = new ArrayList<>();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Cluster {
+
+        private final double latitude;
+        private final double longitude;
+        private final int count;
+        private final int strokeCenterCount;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Marker {
+
+        private final long hospitalId;
+        private final double latitude;
+        private final double longitude;
+        private final boolean strokeCenter;
+    }
+}
@@ -0,0 +1,13 @@
+package gradude.springVision.domain.hospital.index;
+
+import gradude.springVision.domain.hospital.entity.Hospital;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class HospitalDistance {
+
+    private final Hospital hospital;
+    private final double distance;
+}
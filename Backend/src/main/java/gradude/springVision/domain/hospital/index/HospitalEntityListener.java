@@ -0,0 +1,25 @@
+package gradude.springVision.domain.hospital.index;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 병원 엔티티 변경 시 인덱스 갱신 이벤트 발행
+ */
+@RequiredArgsConstructor
+@Component
+public class HospitalEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object hospital) {
+        eventPublisher.publishEvent(new HospitalChangedEvent());
+    }
+}
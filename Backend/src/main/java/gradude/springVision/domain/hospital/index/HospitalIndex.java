@@ -0,0 +1,14 @@
+package gradude.springVision.domain.hospital.index;
+
+import gradude.springVision.domain.hospital.entity.Hospital;
+
+import java.util.List;
+
+/**
+ * 병원 테이블 전체를 메모리에 올려두는 인덱스
+ * - HospitalIndexManager 가 시작 시점과 병원 데이터 변경 시점에 rebuild 호출
+ */
+public interface HospitalIndex {
+
+    void rebuild(List<Hospital> hospitals);
+}
@@ -0,0 +1,80 @@
+package gradude.springVision.domain.hospital.index;
+
+import gradude.springVision.domain.hospital.entity.Hospital;
+import gradude.springVision.domain.hospital.repository.HospitalRepository;
+import gradude.springVision.domain.hospital.repository.HospitalVersion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 병원 메모리 인덱스 적재 및 갱신
+ * - 애플리케이션 시작 시 전체 적재
+ * - 애플리케이션을 통한 병원 변경: 커밋 후 dirty 표시 -> 다음 주기에 재적재
+ * - DB 직접 변경(데이터 import 등): 주기적으로 행 수/최대 id/최근 수정 시각 비교 후 재적재
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class HospitalIndexManager {
+
+    private final HospitalRepository hospitalRepository;
+    private final List<HospitalIndex> hospitalIndexes;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private volatile String loadedVersion;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHospitalChanged(HospitalChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${hospital.index.dirty-check-interval:5000}")
+    public void rebuildIfDirty() {
+        if (dirty.getAndSet(false)) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hospital.index.refresh-interval:300000}", initialDelayString = "${hospital.index.refresh-interval:300000}")
+    public void rebuildIfStale() {
+        if (!Objects.equals(loadedVersion, currentVersion())) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        try {
+            String version = currentVersion();
+            List<Hospital> hospitals = hospitalRepository.findAll();
+            hospitalIndexes.forEach(index -> index.rebuild(hospitals));
+            loadedVersion = version;
+            log.info("병원 인덱스 적재 완료: {}건", hospitals.size());
+
+            long invalidOpeningHours = hospitals.stream().filter(hospital -> hospital.getOpeningSchedule().hasInvalidDays()).count();
+            if (invalidOpeningHours > 0) {
+                log.warn("운영 시간 형식 오류 병원 {}건 (해당 요일은 운영 안 함으로 처리)", invalidOpeningHours);
+            }
+        } catch (Exception e) {
+            log.error("병원 인덱스 적재 실패", e);
+        }
+    }
+
+    private String currentVersion() {
+        HospitalVersion version = hospitalRepository.findVersion();
+        return version.getCount() + ":" + version.getMaxId() + ":" + version.getLastUpdatedAt();
+    }
+}
@@ -0,0 +1,343 @@
+package gradude.springVision.domain.hospital.index;
+
+import gradude.springVision.domain.hospital.dto.request.HospitalSearchCursor;
+import gradude.springVision.domain.hospital.entity.Hospital;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 병원 이름 n-gram 역색인
+ * - 이름의 글자(1-gram) / 연속 두 글자(2-gram) 별로 병원 번호 목록(오름차순)을 저장
+ * - 검색어의 n-gram 목록을 짧은 것부터 교집합한 뒤, 후보만 실제 부분 문자열 비교 및 거리 계산
+ * - 자동완성은 검색어 전체를 자모 단위로 비교: 앞 글자는 초성만 입력해도 일치 (ㅅㅇ -> 서울), 마지막 글자는 조합 중인 글자 (ㅂ, 벼, 댑 -> 병원)
+ * - 자동완성 후보는 이름을 글자별 초성으로 바꾼 문자열(서울병원 -> ㅅㅇㅂㅇ)의 n-gram 으로도 좁힘 (초성만 입력한 글자, 조합 중인 글자 포함)
+ */
+@Component
+public class HospitalNameIndex implements HospitalIndex {
+
+    private static final long BIGRAM = 1L << 32;
+    private static final long INITIAL = 1L << 33; // 초성 문자열의 n-gram
+
+    // 검색 결과 정렬 순서 (거리, id)
+    private static final Comparator<HospitalDistance> ORDER = Comparator.comparingDouble(HospitalDistance::getDistance)
+            .thenComparing(match -> match.getHospital().getId());
+
+    private volatile Snapshot snapshot;
+
+    @Override
+    public void rebuild(List<Hospital> hospitals) {
+        Hospital[] entries = hospitals.toArray(new Hospital[0]);
+        String[] names = new String[entries.length];
+        Map<Long, int[]> postings = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+
+        for (int i = 0; i < entries.length; i++) {
+            names[i] = normalize(entries[i].getName());
+            for (long gram : grams(names[i], names[i].length(), 0)) {
+                addPosting(postings, sizes, gram, i);
+            }
+            String initials = initials(names[i]);
+            for (long gram : grams(initials, initials.length(), INITIAL)) {
+                addPosting(postings, sizes, gram, i);
+            }
+        }
+
+        postings.replaceAll((gram, list) -> Arrays.copyOf(list, sizes.get(gram)));
+        this.snapshot = new Snapshot(entries, names, postings);
+    }
+
+    private static void addPosting(Map<Long, int[]> postings, Map<Long, Integer> sizes, long gram, int index) {
+        int[] list = postings.get(gram);
+        int size = sizes.getOrDefault(gram, 0);
+        if (list == null) {
+            list = new int[4];
+        } else if (list[size - 1] == index) {
+            return; // 한 이름 안에서 반복되는 n-gram
+        } else if (size == list.length) {
+            list = Arrays.copyOf(list, size * 2);
+        }
+        list[size] = index;
+        postings.put(gram, list);
+        sizes.put(gram, size + 1);
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * 이름에 keyword 가 포함된 병원 전체를 가까운 순으로 조회 (대소문자 무시)
+     */
+    public List<HospitalDistance> search(String keyword, double latitude, double longitude) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return List.of();
+        }
+
+        String query = normalize(keyword);
+        List<HospitalDistance> result = new ArrayList<>();
+        for (int index : current.candidates(queryGrams(query, query.length(), 0))) {
+            if (current.names[index].contains(query)) {
+                result.add(distance(current.hospitals[index], latitude, longitude));
+            }
+        }
+        return sortByDistance(result);
+    }
+
+    /**
+     * 이름에 keyword 가 포함된 병원 중 커서 뒤에 오는 병원을 가까운 순으로 최대 limit 개 조회
+     * - 전체 정렬 없이 크기 limit 의 힙으로 선택하므로 몇 번째 페이지든 비용이 같음
+     */
+    public List<HospitalDistance> searchAfter(String keyword, double latitude, double longitude,
+                                              HospitalSearchCursor after, int limit) {
+        Snapshot current = snapshot;
+        if (current == null || limit <= 0) {
+            return List.of();
+        }
+
+        String query = normalize(keyword);
+        PriorityQueue<HospitalDistance> top = new PriorityQueue<>(limit + 1, ORDER.reversed());
+        for (int index : current.candidates(queryGrams(query, query.length(), 0))) {
+            if (!current.names[index].contains(query)) {
+                continue;
+            }
+            HospitalDistance match = distance(current.hospitals[index], latitude, longitude);
+            if (!after.isBefore(match.getDistance(), match.getHospital().getId())) {
+                continue;
+            }
+            top.offer(match);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        return sortByDistance(new ArrayList<>(top));
+    }
+
+    /**
+     * 입력 중인 keyword 로 시작하는 부분이 이름에 있는 병원을 가까운 순으로 최대 limit 개 조회
+     */
+    public List<HospitalDistance> searchPrefix(String keyword, double latitude, double longitude, int limit) {
+        Snapshot current = snapshot;
+        if (current == null || limit <= 0) {
+            return List.of();
+        }
+
+        String query = normalize(keyword);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        // 초성만 입력한 글자 전까지의 완성된 글자는 글자 n-gram 으로, 그 뒤(마지막 완성 글자부터)는 초성 n-gram 으로 후보를 좁힘
+        // (마지막 글자는 조합 중이라도 초성은 확정: 벼, 댑 -> ㅂ, ㄷ)
+        int complete = completeLength(query);
+        String rest = initials(query.substring(Math.max(0, complete - 1)));
+        long[] grams = concat(queryGrams(query, complete, 0), queryGrams(rest, rest.length(), INITIAL));
+
+        PriorityQueue<HospitalDistance> top = new PriorityQueue<>(limit + 1, ORDER.reversed());
+        for (int index : current.candidates(grams)) {
+            if (matchesPrefix(current.names[index], query)) {
+                top.offer(distance(current.hospitals[index], latitude, longitude));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        return sortByDistance(new ArrayList<>(top));
+    }
+
+    /**
+     * 검색어 앞에서부터 초성만 입력한 글자 전까지의 길이 (마지막 글자 제외)
+     */
+    private static int completeLength(String query) {
+        int length = 0;
+        while (length < query.length() - 1 && !Hangul.isConsonant(query.charAt(length))) {
+            length++;
+        }
+        return length;
+    }
+
+    private static boolean matchesPrefix(String name, String query) {
+        int last = query.length() - 1;
+        char typed = query.charAt(last);
+
+        for (int from = 0; from + last < name.length(); from++) {
+            int at = from + last;
+            if (!matchesAt(name, from, query, last)) {
+                continue;
+            }
+            char next = at + 1 < name.length() ? name.charAt(at + 1) : 0;
+            if (Hangul.isTypingPrefix(typed, name.charAt(at), next)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAt(String name, int from, String query, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!Hangul.matches(query.charAt(i), name.charAt(from + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static HospitalDistance distance(Hospital hospital, double latitude, double longitude) {
+        return new HospitalDistance(hospital, GeoKdTree.distanceKm(latitude, longitude, hospital.getLatitude(), hospital.getLongitude()));
+    }
+
+    private static List<HospitalDistance> sortByDistance(List<HospitalDistance> result) {
+        result.sort(ORDER);
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 글자별 초성 문자열 (한글 음절이 아닌 글자는 그대로, 초성만 입력한 글자는 자기 자신)
+     */
+    private static String initials(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (Hangul.isSyllable(chars[i])) {
+                chars[i] = Hangul.choseong(chars[i]);
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * text 앞 length 글자의 1-gram / 2-gram 목록 (색인용, kind: 글자 0 / 초성 INITIAL)
+     */
+    private static long[] grams(String text, int length, long kind) {
+        if (length <= 0) {
+            return new long[0];
+        }
+
+        long[] grams = new long[length * 2 - 1];
+        for (int i = 0; i < length; i++) {
+            grams[i] = kind | text.charAt(i);
+        }
+        for (int i = 0; i + 1 < length; i++) {
+            grams[length + i] = bigram(kind, text.charAt(i), text.charAt(i + 1));
+        }
+        return grams;
+    }
+
+    /**
+     * 검색어 앞 length 글자를 찾는 데 필요한 n-gram (2글자 이상이면 2-gram 만, 1-gram 은 2-gram 에 포함됨)
+     */
+    private static long[] queryGrams(String text, int length, long kind) {
+        if (length <= 0) {
+            return new long[0];
+        }
+        if (length == 1) {
+            return new long[]{kind | text.charAt(0)};
+        }
+
+        long[] grams = new long[length - 1];
+        for (int i = 0; i + 1 < length; i++) {
+            grams[i] = bigram(kind, text.charAt(i), text.charAt(i + 1));
+        }
+        return grams;
+    }
+
+    private static long bigram(long kind, char first, char second) {
+        return kind | BIGRAM | ((long) first << 16) | second;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static class Snapshot {
+
+        private final Hospital[] hospitals;
+        private final String[] names;
+        private final Map<Long, int[]> postings;
+
+        Snapshot(Hospital[] hospitals, String[] names, Map<Long, int[]> postings) {
+            this.hospitals = hospitals;
+            this.names = names;
+            this.postings = postings;
+        }
+
+        /**
+         * n-gram 을 모두 포함하는 병원 번호 (grams 가 비어 있으면 전체)
+         */
+        int[] candidates(long[] grams) {
+            if (grams.length == 0) {
+                int[] all = new int[hospitals.length];
+                Arrays.setAll(all, i -> i);
+                return all;
+            }
+
+            List<int[]> lists = new ArrayList<>();
+            for (long gram : grams) {
+                int[] list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.length));
+
+            int[] result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = intersect(result, lists.get(i));
+            }
+            return result;
+        }
+
+        /**
+         * a 가 훨씬 짧으면 b 에서 이진 탐색 (긴 목록 전체를 훑지 않음)
+         */
+        private static int[] intersect(int[] a, int[] b) {
+            if (a.length * 16 < b.length) {
+                int[] result = new int[a.length];
+                int count = 0;
+                int from = 0;
+                for (int value : a) {
+                    int at = Arrays.binarySearch(b, from, b.length, value);
+                    if (at >= 0) {
+                        result[count++] = value;
+                        from = at + 1;
+                    } else {
+                        from = -at - 1;
+                    }
+                }
+                return Arrays.copyOf(result, count);
+            }
+
+            int[] result = new int[Math.min(a.length, b.length)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[count++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
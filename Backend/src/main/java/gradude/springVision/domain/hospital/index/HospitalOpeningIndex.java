@@ -0,0 +1,139 @@
+package gradude.springVision.domain.hospital.index;
+
+import gradude.springVision.domain.hospital.entity.Hospital;
+import gradude.springVision.domain.hospital.entity.OpeningSchedule;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 병원 운영 시간 인덱스
+ * - 전체 병원의 주간 운영 구간을 id 순으로 하나의 int 배열에 이어 붙여 저장
+ * - 특정 시각에 운영 중인 병원 목록을 한 번의 순회로 계산하고, 같은 분(minute) 안의 재조회는 캐시 사용
+ */
+@Component
+public class HospitalOpeningIndex implements HospitalIndex {
+
+    private volatile Snapshot snapshot;
+    private volatile OpenHospitals cached;
+
+    @Override
+    public void rebuild(List<Hospital> hospitals) {
+        Hospital[] sorted = hospitals.toArray(new Hospital[0]);
+        Arrays.sort(sorted, Comparator.comparing(Hospital::getId));
+
+        int n = sorted.length;
+        long[] ids = new long[n];
+        boolean[] alwaysOpen = new boolean[n];
+        int[] offsets = new int[n + 1];
+        int[][] starts = new int[n][];
+        int[][] ends = new int[n][];
+
+        for (int i = 0; i < n; i++) {
+            Hospital hospital = sorted[i];
+            OpeningSchedule schedule = hospital.getOpeningSchedule();
+            ids[i] = hospital.getId();
+            alwaysOpen[i] = hospital.isEmergency();
+            starts[i] = schedule.getStarts();
+            ends[i] = schedule.getEnds();
+            offsets[i + 1] = offsets[i] + starts[i].length;
+        }
+
+        int[] intervalStarts = new int[offsets[n]];
+        int[] intervalEnds = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(starts[i], 0, intervalStarts, offsets[i], starts[i].length);
+            System.arraycopy(ends[i], 0, intervalEnds, offsets[i], ends[i].length);
+        }
+
+        this.snapshot = new Snapshot(ids, alwaysOpen, offsets, intervalStarts, intervalEnds);
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * 특정 시각에 운영 중인 병원 목록 (응급실 보유 병원은 항상 포함)
+     */
+    public OpenHospitals findOpenAt(LocalDateTime dateTime) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return new OpenHospitals(null, -1, new long[0]);
+        }
+
+        int minute = OpeningSchedule.minuteOfWeek(dateTime);
+        OpenHospitals last = cached;
+        if (last != null && last.snapshot == current && last.minuteOfWeek == minute) {
+            return last;
+        }
+
+        long[] open = new long[current.ids.length];
+        int count = 0;
+        for (int i = 0; i < current.ids.length; i++) {
+            if (current.alwaysOpen[i] || current.isOpen(i, minute)) {
+                open[count++] = current.ids[i];
+            }
+        }
+
+        OpenHospitals result = new OpenHospitals(current, minute, Arrays.copyOf(open, count));
+        cached = result;
+        return result;
+    }
+
+    private static class Snapshot {
+
+        private final long[] ids;
+        private final boolean[] alwaysOpen;
+        private final int[] offsets;
+        private final int[] starts;
+        private final int[] ends;
+
+        Snapshot(long[] ids, boolean[] alwaysOpen, int[] offsets, int[] starts, int[] ends) {
+            this.ids = ids;
+            this.alwaysOpen = alwaysOpen;
+            this.offsets = offsets;
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        boolean isOpen(int hospital, int minute) {
+            for (int i = offsets[hospital]; i < offsets[hospital + 1]; i++) {
+                if (minute < starts[i]) {
+                    return false;
+                }
+                if (minute < ends[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 운영 중인 병원 id 목록 (오름차순)
+     */
+    public static class OpenHospitals {
+
+        private final Snapshot snapshot;
+        private final int minuteOfWeek;
+        private final long[] ids;
+
+        private OpenHospitals(Snapshot snapshot, int minuteOfWeek, long[] ids) {
+            this.snapshot = snapshot;
+            this.minuteOfWeek = minuteOfWeek;
+            this.ids = ids;
+        }
+
+        public boolean contains(long hospitalId) {
+            return Arrays.binarySearch(ids, hospitalId) >= 0;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package gradude.springVision.domain.hospital.index;
+
+import gradude.springVision.domain.hospital.entity.Hospital;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 병원 좌표 KD-tree 인덱스
+ * - 가까운 병원 k개 조회를 DB 조회 없이 메모리에서 처리
+ * - rebuild 시 새 스냅샷을 만들어 교체하므로 조회 중인 요청은 이전 스냅샷을 그대로 사용
+ */
+@Component
+public class HospitalSpatialIndex implements HospitalIndex {
+
+    private volatile Snapshot snapshot;
+
+    @Override
+    public void rebuild(List<Hospital> hospitals) {
+        Hospital[] entries = hospitals.toArray(new Hospital[0]);
+        double[] latitudes = new double[entries.length];
+        double[] longitudes = new double[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            latitudes[i] = entries[i].getLatitude();
+            longitudes[i] = entries[i].getLongitude();
+        }
+
+        this.snapshot = new Snapshot(entries, GeoKdTree.build(latitudes, longitudes));
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * 기준 좌표로부터 maxDistanceKm 이내의 병원을 가까운 순으로 최대 k개 조회
+     */
+    public List<HospitalDistance> findNearest(double latitude, double longitude, int k, double maxDistanceKm) {
+        return findNearest(latitude, longitude, k, maxDistanceKm, null);
+    }
+
+    /**
+     * filter 조건을 만족하는 병원 중 가까운 순으로 최대 k개 조회 (filter == null 이면 전체)
+     */
+    public List<HospitalDistance> findNearest(double latitude, double longitude, int k, double maxDistanceKm, Predicate<Hospital> filter) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return List.of();
+        }
+
+        int[] nearest = current.tree.nearest(latitude, longitude, k, maxDistanceKm,
+                filter == null ? null : index -> filter.test(current.hospitals[index]));
+
+        List<HospitalDistance> result = new ArrayList<>(nearest.length);
+        for (int index : nearest) {
+            Hospital hospital = current.hospitals[index];
+            double distance = GeoKdTree.distanceKm(latitude, longitude, hospital.getLatitude(), hospital.getLongitude());
+            result.add(new HospitalDistance(hospital, distance));
+        }
+        return result;
+    }
+
+    private static class Snapshot {
+
+        private final Hospital[] hospitals;
+        private final GeoKdTree tree;
+
+        Snapshot(Hospital[] hospitals, GeoKdTree tree) {
+            this.hospitals = hospitals;
+            this.tree = tree;
+        }
+    }
+}
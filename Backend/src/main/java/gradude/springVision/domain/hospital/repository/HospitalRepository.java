@@ -9,53 +9,129 @@ import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
+/**
+ * location: POINT SRID 4326 (위도, 경도 순) + SPATIAL INDEX (db/migration/V1__hospital_location.sql)
+ * - 거리는 ST_Distance_Sphere 에 반지름 6371000m 를 명시해 메모리 인덱스(GeoKdTree.distanceKm)와 같은 구에서 계산
+ *   (기본값 6370986m 를 쓰면 인덱스 적재 전후로 거리와 커서 순서가 달라짐)
+ */
 public interface HospitalRepository extends JpaRepository<Hospital, Long> {
 
+    double KM_PER_LATITUDE_DEGREE = 111.045;
+
     @Query(value = """
     SELECT h.*,
-        (
-            6371 * acos(
-                cos(radians(:lat)) * cos(radians(h.latitude)) *
-                cos(radians(h.longitude) - radians(:lng)) +
-                sin(radians(:lat)) * sin(radians(h.latitude))
-            )
-        ) AS distance
+        ST_Distance_Sphere(h.location, ST_SRID(POINT(:lat, :lng), 4326), 6371000) / 1000 AS distance
     FROM hospital h
     WHERE h.name LIKE CONCAT('%', :keyword, '%')
     ORDER BY distance
     """, nativeQuery = true)
     Page<Hospital> findByNameContainingOrderByDistance(@Param("keyword") String keyword, @Param("lat") double lat, @Param("lng") double lng, Pageable pageable);
 
+    /**
+     * 커서 기반 이름 검색 (id, name, latitude, longitude, distance)
+     * - (distance, id) 가 커서보다 뒤인 병원부터 limit 개, COUNT 쿼리 없음
+     */
     @Query(value = """
-    SELECT 
+    SELECT t.id, t.name, t.latitude, t.longitude, t.distance
+    FROM (
+        SELECT h.id, h.name, h.latitude, h.longitude,
+            ST_Distance_Sphere(h.location, ST_SRID(POINT(:lat, :lng), 4326), 6371000) / 1000 AS distance
+        FROM hospital h
+        WHERE h.name LIKE CONCAT('%', :keyword, '%')
+    ) t
+    WHERE t.distance > :cursorDistance OR (t.distance = :cursorDistance AND t.id > :cursorId)
+    ORDER BY t.distance, t.id
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<Object[]> findByNameContainingAfterCursor(@Param("keyword") String keyword, @Param("lat") double lat, @Param("lng") double lng,
+                                                   @Param("cursorDistance") double cursorDistance, @Param("cursorId") long cursorId,
+                                                   @Param("limit") int limit);
+
+    /**
+     * 반경 검색
+     * - 반경을 감싸는 사각형으로 SPATIAL INDEX 후보를 좁힌 뒤 구면 거리로 최종 필터링
+     */
+    default List<Object[]> findHospitalsWithinRadius(double lat, double lng, double radius) {
+        double latDelta = radius / KM_PER_LATITUDE_DEGREE;
+        double lngDelta = radius / (KM_PER_LATITUDE_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+
+        return findHospitalsWithinRadius(lat, lng, radius * 1000,
+                Math.min(lat + latDelta, 90.0), Math.min(lng + lngDelta, 180.0),
+                Math.max(lat - latDelta, -90.0), Math.max(lng - lngDelta, -180.0));
+    }
+
+    @Query(value = """
+    SELECT
         h.id,
         h.name,
         h.latitude,
         h.longitude,
-        (
-            6371 * acos(
-                cos(radians(:lat)) * cos(radians(h.latitude)) *
-                cos(radians(h.longitude) - radians(:lng)) +
-                sin(radians(:lat)) * sin(radians(h.latitude))
-            )
-        ) AS distance
+        ST_Distance_Sphere(h.location, ST_SRID(POINT(:lat, :lng), 4326), 6371000) / 1000 AS distance
     FROM hospital h
-    WHERE (
-        6371 * acos(
-            cos(radians(:lat)) * cos(radians(h.latitude)) *
-            cos(radians(h.longitude) - radians(:lng)) +
-            sin(radians(:lat)) * sin(radians(h.latitude))
-        )
-    ) <= :radius
+    WHERE MBRContains(
+        ST_GeomFromText(CONCAT('POLYGON((',
+            :swLat, ' ', :swLng, ',', :neLat, ' ', :swLng, ',', :neLat, ' ', :neLng, ',',
+            :swLat, ' ', :neLng, ',', :swLat, ' ', :swLng, '))'), 4326),
+        h.location)
+      AND ST_Distance_Sphere(h.location, ST_SRID(POINT(:lat, :lng), 4326), 6371000) <= :radiusMeters
     ORDER BY distance
     """, nativeQuery = true)
-    List<Object[]> findHospitalsWithinRadius(@Param("lat") double lat, @Param("lng") double lng, @Param("radius") double radius);
+    List<Object[]> findHospitalsWithinRadius(@Param("lat") double lat, @Param("lng") double lng, @Param("radiusMeters") double radiusMeters,
+                                             @Param("neLat") double neLat, @Param("neLng") double neLng, @Param("swLat") double swLat, @Param("swLng") double swLng);
+
+    /**
+     * 반경 안에서 가까운 병원 limit 개를 엔티티 그대로 조회 (id 별 재조회 없이 상세 응답 구성)
+     */
+    default List<Hospital> findNearestHospitalsWithinRadius(double lat, double lng, double radius, int limit) {
+        double latDelta = radius / KM_PER_LATITUDE_DEGREE;
+        double lngDelta = radius / (KM_PER_LATITUDE_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+
+        return findNearestHospitalsWithinRadius(lat, lng, radius * 1000,
+                Math.min(lat + latDelta, 90.0), Math.min(lng + lngDelta, 180.0),
+                Math.max(lat - latDelta, -90.0), Math.max(lng - lngDelta, -180.0), limit);
+    }
 
     @Query(value = """
-    SELECT h.id, h.latitude, h.longitude, h.stroke_center    
+    SELECT h.*
     FROM hospital h
-    WHERE h.latitude BETWEEN :swLat AND :neLat
-      AND h.longitude BETWEEN :swLng AND :neLng
+    WHERE MBRContains(
+        ST_GeomFromText(CONCAT('POLYGON((',
+            :swLat, ' ', :swLng, ',', :neLat, ' ', :swLng, ',', :neLat, ' ', :neLng, ',',
+            :swLat, ' ', :neLng, ',', :swLat, ' ', :swLng, '))'), 4326),
+        h.location)
+      AND ST_Distance_Sphere(h.location, ST_SRID(POINT(:lat, :lng), 4326), 6371000) <= :radiusMeters
+    ORDER BY ST_Distance_Sphere(h.location, ST_SRID(POINT(:lat, :lng), 4326), 6371000), h.id
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<Hospital> findNearestHospitalsWithinRadius(@Param("lat") double lat, @Param("lng") double lng, @Param("radiusMeters") double radiusMeters,
+                                                    @Param("neLat") double neLat, @Param("neLng") double neLng, @Param("swLat") double swLat, @Param("swLng") double swLng,
+                                                    @Param("limit") int limit);
+
+    @Query(value = """
+    SELECT h.id, h.latitude, h.longitude, h.stroke_center
+    FROM hospital h
+    WHERE MBRContains(
+        ST_GeomFromText(CONCAT('POLYGON((',
+            :swLat, ' ', :swLng, ',', :neLat, ' ', :swLng, ',', :neLat, ' ', :neLng, ',',
+            :swLat, ' ', :neLng, ',', :swLat, ' ', :swLng, '))'), 4326),
+        h.location)
     """, nativeQuery = true)
     List<Object[]> findHospitalsWithinBounds(@Param("neLat") double neLat, @Param("neLng") double neLng, @Param("swLat") double swLat, @Param("swLng") double swLng);
+
+    /**
+     * 화면 영역 안 병원 엔티티 조회 (운영 시간 필터가 필요한 인덱스 적재 전 지도 조회용)
+     */
+    @Query(value = """
+    SELECT h.*
+    FROM hospital h
+    WHERE MBRContains(
+        ST_GeomFromText(CONCAT('POLYGON((',
+            :swLat, ' ', :swLng, ',', :neLat, ' ', :swLng, ',', :neLat, ' ', :neLng, ',',
+            :swLat, ' ', :neLng, ',', :swLat, ' ', :swLng, '))'), 4326),
+        h.location)
+    """, nativeQuery = true)
+    List<Hospital> findAllWithinBounds(@Param("neLat") double neLat, @Param("neLng") double neLng, @Param("swLat") double swLat, @Param("swLng") double swLng);
+
+    @Query("SELECT COUNT(h) AS count, MAX(h.id) AS maxId, MAX(h.updatedAt) AS lastUpdatedAt FROM Hospital h")
+    HospitalVersion findVersion();
 }
@@ -0,0 +1,15 @@
+package gradude.springVision.domain.hospital.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 병원 테이블 변경 여부 확인용 요약 (행 수, 최대 id, 최근 수정 시각)
+ */
+public interface HospitalVersion {
+
+    long getCount();
+
+    Long getMaxId();
+
+    LocalDateTime getLastUpdatedAt();
+}
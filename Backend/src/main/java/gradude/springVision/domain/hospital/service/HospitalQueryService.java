@@ -1,27 +1,52 @@
 package gradude.springVision.domain.hospital.service;
 
+import gradude.springVision.domain.hospital.dto.request.HospitalSearchCursor;
+import gradude.springVision.domain.hospital.dto.response.HospitalClusterResponseDTO;
 import gradude.springVision.domain.hospital.dto.response.HospitalDetailResponseDTO;
+import gradude.springVision.domain.hospital.dto.response.HospitalMapResponseDTO;
 import gradude.springVision.domain.hospital.dto.response.HospitalMarkerResponseDTO;
 import gradude.springVision.domain.hospital.dto.response.HospitalSearchResponseDTO;
 import gradude.springVision.domain.hospital.entity.Hospital;
+import gradude.springVision.domain.hospital.index.GeoKdTree;
+import gradude.springVision.domain.hospital.index.HospitalClusterIndex;
+import gradude.springVision.domain.hospital.index.HospitalDistance;
+import gradude.springVision.domain.hospital.index.HospitalNameIndex;
+import gradude.springVision.domain.hospital.index.HospitalOpeningIndex;
+import gradude.springVision.domain.hospital.index.HospitalSpatialIndex;
 import gradude.springVision.domain.hospital.repository.HospitalRepository;
 import gradude.springVision.global.common.response.ErrorCode;
 import gradude.springVision.global.common.response.PageResponseDTO;
 import gradude.springVision.global.common.response.exception.GeneralException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Predicate;
 
 @RequiredArgsConstructor
 @Service
 public class HospitalQueryService {
 
     private final HospitalRepository hospitalRepository;
+    private final HospitalSpatialIndex hospitalSpatialIndex;
+    private final HospitalClusterIndex hospitalClusterIndex;
+    private final HospitalOpeningIndex hospitalOpeningIndex;
+    private final HospitalNameIndex hospitalNameIndex;
 
-    private final double EARTH_RADIUS = 6371.0;
+    @Value("${hospital.cluster.threshold:200}")
+    private int clusterThreshold;
+
+    private static final int NEAREST_HOSPITAL_COUNT = 6;
+    private static final double NEAREST_MAX_RADIUS = 100.0;
+    private static final int OPEN_NOW_CANDIDATE_COUNT = 300;
+    private static final int AUTOCOMPLETE_MAX_SIZE = 50;
+    private static final int CURSOR_SEARCH_MAX_SIZE = 50;
 
     /**
      * 병원 지도 마커 좌표 리스트 조회
@@ -41,10 +66,79 @@ public class HospitalQueryService {
                 .toList();
     }
 
+    private List<HospitalMarkerResponseDTO> getOpenHospitalMarkers(double neLatitude, double neLongitude, double swLatitude, double swLongitude) {
+        LocalDateTime now = LocalDateTime.now();
+        return hospitalRepository.findAllWithinBounds(neLatitude, neLongitude, swLatitude, swLongitude).stream()
+                .filter(hospital -> hospital.isOpenAt(now))
+                .map(hospital -> HospitalMarkerResponseDTO.of(hospital.getId(), hospital.getLatitude(), hospital.getLongitude(), hospital.isStrokeCenter()))
+                .toList();
+    }
+
+    /**
+     * 병원 지도 마커/클러스터 조회
+     * - 화면 안 병원 수가 clusterThreshold 이하이면 개별 마커, 초과하면 줌 레벨별로 미리 계산된 클러스터 반환
+     * - openNow: 현재 운영 중인 병원만 포함 (인덱스 적재 전에는 화면 안 병원 엔티티를 조회해 개별 마커로)
+     */
+    public HospitalMapResponseDTO getHospitalMap(double neLatitude, double neLongitude, double swLatitude, double swLongitude, int zoom, boolean openNow) {
+        if (!hospitalClusterIndex.isReady() || (openNow && !hospitalOpeningIndex.isReady())) {
+            List<HospitalMarkerResponseDTO> markers = openNow
+                    ? getOpenHospitalMarkers(neLatitude, neLongitude, swLatitude, swLongitude)
+                    : getHospitalMarkers(neLatitude, neLongitude, swLatitude, swLongitude);
+            return HospitalMapResponseDTO.of(false, List.of(), markers);
+        }
+
+        HospitalOpeningIndex.OpenHospitals openHospitals = openNow ? hospitalOpeningIndex.findOpenAt(LocalDateTime.now()) : null;
+        HospitalClusterIndex.ClusterResult result = hospitalClusterIndex.findClusters(neLatitude, neLongitude, swLatitude, swLongitude, zoom, clusterThreshold,
+                openHospitals == null ? null : openHospitals::contains);
+
+        List<HospitalClusterResponseDTO> clusters = result.getClusters().stream()
+                .map(cluster -> HospitalClusterResponseDTO.of(cluster.getLatitude(), cluster.getLongitude(), cluster.getCount(), cluster.getStrokeCenterCount()))
+                .toList();
+        List<HospitalMarkerResponseDTO> markers = result.getMarkers().stream()
+                .map(marker -> HospitalMarkerResponseDTO.of(marker.getHospitalId(), marker.getLatitude(), marker.getLongitude(), marker.isStrokeCenter()))
+                .toList();
+
+        return HospitalMapResponseDTO.of(result.isClustered(), clusters, markers);
+    }
+
     /**
      * 현위치로부터 가까운 병원 (6개) 가까운 순 정렬
+     * - 메모리 KD-tree 인덱스로 조회, 인덱스 적재 전에는 DB 반경 검색
      */
     public List<HospitalSearchResponseDTO> getNearestHospitals(double latitude, double longitude) {
+        return getNearestHospitals(latitude, longitude, false);
+    }
+
+    /**
+     * 현위치로부터 가까운 병원 (6개) 가까운 순 정렬
+     * - openNow: 현재 운영 중인 병원만 포함 (운영 시간 인덱스 적재 전에는 병원별 운영 구간으로 판단)
+     */
+    public List<HospitalSearchResponseDTO> getNearestHospitals(double latitude, double longitude, boolean openNow) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!hospitalSpatialIndex.isReady()) {
+            return openNow
+                    ? getNearestOpenHospitalsFromDatabase(latitude, longitude, now)
+                    : getNearestHospitalsFromDatabase(latitude, longitude);
+        }
+
+        Predicate<Hospital> filter = null;
+        if (openNow && hospitalOpeningIndex.isReady()) {
+            HospitalOpeningIndex.OpenHospitals openHospitals = hospitalOpeningIndex.findOpenAt(now);
+            filter = hospital -> openHospitals.contains(hospital.getId());
+        } else if (openNow) {
+            filter = hospital -> hospital.isOpenAt(now);
+        }
+
+        return hospitalSpatialIndex.findNearest(latitude, longitude, NEAREST_HOSPITAL_COUNT, NEAREST_MAX_RADIUS, filter).stream()
+                .map(nearest -> {
+                    Hospital hospital = nearest.getHospital();
+                    return HospitalSearchResponseDTO.ofNearest(hospital.getId(), hospital.getName(),
+                            hospital.getLatitude(), hospital.getLongitude(), nearest.getDistance());
+                })
+                .toList();
+    }
+
+    private List<HospitalSearchResponseDTO> getNearestHospitalsFromDatabase(double latitude, double longitude) {
         final double[] radiusSteps = {10.0, 30.0, 50.0, 70.0, 100.0};
 
         Map<Long, HospitalSearchResponseDTO> hospitalMap = new HashMap<>();
@@ -64,23 +158,90 @@ public class HospitalQueryService {
                 hospitalMap.put(id, HospitalSearchResponseDTO.ofNearest(id, name, lat, lng, distance));
             }
 
-            if (hospitalMap.size() >= 6) break;
+            if (hospitalMap.size() >= NEAREST_HOSPITAL_COUNT) break;
         }
 
         return hospitalMap.values().stream()
                 .sorted(Comparator.comparingDouble(HospitalSearchResponseDTO::getDistance))
-                .limit(6)
+                .limit(NEAREST_HOSPITAL_COUNT)
+                .toList();
+    }
+
+    /**
+     * 인덱스 적재 전 운영 중인 병원 조회
+     * - 운영 시간은 SQL 로 거를 수 없으므로 반경별 가까운 후보 OPEN_NOW_CANDIDATE_COUNT 개를 엔티티로 조회해 운영 여부 확인
+     */
+    private List<HospitalSearchResponseDTO> getNearestOpenHospitalsFromDatabase(double latitude, double longitude, LocalDateTime now) {
+        final double[] radiusSteps = {10.0, 30.0, 50.0, 70.0, 100.0};
+
+        List<Hospital> hospitals = List.of();
+        for (double radius : radiusSteps) {
+            hospitals = hospitalRepository.findNearestHospitalsWithinRadius(latitude, longitude, radius, OPEN_NOW_CANDIDATE_COUNT).stream()
+                    .filter(hospital -> hospital.isOpenAt(now))
+                    .limit(NEAREST_HOSPITAL_COUNT)
+                    .toList();
+            if (hospitals.size() >= NEAREST_HOSPITAL_COUNT) break;
+        }
+
+        return hospitals.stream()
+                .map(hospital -> HospitalSearchResponseDTO.ofNearest(hospital.getId(), hospital.getName(), hospital.getLatitude(), hospital.getLongitude(),
+                        calculateDistance(latitude, longitude, hospital.getLatitude(), hospital.getLongitude())))
+                .toList();
+    }
+
+    /**
+     * 현위치로부터 가까운 병원 count 개의 상세 정보 (지도 모달과 같은 응답)
+     * - 인덱스에 적재된 병원 엔티티를 그대로 사용, 인덱스 적재 전에는 반경을 넓혀가며 엔티티를 한 번에 조회
+     */
+    public List<HospitalDetailResponseDTO> getNearestHospitalDetails(double latitude, double longitude, int count) {
+        List<HospitalDistance> nearest = hospitalSpatialIndex.isReady()
+                ? hospitalSpatialIndex.findNearest(latitude, longitude, count, NEAREST_MAX_RADIUS)
+                : getNearestHospitalEntitiesFromDatabase(latitude, longitude, count);
+
+        return nearest.stream()
+                .map(match -> HospitalDetailResponseDTO.ofMarker(match.getHospital(), match.getDistance(), match.getHospital().isOpenNow()))
+                .toList();
+    }
+
+    private List<HospitalDistance> getNearestHospitalEntitiesFromDatabase(double latitude, double longitude, int count) {
+        final double[] radiusSteps = {10.0, 30.0, 50.0, 70.0, 100.0};
+
+        List<Hospital> hospitals = List.of();
+        for (double radius : radiusSteps) {
+            hospitals = hospitalRepository.findNearestHospitalsWithinRadius(latitude, longitude, radius, count);
+            if (hospitals.size() >= count) break;
+        }
+
+        return hospitals.stream()
+                .map(hospital -> new HospitalDistance(hospital, calculateDistance(latitude, longitude, hospital.getLatitude(), hospital.getLongitude())))
                 .toList();
     }
 
     /**
      * 병원 검색
+     * - 이름 n-gram 인덱스로 후보를 좁히고 일치한 병원만 거리 계산 후 가까운 순 정렬
+     * - 인덱스 적재 전에는 DB LIKE 검색
      */
     public PageResponseDTO<HospitalSearchResponseDTO> searchHospital(double latitude, double longitude, String keyword, Pageable pageable) {
         if (keyword == null || keyword.isBlank() || keyword.length() < 2) {
             throw new GeneralException(ErrorCode.HOSPITAL_INVALID_SEARCH);
         }
 
+        if (!hospitalNameIndex.isReady()) {
+            return searchHospitalFromDatabase(latitude, longitude, keyword, pageable);
+        }
+
+        List<HospitalDistance> matches = hospitalNameIndex.search(keyword, latitude, longitude);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+
+        List<HospitalSearchResponseDTO> content = matches.subList(from, to).stream()
+                .map(match -> HospitalSearchResponseDTO.ofSearch(match.getHospital(), match.getDistance()))
+                .toList();
+        return PageResponseDTO.of(new PageImpl<>(content, pageable, matches.size()));
+    }
+
+    private PageResponseDTO<HospitalSearchResponseDTO> searchHospitalFromDatabase(double latitude, double longitude, String keyword, Pageable pageable) {
         Page<Hospital> hospitals = hospitalRepository.findByNameContainingOrderByDistance(keyword, latitude, longitude, pageable);
         Page<HospitalSearchResponseDTO> hospitalSearchResponseDTO = hospitals.map(hospital -> {
             double distance = calculateDistance(latitude, longitude, hospital.getLatitude(), hospital.getLongitude());
@@ -89,6 +250,66 @@ public class HospitalQueryService {
         return PageResponseDTO.of(hospitalSearchResponseDTO);
     }
 
+    /**
+     * 병원 검색 (커서 방식)
+     * - 이전 페이지 마지막 병원의 (거리, id) 커서 뒤에서부터 size 개 조회, 전체 개수는 세지 않음
+     * - 커서는 검색어 / 위치가 같은 요청에서만 유효
+     * - 인덱스 적재 전에는 DB 키셋 쿼리
+     * - size: 1 ~ CURSOR_SEARCH_MAX_SIZE
+     */
+    public PageResponseDTO<HospitalSearchResponseDTO> searchHospitalByCursor(double latitude, double longitude, String keyword, String cursor, int size) {
+        if (keyword == null || keyword.isBlank() || keyword.length() < 2) {
+            throw new GeneralException(ErrorCode.HOSPITAL_INVALID_SEARCH);
+        }
+        if (size < 1 || size > CURSOR_SEARCH_MAX_SIZE) {
+            throw new GeneralException(ErrorCode.BAD_REQUEST);
+        }
+
+        int queryHash = HospitalSearchCursor.queryHash(keyword, latitude, longitude);
+        HospitalSearchCursor after = HospitalSearchCursor.decode(cursor, queryHash);
+        List<HospitalSearchResponseDTO> hospitals;
+        if (hospitalNameIndex.isReady()) {
+            hospitals = hospitalNameIndex.searchAfter(keyword, latitude, longitude, after, size + 1).stream()
+                    .map(match -> HospitalSearchResponseDTO.ofSearch(match.getHospital(), match.getDistance()))
+                    .toList();
+        } else {
+            hospitals = hospitalRepository.findByNameContainingAfterCursor(keyword, latitude, longitude, after.getDistance(), after.getHospitalId(), size + 1).stream()
+                    .map(row -> HospitalSearchResponseDTO.ofNearest(((Number) row[0]).longValue(), (String) row[1],
+                            ((Number) row[2]).doubleValue(), ((Number) row[3]).doubleValue(), ((Number) row[4]).doubleValue()))
+                    .toList();
+        }
+
+        if (hospitals.size() <= size) {
+            return PageResponseDTO.ofCursor(hospitals, size, null);
+        }
+
+        List<HospitalSearchResponseDTO> content = hospitals.subList(0, size);
+        HospitalSearchResponseDTO last = content.get(size - 1);
+        return PageResponseDTO.ofCursor(content, size, new HospitalSearchCursor(last.getDistance(), last.getHospitalId(), queryHash).encode());
+    }
+
+    /**
+     * 병원 이름 자동완성 (입력 중인 검색어, 1글자 이상)
+     * - 초성만 입력한 글자는 초성으로, 마지막 글자는 조합 중인 글자로 보고 자모 단위까지 일치 비교
+     * - size: 1 ~ AUTOCOMPLETE_MAX_SIZE
+     */
+    public List<HospitalSearchResponseDTO> autocompleteHospital(double latitude, double longitude, String keyword, int size) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new GeneralException(ErrorCode.HOSPITAL_INVALID_SEARCH);
+        }
+        if (size < 1 || size > AUTOCOMPLETE_MAX_SIZE) {
+            throw new GeneralException(ErrorCode.BAD_REQUEST);
+        }
+
+        if (!hospitalNameIndex.isReady()) {
+            return searchHospitalFromDatabase(latitude, longitude, keyword, PageRequest.of(0, size)).getContent();
+        }
+
+        return hospitalNameIndex.searchPrefix(keyword, latitude, longitude, size).stream()
+                .map(match -> HospitalSearchResponseDTO.ofSearch(match.getHospital(), match.getDistance()))
+                .toList();
+    }
+
     /**
      * 병원 마커 모달 조회
      */
@@ -124,16 +345,10 @@ public class HospitalQueryService {
     }
 
     /**
-     * 하버사인 공식을 통해 현위치로부터 병원까지의 거리 계산
+     * 현위치로부터 병원까지의 대원 거리 (km)
+     * - 인덱스 검색과 같은 함수 / 같은 지구 반지름 (DB 쿼리의 ST_Distance_Sphere 도 같은 반지름)
      */
     public double calculateDistance(double lat, double lng, double hospitalLat, double hospitalLng) {
-        double dLat = Math.toRadians(hospitalLat - lat);
-        double dLng = Math.toRadians(hospitalLng - lng);
-
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat)) * Math.cos(Math.toRadians(hospitalLat)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
-
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-
-        return EARTH_RADIUS * c;
+        return GeoKdTree.distanceKm(lat, lng, hospitalLat, hospitalLng);
     }
 }
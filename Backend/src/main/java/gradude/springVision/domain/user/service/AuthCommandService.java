@@ -36,6 +36,7 @@ public class AuthCommandService {
 
     private final UserRepository userRepository;
     private final TokenProvider tokenProvider;
+    private final RestTemplate kakaoRestTemplate; // 공용 커넥션 풀을 쓰는 카카오 API 호출용
 
     /**
      * 카카오 로그인
@@ -90,15 +91,13 @@ public class AuthCommandService {
      * 카카오 user 검증
      */
     public void validateKakaoUser(KakaoLoginRequestDTO kakaoLoginRequestDTO) {
-        RestTemplate restTemplate = new RestTemplate();
-
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", "Bearer " + kakaoLoginRequestDTO.getAccessToken());
         HttpEntity<Void> entity = new HttpEntity<>(headers);
 
         ResponseEntity<String> response;
         try {
-            response = restTemplate.exchange(
+            response = kakaoRestTemplate.exchange(
                     "https://kapi.kakao.com/v1/user/access_token_info",
                     HttpMethod.GET,
                     entity,
@@ -128,8 +127,6 @@ public class AuthCommandService {
     }
 
     public KakaoUserInfoResponseDTO getKakaoUserInfo(String accessToken) {
-        RestTemplate restTemplate = new RestTemplate(); // HTTP 통신 위해 RestTemplate 객체 생성
-
         // 요청 header 설정
         HttpHeaders headers = new HttpHeaders();
         headers.add("Authorization", "Bearer " + accessToken);
@@ -139,7 +136,7 @@ public class AuthCommandService {
         HttpEntity<MultiValueMap<String, String>> kakaoUserInfoRequest = new HttpEntity<>(headers);
 
         // 카카오 토큰 요청 API 호출
-        ResponseEntity<String> response = restTemplate.exchange(
+        ResponseEntity<String> response = kakaoRestTemplate.exchange(
                 "https://kapi.kakao.com/v2/user/me",
                 HttpMethod.POST,
                 kakaoUserInfoRequest,
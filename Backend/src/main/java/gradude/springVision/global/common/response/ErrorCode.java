@@ -17,6 +17,10 @@ public enum ErrorCode {
     JSON_PARSE_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "COMMON501", "JSON 파싱 오류입니다"),
     FILE_UPLOAD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "COMMON502", "파일 업로드에 실패했습니다."),
     FILE_EXTENSION_NOT_SUPPORTED(HttpStatus.BAD_REQUEST, "COMMON503", "지원하지 않는 파일 확장자입니다."),
+    FILE_CONTENT_NOT_SUPPORTED(HttpStatus.BAD_REQUEST, "COMMON504", "파일 내용이 지원하는 영상 / 음성 형식이 아닙니다."),
+    MEDIA_DURATION_EXCEEDED(HttpStatus.BAD_REQUEST, "COMMON505", "영상 / 음성 길이가 최대 길이를 초과하였습니다."),
+    STORED_FILE_NOT_FOUND(HttpStatus.NOT_FOUND, "COMMON506", "업로드된 파일을 찾을 수 없습니다. 업로드를 완료한 뒤 다시 요청해주세요."),
+    DIRECT_UPLOAD_NOT_SUPPORTED(HttpStatus.NOT_IMPLEMENTED, "COMMON507", "현재 저장소는 직접 업로드를 지원하지 않습니다. /api/diagnosis 로 파일을 함께 보내주세요."),
 
     // Unauthorized Error
     INVALID_TOKEN_SIGNATURE(HttpStatus.UNAUTHORIZED, "TOKEN401", "유효하지 않은 토큰 서명입니다."),
@@ -39,11 +43,23 @@ public enum ErrorCode {
     // Hospital Error
     HOSPITAL_NOT_FOUND(HttpStatus.NOT_FOUND, "HOSPITAL4000", "병원을 찾을 수 없습니다."),
     HOSPITAL_INVALID_SEARCH(HttpStatus.NOT_FOUND, "HOSPITAL4001", "병원 검색어는 두 글자 이상이어야 합니다."),
-    INVALID_HOSPITAL_OPENING_HOURS(HttpStatus.INTERNAL_SERVER_ERROR, "HOSPITAL4002", "병원 데이터 형식이 유효하지 않습니다."),
+    HOSPITAL_INVALID_CURSOR(HttpStatus.BAD_REQUEST, "HOSPITAL4003", "유효하지 않은 검색 커서입니다."),
 
     // AI Error
     AI_PREDICTION_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "AI500", "AI 모델 진단 실패입니다."),
     AI_CALL_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "AI501", "AI 모델 호출 실패입니다."),
+    LLM_CALL_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "AI502", "LLM 진단 소견 생성에 실패했습니다."),
+    AI_SERVER_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "AI503", "AI 진단 요청이 많습니다. 잠시 후 다시 시도해주세요."),
+    AI_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "AI504", "AI 진단 시간이 초과되었습니다."),
+    AI_BACKEND_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "AI505", "AI 모델 서버가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요."),
+    LLM_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "AI506", "LLM 진단 소견 요청이 많습니다. 잠시 후 다시 시도해주세요."),
+    LLM_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "AI507", "LLM 진단 소견 서버가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요."),
+    INVALID_FACIAL_FEATURES(HttpStatus.BAD_REQUEST, "AI400", "안면 특징 벡터의 길이가 모델과 다릅니다."),
+
+    // Idempotency Error
+    IDEMPOTENCY_KEY_INVALID(HttpStatus.BAD_REQUEST, "IDEMPOTENCY4000", "Idempotency-Key 는 1 ~ 255자여야 합니다."),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY4001", "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS(HttpStatus.CONFLICT, "IDEMPOTENCY4002", "같은 Idempotency-Key 요청을 처리 중입니다. 잠시 후 다시 시도해주세요."),
 
     // Diagnosis Error
     DIAGNOSIS_NOT_FOUND(HttpStatus.NOT_FOUND, "Diagnosis4000", "자가진단 결과를 찾을 수 없습니다.");
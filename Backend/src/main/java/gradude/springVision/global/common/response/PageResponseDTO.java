@@ -1,20 +1,29 @@
 package gradude.springVision.global.common.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Getter;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
 
+/**
+ * 페이지 응답
+ * - 오프셋 방식: page, size, totalPages, totalElements
+ * - 커서 방식: size, hasNext, nextCursor (전체 개수를 세지 않음)
+ */
 @Getter
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponseDTO<T> {
 
     private List<T> content;
-    private int page;
-    private int size;
-    private int totalPages;
-    private long totalElements;
+    private Integer page;
+    private Integer size;
+    private Integer totalPages;
+    private Long totalElements;
+    private Boolean hasNext;
+    private String nextCursor;
 
     public static <T> PageResponseDTO<T> of(Page<T> page) {
         return PageResponseDTO.<T>builder()
@@ -25,4 +34,16 @@ public class PageResponseDTO<T> {
                 .totalElements(page.getTotalElements())
                 .build();
     }
+
+    /**
+     * 커서 방식 응답 (nextCursor == null 이면 마지막 페이지)
+     */
+    public static <T> PageResponseDTO<T> ofCursor(List<T> content, int size, String nextCursor) {
+        return PageResponseDTO.<T>builder()
+                .content(content)
+                .size(size)
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build();
+    }
 }
@@ -7,6 +7,7 @@ import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.ConstraintViolation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -25,6 +27,8 @@ import java.util.stream.Collectors;
 @RestControllerAdvice(annotations = {RestController.class})
 public class GlobalExceptionHandler {
 
+    private static final String IDEMPOTENCY_RETRY_AFTER_SECONDS = "5";
+
     /**
      * @Valid 파라미터 검증 실패 시 발생하는 예외 처리
      */
@@ -81,13 +85,30 @@ public class GlobalExceptionHandler {
         return handleExceptionInternal(e, ErrorCode.BAD_REQUEST, HttpStatus.BAD_REQUEST, "요청 본문 형식이 잘못되었거나 누락되었습니다.");
     }
 
+    /**
+     * multipart 업로드 크기 제한(spring.servlet.multipart) 초과 시 예외 처리
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    protected ResponseEntity<Object> handleMaxUploadSizeExceeded(MaxUploadSizeExceededException e) {
+        log.warn(">>> 업로드 크기 제한 초과: {}", e.getMessage());
+        return handleExceptionInternal(e, ErrorCode.FILE_SIZE_EXCEEDED, HttpStatus.PAYLOAD_TOO_LARGE, null);
+    }
+
     /**
      * GeneralException 예외 처리 (비즈니스 로직 커스텀 예외 처리)
      */
     @ExceptionHandler(GeneralException.class)
     protected ResponseEntity<Object> handleGeneralException(GeneralException e) {
-        log.error(">>> General 예외 발생", e);
         ErrorReasonDTO reason = e.getErrorReasonHttpStatus();
+        if (e.getErrorCode() == ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS) {
+            // 같은 Idempotency-Key 원래 요청이 처리 중 -> 잠시 후 같은 키로 재시도하면 저장된 응답을 받음
+            log.warn(">>> Idempotency-Key 요청 처리 중: {}", e.getMessage());
+            ApiResponse<Object> body = ApiResponse.onFailure(reason.getCode(), reason.getMessage(), null);
+            return ResponseEntity.status(reason.getHttpStatus())
+                    .header(HttpHeaders.RETRY_AFTER, IDEMPOTENCY_RETRY_AFTER_SECONDS)
+                    .body(body);
+        }
+        log.error(">>> General 예외 발생", e);
         return handleExceptionInternal(reason);
     }
 
@@ -0,0 +1,51 @@
+package gradude.springVision.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 자가진단 전용 스레드 풀
+ * - diagnosisExecutor: S3 업로드 / AI 모델 호출 작업
+ * - diagnosisJobExecutor: 비동기 자가진단 작업 (작업 하나가 diagnosisExecutor 에 업로드 / 추론 작업을 다시 제출)
+ * - 요청 스레드와 분리된 고정 크기 풀, 큐가 가득 차면 즉시 거절 (AI 서버 과부하 방지)
+ */
+@Configuration
+public class DiagnosisExecutorConfig {
+
+    @Value("${diagnosis.executor.pool-size:16}")
+    private int poolSize;
+    @Value("${diagnosis.executor.queue-capacity:64}")
+    private int queueCapacity;
+    @Value("${diagnosis.job.pool-size:4}")
+    private int jobPoolSize;
+    @Value("${diagnosis.job.queue-capacity:32}")
+    private int jobQueueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor diagnosisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("diagnosis-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor diagnosisJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobPoolSize);
+        executor.setMaxPoolSize(jobPoolSize);
+        executor.setQueueCapacity(jobQueueCapacity);
+        executor.setThreadNamePrefix("diagnosis-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,117 @@
+package gradude.springVision.global.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * 외부 HTTP 호출(AI 서버, 카카오) 공용 클라이언트 설정
+ * - 하나의 커넥션 풀(호스트별 최대 연결 수 제한)과 keep-alive 연결을 모든 RestTemplate 이 공유
+ * - 호출 대상별로 읽기 타임아웃만 다르게 설정
+ * - http2: true 이면 JDK HttpClient(HTTP/2, 미지원 서버는 HTTP/1.1) 사용, 이 경우 풀 메트릭은 제공되지 않음
+ * - 요청 본문은 메모리에 모으지 않고 스트리밍 (길이를 모르면 chunked 전송)
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http-client.max-total:200}")
+    private int maxTotal;
+    @Value("${http-client.max-per-route:50}")
+    private int maxPerRoute;
+    @Value("${http-client.connect-timeout:3000}")
+    private long connectTimeout;
+    @Value("${http-client.connection-request-timeout:3000}")
+    private long connectionRequestTimeout;
+    @Value("${http-client.keep-alive:30000}")
+    private long keepAlive;
+    @Value("${http-client.http2:false}")
+    private boolean http2;
+    @Value("${http-client.ai.read-timeout:120000}")
+    private long aiReadTimeout;
+    @Value("${http-client.kakao.read-timeout:5000}")
+    private long kakaoReadTimeout;
+
+    // http2 모드에서 RestTemplate 들이 공유하는 JDK 클라이언트 (최초 사용 시 생성)
+    private HttpClient sharedJdkHttpClient;
+
+    @Bean
+    public PoolingHttpClientConnectionManager outboundConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                        .setTimeToLive(TimeValue.ofMilliseconds(keepAlive))
+                        .build())
+                .build();
+
+        // httpcomponents.httpclient.pool.* (leased / available / pending / max)
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "outbound").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient outboundHttpClient(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(outboundConnectionManager)
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAlive))
+                .build();
+    }
+
+    /**
+     * AI 서버 호출용 (업로드 파일 전송 + 모델 추론 시간만큼 긴 읽기 타임아웃)
+     */
+    @Bean
+    public RestTemplate aiRestTemplate(CloseableHttpClient outboundHttpClient) {
+        return new RestTemplate(requestFactory(outboundHttpClient, aiReadTimeout));
+    }
+
+    /**
+     * 카카오 API 호출용
+     */
+    @Bean
+    public RestTemplate kakaoRestTemplate(CloseableHttpClient outboundHttpClient) {
+        return new RestTemplate(requestFactory(outboundHttpClient, kakaoReadTimeout));
+    }
+
+    private ClientHttpRequestFactory requestFactory(CloseableHttpClient httpClient, long readTimeout) {
+        if (http2) {
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(jdkHttpClient());
+            requestFactory.setReadTimeout(Duration.ofMillis(readTimeout));
+            return requestFactory;
+        }
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setConnectionRequestTimeout(Duration.ofMillis(connectionRequestTimeout));
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeout));
+        return requestFactory;
+    }
+
+    private HttpClient jdkHttpClient() {
+        if (sharedJdkHttpClient == null) {
+            sharedJdkHttpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofMillis(connectTimeout))
+                    .build();
+        }
+        return sharedJdkHttpClient;
+    }
+}
@@ -12,9 +12,11 @@ public class OpenAIConfig {
 
     @Value("${openai.secret-key}")
     private String apiKey;
+    @Value("${openai.timeout:120000}")
+    private long timeout;
 
     @Bean
     public OpenAiService getOpenAiService() {
-        return new OpenAiService(apiKey, Duration.ofSeconds(300));
+        return new OpenAiService(apiKey, Duration.ofMillis(timeout));
     }
 }
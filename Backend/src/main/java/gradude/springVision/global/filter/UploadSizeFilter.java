@@ -0,0 +1,63 @@
+package gradude.springVision.global.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gradude.springVision.global.common.response.ApiResponse;
+import gradude.springVision.global.common.response.ErrorCode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * AI 자가진단 업로드 요청 크기 사전 차단
+ * - Content-Length 가 영상 + 음성 최대 크기를 넘으면 본문을 읽기 전에 413 응답 (multipart 임시 파일을 만들지 않음)
+ * - Content-Length 가 없는 chunked 요청은 spring.servlet.multipart 제한으로 수신 중에 차단
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadSizeFilter extends OncePerRequestFilter {
+
+    private static final Set<String> UPLOAD_PATHS = Set.of("/api/diagnosis", "/api/diagnosis/jobs");
+    private static final long MULTIPART_OVERHEAD = 64 * 1024; // part 헤더, boundary
+
+    @Value("${diagnosis.upload.video.max-size:500MB}")
+    private DataSize videoMaxSize;
+    @Value("${diagnosis.upload.audio.max-size:50MB}")
+    private DataSize audioMaxSize;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return !HttpMethod.POST.matches(request.getMethod())
+                || contentType == null || !contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)
+                || !UPLOAD_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long maxRequestSize = videoMaxSize.toBytes() + audioMaxSize.toBytes() + MULTIPART_OVERHEAD;
+        if (request.getContentLengthLong() > maxRequestSize) {
+            // 남은 본문을 받지 않도록 연결 종료
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            response.setCharacterEncoding("UTF-8");
+            response.setContentType("application/json; charset=UTF-8");
+            response.setStatus(ErrorCode.FILE_SIZE_EXCEEDED.getHttpStatus().value());
+            response.getWriter().write(objectMapper.writeValueAsString(
+                    ApiResponse.onFailure(ErrorCode.FILE_SIZE_EXCEEDED.getCode(), ErrorCode.FILE_SIZE_EXCEEDED.getMessage(), null)));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,196 @@
+package gradude.springVision.global.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더로 같은 요청의 중복 실행 방지
+ * - Redis 키: idempotency:{scope}:{userId}:{Idempotency-Key}, 값: 요청 지문 + 최종 응답(JSON)
+ * - 처음 요청: 응답 없이 먼저 기록한 뒤 실행, 성공하면 응답 저장 (실패하면 기록을 지워 다시 시도 가능)
+ * - 처리 중인 같은 키: wait-timeout(몇 초) 안에 끝나면 같은 응답 반환, 아니면 바로 IDEMPOTENCY_REQUEST_IN_PROGRESS (409 + Retry-After)
+ * - 처리가 끝난 같은 키: 저장된 응답 재전송, 요청 지문이 다르면 IDEMPOTENCY_KEY_REUSED
+ * - storable 을 통과하지 못한 응답(일부 기능이 빠진 응답 등)은 저장하지 않고 기록을 지워 재시도 시 다시 실행
+ * - 응답 저장 / 기록 삭제는 자기가 만든 처리 중 기록이 그대로 있을 때만 (pending-ttl 이 지나 다른 요청이 다시 선점한 기록은 건드리지 않음)
+ * - Redis 장애 시에는 중복 방지 없이 그대로 실행
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class IdempotencyService {
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // KEYS[1] 의 값이 ARGV[1](처리 중 기록)일 때만 ARGV[2] 로 바꾸고 ARGV[3] ms 뒤 만료
+    private static final RedisScript<Long> STORE_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1 end return 0",
+            Long.class);
+    // KEYS[1] 의 값이 ARGV[1](처리 중 기록)일 때만 삭제
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    @Value("${idempotency.ttl:86400000}")
+    private long ttl;
+    @Value("${idempotency.pending-ttl:600000}")
+    private long pendingTtl;
+    @Value("${idempotency.wait-timeout:3000}")
+    private long waitTimeout;
+    @Value("${idempotency.poll-interval:200}")
+    private long pollInterval;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * nonce: 처리 중 기록을 만든 요청마다 다른 값 (같은 지문의 처리 중 기록끼리 구분)
+     */
+    private record IdempotencyRecord(String fingerprint, String nonce, JsonNode response) {
+    }
+
+    public <T> T execute(Long userId, String scope, String idempotencyKey, String fingerprint, Class<T> type, Supplier<T> action) {
+        return execute(userId, scope, idempotencyKey, fingerprint, type, action, result -> true);
+    }
+
+    public <T> T execute(Long userId, String scope, String idempotencyKey, String fingerprint, Class<T> type, Supplier<T> action,
+                         Predicate<? super T> storable) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new GeneralException(ErrorCode.IDEMPOTENCY_KEY_INVALID);
+        }
+
+        String key = KEY_PREFIX + scope + ":" + userId + ":" + idempotencyKey;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeout);
+        String pending = write(new IdempotencyRecord(fingerprint, UUID.randomUUID().toString(), null));
+
+        while (true) {
+            IdempotencyRecord stored;
+            try {
+                Boolean acquired = redisTemplate.opsForValue()
+                        .setIfAbsent(key, pending, Duration.ofMillis(pendingTtl));
+                if (Boolean.TRUE.equals(acquired)) {
+                    break;
+                }
+                String value = redisTemplate.opsForValue().get(key);
+                if (value == null) {
+                    // 원래 요청이 실패해서 기록이 지워짐 -> 다시 선점 시도
+                    continue;
+                }
+                stored = objectMapper.readValue(value, IdempotencyRecord.class);
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Idempotency-Key 저장소 사용 실패, 중복 방지 없이 실행. key: {}", key, e);
+                return action.get();
+            }
+
+            if (!fingerprint.equals(stored.fingerprint())) {
+                throw new GeneralException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+            }
+            // 처리 중 기록의 "response": null 은 JsonNode 필드에 NullNode 로 읽힘
+            if (stored.response() != null && !stored.response().isNull()) {
+                return replay(stored.response(), type);
+            }
+            if (System.nanoTime() > deadline) {
+                throw new GeneralException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+            }
+            sleep();
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            release(key, pending);
+            throw e;
+        }
+
+        if (!storable.test(result)) {
+            release(key, pending);
+            return result;
+        }
+
+        try {
+            String completed = write(new IdempotencyRecord(fingerprint, null, objectMapper.valueToTree(result)));
+            Long stored = redisTemplate.execute(STORE_SCRIPT, List.of(key), pending, completed, String.valueOf(ttl));
+            if (!Long.valueOf(1).equals(stored)) {
+                log.warn("Idempotency-Key 처리 중 기록이 만료되어 응답을 저장하지 않음. key: {}", key);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Idempotency-Key 응답 저장 실패. key: {}", key, e);
+            release(key, pending);
+        }
+        return result;
+    }
+
+    /**
+     * 요청 지문 (요청 값들을 JSON 으로 이어 붙인 SHA-256)
+     */
+    public String fingerprint(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(objectMapper.writeValueAsString(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> T replay(JsonNode response, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(response, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 응답을 읽을 수 없습니다.", e);
+        }
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 자기가 만든 처리 중 기록만 삭제
+     */
+    private void release(String key, String pending) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key), pending);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency-Key 기록 삭제 실패. key: {}", key, e);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(pollInterval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeneralException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+        }
+    }
+}
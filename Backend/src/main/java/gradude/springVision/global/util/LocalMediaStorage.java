@@ -0,0 +1,164 @@
+package gradude.springVision.global.util;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 로컬 디스크 저장소 (개발 / 테스트 / 사내 설치용, storage.type=local)
+ * - 키: dirName/userId/해시 앞 2자리/해시.확장자 (한 디렉토리에 파일이 몰리지 않도록 해시로 한 단계 더 나눔)
+ * - 쓰기는 같은 디렉토리의 임시 파일에 FileChannel.transferFrom 으로 복사한 뒤 rename, 읽는 쪽은 완성된 파일만 봄
+ * - 임시 파일로 stage 된 업로드(StagedMultipartFile)는 파일 채널끼리 복사해서 사용자 공간 버퍼를 거치지 않음
+ * - 파일 제공은 storage.local.base-url 앞단(nginx 등)에 맡김, presigned 직접 업로드는 지원하지 않음
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalMediaStorage implements MediaStorage {
+
+    @Value("${storage.local.root:./media}")
+    private String rootLocation;
+    @Value("${storage.local.base-url:/media}")
+    private String baseUrl;
+
+    private Path root;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Path.of(rootLocation).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        log.info("로컬 미디어 저장소 사용. root: {}", root);
+    }
+
+    @Override
+    public String uploadFile(Long userId, MultipartFile file, String dirName, String contentHash) {
+        String originalFilename = file.getOriginalFilename();
+        String extension = "";
+        if (originalFilename != null && originalFilename.contains(".")) {
+            extension = originalFilename.substring(originalFilename.lastIndexOf('.')).toLowerCase();
+        }
+
+        String key = dirName + "/" + userId + "/" + contentHash.substring(0, 2) + "/" + contentHash + extension;
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            log.debug("로컬 저장 생략 (같은 파일 존재). key: {}", key);
+            return url(key);
+        }
+
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            write(file, temp);
+            // 같은 파일을 동시에 저장해도 내용이 같으므로 나중 rename 이 덮어써도 무방
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            log.warn("로컬 저장 실패. key: {}", key, e);
+            throw new GeneralException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+        return url(key);
+    }
+
+    @Override
+    public PresignedUpload presignUpload(Long userId, String dirName, String extension) {
+        throw new GeneralException(ErrorCode.DIRECT_UPLOAD_NOT_SUPPORTED);
+    }
+
+    @Override
+    public long getObjectSize(String key) {
+        try {
+            return Files.size(resolve(key));
+        } catch (NoSuchFileException e) {
+            throw new GeneralException(ErrorCode.STORED_FILE_NOT_FOUND);
+        } catch (IOException e) {
+            throw new GeneralException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    @Override
+    public StagedMultipartFile download(String key, String name) {
+        Path source = resolve(key);
+        Path path = null;
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            path = Files.createTempFile("stored-", ".tmp");
+            try (FileChannel out = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                transfer(out, in, in.size());
+            }
+            return StagedMultipartFile.of(name, source.getFileName().toString(), Files.probeContentType(source), path);
+        } catch (NoSuchFileException e) {
+            deleteQuietly(path);
+            throw new GeneralException(ErrorCode.STORED_FILE_NOT_FOUND);
+        } catch (IOException e) {
+            deleteQuietly(path);
+            throw new GeneralException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    private void write(MultipartFile file, Path temp) throws IOException {
+        // 컨테이너 multipart(Part)는 임시 파일 경로를 노출하지 않으므로 스트림 채널로 복사
+        try (ReadableByteChannel in = file instanceof StagedMultipartFile staged
+                ? FileChannel.open(staged.getPath(), StandardOpenOption.READ)
+                : Channels.newChannel(file.getInputStream());
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            transfer(out, in, file.getSize());
+        }
+    }
+
+    // transferFrom 은 요청보다 적게 옮길 수 있으므로 size 만큼 반복
+    private void transfer(FileChannel out, ReadableByteChannel in, long size) throws IOException {
+        long position = 0;
+        while (position < size) {
+            long transferred = out.transferFrom(in, position, size - position);
+            if (transferred <= 0) {
+                throw new IOException("저장 중 원본 파일이 잘렸습니다. expected: " + size + ", actual: " + position);
+            }
+            position += transferred;
+        }
+    }
+
+    // 클라이언트가 보낸 키로 root 밖 경로에 접근하지 못하도록 확인 (예: video/1/../../etc)
+    private Path resolve(String key) {
+        MediaStorage.checkKey(key);
+        try {
+            Path path = root.resolve(key).normalize();
+            if (path.startsWith(root)) {
+                return path;
+            }
+        } catch (InvalidPathException ignored) {
+            // 아래에서 거부
+        }
+        throw new GeneralException(ErrorCode.FORBIDDEN);
+    }
+
+    private String url(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 임시 파일 정리 실패는 다음 정리 작업에 맡김
+        }
+    }
+}
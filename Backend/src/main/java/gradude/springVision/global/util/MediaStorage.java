@@ -0,0 +1,56 @@
+package gradude.springVision.global.util;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Instant;
+
+/**
+ * 진단 영상 / 음성 저장소
+ * - storage.type 으로 구현 선택: s3 (기본, S3Service) / local (LocalMediaStorage)
+ * - 키 형식은 구현과 관계없이 dirName/userId/... (DiagnosisUploadService.checkOwner 가 이 형식에 의존)
+ */
+public interface MediaStorage {
+
+    /**
+     * 클라이언트가 직접 올릴 객체 키와 업로드(PUT) URL
+     */
+    record PresignedUpload(String key, String url, Instant expiresAt) {
+    }
+
+    /**
+     * 파일 저장 후 접근 URL 반환 (같은 사용자의 같은 내용 해시는 다시 저장하지 않음)
+     */
+    String uploadFile(Long userId, MultipartFile file, String dirName, String contentHash);
+
+    /**
+     * 클라이언트 직접 업로드용 URL 발급 (지원하지 않는 저장소는 DIRECT_UPLOAD_NOT_SUPPORTED)
+     */
+    PresignedUpload presignUpload(Long userId, String dirName, String extension);
+
+    /**
+     * 저장된 파일 크기, 없으면 STORED_FILE_NOT_FOUND
+     */
+    long getObjectSize(String key);
+
+    /**
+     * 저장된 파일을 임시 파일로 복사 (사용 후 StagedMultipartFile.delete 로 정리, 원본은 그대로)
+     */
+    StagedMultipartFile download(String key, String name);
+
+    /**
+     * 클라이언트가 보낸 키 확인 (빈 구간, "." / "..", 역슬래시가 있으면 FORBIDDEN)
+     * - 소유자 확인은 키 앞부분(dirName/userId/)만 보므로 video/1/../2/... 처럼 다른 사용자 경로를 가리키는 키를 모든 구현에서 거부
+     */
+    static void checkKey(String key) {
+        if (key == null || key.isEmpty() || key.indexOf('\\') >= 0) {
+            throw new GeneralException(ErrorCode.FORBIDDEN);
+        }
+        for (String segment : key.split("/", -1)) {
+            if (segment.isEmpty() || ".".equals(segment) || "..".equals(segment)) {
+                throw new GeneralException(ErrorCode.FORBIDDEN);
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package gradude.springVision.global.util;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 큰 파일의 S3 multipart 업로드
+ * - 입력을 part-size 단위로 읽어 s3UploadExecutor 에서 part 여러 개를 동시에 업로드
+ * - part 버퍼는 모든 업로드가 함께 쓰는 고정 개수(buffers)의 byte[] 를 재사용, 버퍼가 모두 사용 중이면 읽기를 멈춤 (메모리 = buffers * part-size)
+ * - part 단위로 max-attempts 만큼 재시도하고, 최종 실패 시 multipart 업로드를 취소(abort)해서 조각을 남기지 않음
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3MultipartUploader {
+
+    // S3 multipart 최소 part 크기 (마지막 part 제외)
+    private static final long MIN_PART_SIZE = DataSize.ofMegabytes(5).toBytes();
+
+    @Value("${cloud.aws.s3.multipart.part-size:8MB}")
+    private DataSize partSize;
+    @Value("${cloud.aws.s3.multipart.buffers:8}")
+    private int bufferCount;
+    @Value("${cloud.aws.s3.multipart.max-attempts:3}")
+    private int maxAttempts;
+    @Value("${cloud.aws.s3.multipart.retry-backoff:200}")
+    private long retryBackoff;
+    private final AmazonS3 amazonS3Client;
+    private final ThreadPoolTaskExecutor s3UploadExecutor;
+
+    private BufferPool bufferPool;
+
+    @PostConstruct
+    void init() {
+        bufferPool = new BufferPool(bufferCount, (int) Math.max(partSize.toBytes(), MIN_PART_SIZE));
+    }
+
+    public void upload(String bucket, String key, InputStream in, ObjectMetadata metadata) {
+        String uploadId = amazonS3Client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key, metadata)).getUploadId();
+        List<Future<PartETag>> parts = new ArrayList<>();
+        AtomicBoolean aborted = new AtomicBoolean();
+
+        try {
+            int partNumber = 1;
+            while (true) {
+                failFast(parts);
+                byte[] buffer = bufferPool.acquire();
+                int length;
+                try {
+                    length = in.readNBytes(buffer, 0, buffer.length);
+                } catch (IOException | RuntimeException e) {
+                    bufferPool.release(buffer);
+                    throw e;
+                }
+                if (length == 0 && partNumber > 1) {
+                    bufferPool.release(buffer);
+                    break;
+                }
+
+                int number = partNumber++;
+                parts.add(submitPart(bucket, key, uploadId, number, buffer, length, aborted));
+                if (length < buffer.length) {
+                    break;
+                }
+            }
+
+            List<PartETag> etags = new ArrayList<>(parts.size());
+            for (Future<PartETag> part : parts) {
+                etags.add(part.get());
+            }
+            amazonS3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, etags));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(bucket, key, uploadId, aborted);
+            throw new GeneralException(ErrorCode.FILE_UPLOAD_FAILED);
+        } catch (ExecutionException | IOException | RuntimeException e) {
+            abort(bucket, key, uploadId, aborted);
+            log.warn("S3 multipart 업로드 실패. key: {}", key, e);
+            throw new GeneralException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    // 버퍼 반납은 업로드 작업 안에서 (취소된 업로드의 작업도 실행은 되어야 버퍼가 돌아오므로 Future.cancel 은 쓰지 않음)
+    private Future<PartETag> submitPart(String bucket, String key, String uploadId, int partNumber, byte[] buffer, int length, AtomicBoolean aborted) {
+        try {
+            return s3UploadExecutor.submit(() -> {
+                try {
+                    if (aborted.get()) {
+                        throw new CancellationException("multipart 업로드 취소됨");
+                    }
+                    return uploadPart(bucket, key, uploadId, partNumber, buffer, length);
+                } finally {
+                    bufferPool.release(buffer);
+                }
+            });
+        } catch (RuntimeException e) {
+            bufferPool.release(buffer);
+            throw e;
+        }
+    }
+
+    private PartETag uploadPart(String bucket, String key, String uploadId, int partNumber, byte[] buffer, int length) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            UploadPartRequest request = new UploadPartRequest()
+                    .withBucketName(bucket)
+                    .withKey(key)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partNumber)
+                    .withInputStream(new ByteArrayInputStream(buffer, 0, length))
+                    .withPartSize(length);
+            try {
+                return amazonS3Client.uploadPart(request).getPartETag();
+            } catch (AmazonClientException e) {
+                // 4xx(권한, 잘못된 요청)는 다시 보내도 같은 결과
+                boolean clientError = e instanceof AmazonServiceException serviceException
+                        && serviceException.getStatusCode() >= 400 && serviceException.getStatusCode() < 500;
+                if (clientError || attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("S3 part 업로드 재시도 ({}/{}). key: {}, part: {}", attempt, maxAttempts, key, partNumber, e);
+                Thread.sleep(retryBackoff * attempt);
+            }
+        }
+    }
+
+    // 이미 실패한 part 가 있으면 나머지를 읽지 않고 중단
+    private void failFast(List<Future<PartETag>> parts) throws ExecutionException, InterruptedException {
+        for (Future<PartETag> part : parts) {
+            if (part.isDone()) {
+                part.get();
+            }
+        }
+    }
+
+    private void abort(String bucket, String key, String uploadId, AtomicBoolean aborted) {
+        aborted.set(true);
+        try {
+            amazonS3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        } catch (RuntimeException e) {
+            // 남은 조각은 버킷 수명 주기 규칙(AbortIncompleteMultipartUpload)으로 정리
+            log.warn("S3 multipart 업로드 취소 실패. key: {}, uploadId: {}", key, uploadId, e);
+        }
+    }
+
+    /**
+     * 고정 개수 part 버퍼 (처음 필요할 때 만들고 이후 재사용)
+     */
+    static final class BufferPool {
+
+        private final BlockingQueue<byte[]> idle;
+        private final AtomicInteger created = new AtomicInteger();
+        private final int capacity;
+        private final int bufferSize;
+
+        BufferPool(int capacity, int bufferSize) {
+            this.idle = new ArrayBlockingQueue<>(capacity);
+            this.capacity = capacity;
+            this.bufferSize = bufferSize;
+        }
+
+        byte[] acquire() throws InterruptedException {
+            byte[] buffer = idle.poll();
+            if (buffer != null) {
+                return buffer;
+            }
+            if (created.getAndUpdate(count -> count < capacity ? count + 1 : count) < capacity) {
+                return new byte[bufferSize];
+            }
+            return idle.take();
+        }
+
+        void release(byte[] buffer) {
+            idle.offer(buffer);
+        }
+    }
+}
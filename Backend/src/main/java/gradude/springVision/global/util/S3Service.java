@@ -1,57 +1,151 @@
 package gradude.springVision.global.util;
 
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
 import gradude.springVision.global.common.response.ErrorCode;
 import gradude.springVision.global.common.response.exception.GeneralException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
 import java.util.UUID;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class S3Service {
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3Service implements MediaStorage {
 
     private final AmazonS3 amazonS3Client;
+    private final S3MultipartUploader s3MultipartUploader;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
+    @Value("${cloud.aws.s3.presign-ttl:600000}")
+    private long presignTtl;
+    @Value("${cloud.aws.s3.multipart.threshold:64MB}")
+    private DataSize multipartThreshold;
+
+    private static final int NOT_FOUND = 404;
 
     /**
      * S3에 파일 업로드하고 업로드된 파일 URL 반환 메서드
+     * - 파일명은 내용 해시(SHA-256)라서 같은 사용자가 같은 파일을 다시 올리면 업로드를 생략
+     * - multipart.threshold 이상이면 part 단위 병렬 업로드 (S3MultipartUploader)
      */
-    public String uploadFile(Long userId, MultipartFile file, String dirName) {
+    @Override
+    public String uploadFile(Long userId, MultipartFile file, String dirName, String contentHash) {
         String originalFilename = file.getOriginalFilename();
         String extension = "";
 
         // 파일 확장자 추출
         if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf('.'));
+            extension = originalFilename.substring(originalFilename.lastIndexOf('.')).toLowerCase();
         }
 
-        // TODO: 파일 확장자 유효성 검사
-
         // 저장할 파일 경로와 파일명 생성
-        String fileName = dirName + "/" + userId + "/" + UUID.randomUUID() + extension; // dirName/userId/랜덤UUID.확장자
+        String fileName = dirName + "/" + userId + "/" + contentHash + extension; // dirName/userId/해시.확장자
+
+        if (amazonS3Client.doesObjectExist(bucket, fileName)) {
+            log.debug("S3 업로드 생략 (같은 파일 존재). key: {}", fileName);
+            return amazonS3Client.getUrl(bucket, fileName).toString();
+        }
 
         ObjectMetadata metadata = new ObjectMetadata();
         metadata.setContentLength(file.getSize());
         metadata.setContentType(file.getContentType());
         metadata.setContentDisposition("inline");// 브라우저에서 파일 미리보기 가능하게
 
-        try {
-            amazonS3Client.putObject(new PutObjectRequest(bucket, fileName, file.getInputStream(), metadata));
+        try (InputStream in = file.getInputStream()) {
+            if (file.getSize() >= multipartThreshold.toBytes()) {
+                s3MultipartUploader.upload(bucket, fileName, in, metadata);
+            } else {
+                amazonS3Client.putObject(new PutObjectRequest(bucket, fileName, in, metadata));
+            }
         } catch (IOException e) {
             throw new GeneralException(ErrorCode.FILE_UPLOAD_FAILED);
         }
 
         return amazonS3Client.getUrl(bucket, fileName).toString();
     }
+
+    /**
+     * 클라이언트 직접 업로드용 presigned PUT URL 발급
+     * - 키: dirName/userId/UUID.확장자 (업로드 전이라 내용 해시를 알 수 없음)
+     */
+    @Override
+    public PresignedUpload presignUpload(Long userId, String dirName, String extension) {
+        String key = dirName + "/" + userId + "/" + UUID.randomUUID() + "." + extension;
+        Date expiration = new Date(System.currentTimeMillis() + presignTtl);
+
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key, HttpMethod.PUT)
+                .withExpiration(expiration);
+        return new PresignedUpload(key, amazonS3Client.generatePresignedUrl(request).toString(), expiration.toInstant());
+    }
+
+    /**
+     * 저장된 객체 크기 (내려받기 전에 크기 제한 확인용)
+     */
+    @Override
+    public long getObjectSize(String key) {
+        MediaStorage.checkKey(key);
+        try {
+            return amazonS3Client.getObjectMetadata(bucket, key).getContentLength();
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == NOT_FOUND) {
+                throw new GeneralException(ErrorCode.STORED_FILE_NOT_FOUND);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 저장된 객체를 임시 파일로 내려받기 (사용 후 StagedMultipartFile.delete 로 정리)
+     */
+    @Override
+    public StagedMultipartFile download(String key, String name) {
+        MediaStorage.checkKey(key);
+        Path path = null;
+        try (S3Object object = amazonS3Client.getObject(bucket, key);
+             InputStream in = object.getObjectContent()) {
+            path = Files.createTempFile("stored-", ".tmp");
+            Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+            return StagedMultipartFile.of(name, key.substring(key.lastIndexOf('/') + 1), object.getObjectMetadata().getContentType(), path);
+        } catch (AmazonS3Exception e) {
+            deleteQuietly(path);
+            if (e.getStatusCode() == NOT_FOUND) {
+                throw new GeneralException(ErrorCode.STORED_FILE_NOT_FOUND);
+            }
+            throw e;
+        } catch (IOException e) {
+            deleteQuietly(path);
+            throw new GeneralException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 임시 디렉토리 정리는 OS 에 맡김
+        }
+    }
 }
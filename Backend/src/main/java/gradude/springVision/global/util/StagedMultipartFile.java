@@ -0,0 +1,105 @@
+package gradude.springVision.global.util;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 요청이 끝난 뒤에도 쓸 수 있도록 임시 파일로 옮겨 둔 업로드 파일
+ * - multipart 임시 파일은 요청 종료 시 삭제되므로 비동기 작업에 넘기기 전에 stage 로 옮겨 둠
+ * - 사용이 끝나면 delete 로 직접 정리
+ */
+public class StagedMultipartFile implements MultipartFile {
+
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+    private final Path path;
+
+    private StagedMultipartFile(String name, String originalFilename, String contentType, long size, Path path) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+        this.path = path;
+    }
+
+    /**
+     * 업로드 파일을 임시 파일로 이동 (디스크에 저장된 multipart 는 복사 없이 rename)
+     */
+    public static StagedMultipartFile stage(MultipartFile file) throws IOException {
+        Path path = Files.createTempFile("upload-", ".tmp");
+        try {
+            file.transferTo(path.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return new StagedMultipartFile(file.getName(), file.getOriginalFilename(), file.getContentType(), file.getSize(), path);
+    }
+
+    /**
+     * 서버에서 만든 임시 파일을 업로드 파일처럼 감싸기 (예: 정규화한 음성)
+     */
+    public static StagedMultipartFile of(String name, String originalFilename, String contentType, Path path) throws IOException {
+        return new StagedMultipartFile(name, originalFilename, contentType, Files.size(path), path);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 임시 디렉토리 정리는 OS 에 맡김
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,50 @@
+-- 병원 좌표 공간 컬럼 + SPATIAL INDEX
+-- location 은 latitude/longitude 로부터 계산되는 STORED 생성 컬럼이라 추가 시점에 기존 행이 모두 채워지고,
+-- 이후 latitude/longitude 가 바뀌면 MySQL 이 함께 갱신함 (애플리케이션에서 따로 쓰지 않음)
+-- SRID 4326 축 순서는 (위도, 경도)
+
+CREATE TABLE IF NOT EXISTS hospital (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    name           VARCHAR(255) NOT NULL,
+    latitude       DOUBLE       NOT NULL,
+    longitude      DOUBLE       NOT NULL,
+    address        VARCHAR(255) NOT NULL,
+    phone_number   VARCHAR(255) NOT NULL,
+    emergency      BIT          NOT NULL,
+    stroke_center  BIT          NOT NULL,
+    monday         VARCHAR(255),
+    tuesday        VARCHAR(255),
+    wednesday      VARCHAR(255),
+    thursday       VARCHAR(255),
+    friday         VARCHAR(255),
+    saturday       VARCHAR(255),
+    sunday         VARCHAR(255),
+    created_at     DATETIME(6),
+    updated_at     DATETIME(6),
+    location       POINT SRID 4326 GENERATED ALWAYS AS (ST_SRID(POINT(latitude, longitude), 4326)) STORED NOT NULL,
+    PRIMARY KEY (id),
+    SPATIAL INDEX idx_hospital_location (location)
+) ENGINE = InnoDB;
+
+-- 기존 hospital 테이블 (Hibernate ddl-auto 로 생성된 경우)
+SET @add_location = (
+    SELECT IF(COUNT(*) = 0,
+              'ALTER TABLE hospital ADD COLUMN location POINT SRID 4326 GENERATED ALWAYS AS (ST_SRID(POINT(latitude, longitude), 4326)) STORED NOT NULL',
+              'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'hospital' AND column_name = 'location'
+);
+PREPARE stmt FROM @add_location;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @add_location_index = (
+    SELECT IF(COUNT(*) = 0,
+              'ALTER TABLE hospital ADD SPATIAL INDEX idx_hospital_location (location)',
+              'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'hospital' AND index_name = 'idx_hospital_location'
+);
+PREPARE stmt FROM @add_location_index;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
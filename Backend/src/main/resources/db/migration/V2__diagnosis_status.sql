@@ -0,0 +1,16 @@
+-- AI 자가진단 비동기 작업 상태
+-- 기존 진단 기록은 모두 동기 방식으로 완료된 것이므로 COMPLETED 로 채움
+-- diagnosis 테이블이 아직 없으면 (신규 DB) V4 가 status / failure_* 컬럼까지 포함해서 생성하므로 건너뜀
+
+SET @add_status = (
+    SELECT IF(
+        EXISTS(SELECT 1 FROM information_schema.tables
+               WHERE table_schema = DATABASE() AND table_name = 'diagnosis')
+        AND NOT EXISTS(SELECT 1 FROM information_schema.columns
+                       WHERE table_schema = DATABASE() AND table_name = 'diagnosis' AND column_name = 'status'),
+        'ALTER TABLE diagnosis ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT ''COMPLETED'', ADD COLUMN failure_code VARCHAR(255), ADD COLUMN failure_message VARCHAR(255)',
+        'DO 0')
+);
+PREPARE stmt FROM @add_status;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
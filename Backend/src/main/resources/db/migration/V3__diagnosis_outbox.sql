@@ -0,0 +1,16 @@
+-- 자가진단 후속 작업 outbox
+-- 진단 저장과 같은 트랜잭션에서 기록, 후속 작업 결과 저장 시 삭제 (남아 있는 행 = 처리할 작업)
+
+CREATE TABLE IF NOT EXISTS diagnosis_outbox (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    diagnosis_id BIGINT      NOT NULL,
+    type         VARCHAR(30) NOT NULL,
+    symptoms     INT         NOT NULL,
+    attempts     INT         NOT NULL,
+    available_at DATETIME(6) NOT NULL,
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_diagnosis_outbox_available_at (available_at),
+    INDEX idx_diagnosis_outbox_diagnosis_id (diagnosis_id)
+);
@@ -0,0 +1,54 @@
+-- 신규 DB 용 기본 테이블 (Flyway 가 Hibernate 보다 먼저 실행되므로 V5 인덱스 등이 참조할 diagnosis 테이블을 먼저 생성)
+-- 기존 DB 에는 이미 있으므로 모두 IF NOT EXISTS, 컬럼 정의는 Hibernate 가 만들던 것을 옮겨 적은 것
+-- 엔티티에 컬럼이 추가되면 ddl-auto: update 가 이어서 추가함 (이 파일은 고치지 않음)
+-- diagnosis.status / failure_* 는 V2 에서 기존 테이블에 추가한 것과 같은 정의
+
+CREATE TABLE IF NOT EXISTS `user` (
+    id                      BIGINT                  NOT NULL AUTO_INCREMENT,
+    kakao_id                BIGINT                  NOT NULL,
+    nickname                VARCHAR(10)             NOT NULL,
+    gender                  ENUM ('FEMALE', 'MALE') NOT NULL,
+    birth                   DATE                    NOT NULL,
+    face_recognition_agreed BIT                     NOT NULL,
+    profile_image_url       VARCHAR(255),
+    created_at              DATETIME(6),
+    updated_at              DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_kakao_id UNIQUE (kakao_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS diary (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    drinking     INT         NOT NULL,
+    smoking      INT         NOT NULL,
+    exercise     INT         NOT NULL,
+    diet         INT         NOT NULL,
+    sleep        INT         NOT NULL,
+    health_score INT         NOT NULL,
+    user_id      BIGINT      NOT NULL,
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_diary_user FOREIGN KEY (user_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS diagnosis (
+    id                 BIGINT      NOT NULL AUTO_INCREMENT,
+    face               BIT         NOT NULL,
+    face_probability   DOUBLE      NOT NULL,
+    speech             BIT         NOT NULL,
+    speech_probability DOUBLE      NOT NULL,
+    gaze               INT         NOT NULL,
+    orientation        INT         NOT NULL,
+    arm                INT         NOT NULL,
+    total_score        INT         NOT NULL,
+    llm_result         TEXT,
+    status             VARCHAR(20) NOT NULL DEFAULT 'COMPLETED',
+    failure_code       VARCHAR(255),
+    failure_message    VARCHAR(255),
+    user_id            BIGINT      NOT NULL,
+    created_at         DATETIME(6),
+    updated_at         DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_diagnosis_user FOREIGN KEY (user_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
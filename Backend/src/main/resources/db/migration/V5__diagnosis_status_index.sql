@@ -0,0 +1,3 @@
+-- 중단된 AI 자가진단 작업 정리 (status IN (PENDING, PROCESSING) AND updated_at < ?) 용 인덱스
+
+CREATE INDEX idx_diagnosis_status_updated_at ON diagnosis (status, updated_at);
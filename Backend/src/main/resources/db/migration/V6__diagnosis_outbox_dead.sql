@@ -0,0 +1,7 @@
+-- 재처리를 포기한 outbox 는 삭제하지 않고 dead 로 표시 (원인 확인 후 dead_at 을 NULL 로 되돌리면 다시 처리)
+-- relay 는 dead_at IS NULL AND available_at <= ? 순서로 조회
+
+ALTER TABLE diagnosis_outbox
+    ADD COLUMN dead_at    DATETIME(6),
+    ADD COLUMN last_error VARCHAR(255),
+    ADD INDEX idx_diagnosis_outbox_dead_at_available_at (dead_at, available_at);
@@ -0,0 +1,183 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.domain.diagnosis.dto.response.AiDiagnosisResponseDTO;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 안면 / 음성 AI 자가진단 호출
+ * - AI 서버는 URL 별 응답을 돌려주는 가짜 RestTemplate, 추론 캐시는 메모리 Map
+ * - bulkhead / circuit breaker 는 메모리 레지스트리 (모델 서버별 이름: facial, speech)
+ */
+class AiInferenceServiceTest {
+
+    private static final String FACIAL_URL = "http://ai/facial";
+    private static final String SPEECH_URL = "http://ai/speech";
+    private static final int MAX_CONCURRENT_CALLS = 2;
+
+    private final Map<String, String> cache = new ConcurrentHashMap<>();
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    private BulkheadRegistry bulkheadRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private AiInferenceService service;
+
+    private Function<String, Map<String, Object>> aiServer;
+
+    @BeforeEach
+    void setUp() {
+        cache.clear();
+        calls.clear();
+        aiServer = url -> FACIAL_URL.equals(url)
+                ? Map.of("prediction", 1, "probability", 0.9)
+                : Map.of("prediction", 0, "probability", 0.2);
+
+        RestTemplate restTemplate = new RestTemplate() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> ResponseEntity<T> postForEntity(String url, Object request, Class<T> responseType, Object... uriVariables) {
+                calls.add(url);
+                return (ResponseEntity<T>) ResponseEntity.ok(aiServer.apply(url));
+            }
+        };
+        executor.initialize();
+
+        bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(MAX_CONCURRENT_CALLS).maxWaitDuration(Duration.ZERO).build());
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        service = new AiInferenceService(null, executor, new SimpleMeterRegistry(), restTemplate, redisTemplate(),
+                circuitBreakerRegistry, bulkheadRegistry, new SpeechAudioNormalizer());
+        ReflectionTestUtils.setField(service, "facialApiUrl", FACIAL_URL);
+        ReflectionTestUtils.setField(service, "speechApiUrl", SPEECH_URL);
+        ReflectionTestUtils.setField(service, "uploadTimeout", 5_000L);
+        ReflectionTestUtils.setField(service, "inferenceTimeout", 5_000L);
+        ReflectionTestUtils.setField(service, "facialModelVersion", "v1");
+        ReflectionTestUtils.setField(service, "speechModelVersion", "v1");
+        ReflectionTestUtils.setField(service, "inferenceCacheTtlDays", 1L);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void 안면_음성_결과를_합치고_bulkhead_자리를_돌려줌() {
+        AiDiagnosisResponseDTO result = service.inferStored(file("face.mp4"), file("speech.wav"));
+
+        assertTrue(result.isFacePrediction());
+        assertEquals(0.9, result.getFaceProbality());
+        assertFalse(result.isSpeechPrediction());
+        assertEquals(0.2, result.getSpeechProbality());
+        assertEquals(2, calls.size());
+        assertEquals(MAX_CONCURRENT_CALLS, availablePermits("facial"));
+        assertEquals(MAX_CONCURRENT_CALLS, availablePermits("speech"));
+    }
+
+    @Test
+    void bulkhead_가_가득_차면_AI_SERVER_BUSY() {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead("facial");
+        for (int i = 0; i < MAX_CONCURRENT_CALLS; i++) {
+            assertTrue(bulkhead.tryAcquirePermission());
+        }
+
+        assertError(ErrorCode.AI_SERVER_BUSY, () -> service.inferStored(file("face.mp4"), file("speech.wav")));
+        assertFalse(calls.contains(FACIAL_URL));
+        assertTrue(cache.keySet().stream().noneMatch(key -> key.startsWith("aiInference:face:")));
+    }
+
+    @Test
+    void circuit_breaker_가_열려_있으면_AI_BACKEND_UNAVAILABLE_이고_bulkhead_자리를_돌려줌() {
+        circuitBreakerRegistry.circuitBreaker("speech").transitionToOpenState();
+
+        assertError(ErrorCode.AI_BACKEND_UNAVAILABLE, () -> service.inferStored(file("face.mp4"), file("speech.wav")));
+        assertFalse(calls.contains(SPEECH_URL));
+        assertEquals(MAX_CONCURRENT_CALLS, availablePermits("speech"));
+    }
+
+    @Test
+    void 작업이_시간_안에_끝나지_않으면_AI_TIMEOUT_이고_남은_작업을_취소() throws Exception {
+        ReflectionTestUtils.setField(service, "inferenceTimeout", 100L);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        aiServer = url -> {
+            if (SPEECH_URL.equals(url)) {
+                return Map.of("prediction", 0, "probability", 0.2);
+            }
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return Map.of("prediction", 1, "probability", 0.9);
+        };
+
+        long startedAt = System.nanoTime();
+        assertError(ErrorCode.AI_TIMEOUT, () -> service.inferStored(file("face.mp4"), file("speech.wav")));
+
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(2));
+        assertTrue(cancelled.await(1, TimeUnit.SECONDS), "시간 초과된 안면 작업이 취소되지 않음");
+    }
+
+    private int availablePermits(String backend) {
+        return bulkheadRegistry.bulkhead(backend).getMetrics().getAvailableConcurrentCalls();
+    }
+
+    private static MultipartFile file(String filename) {
+        return new MockMultipartFile("file", filename, "application/octet-stream", filename.getBytes());
+    }
+
+    private static void assertError(ErrorCode errorCode, Runnable call) {
+        assertEquals(errorCode, assertThrows(GeneralException.class, call::run).getErrorCode());
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisTemplate<String, String> redisTemplate() {
+        ValueOperations<String, String> values = (ValueOperations<String, String>) Proxy.newProxyInstance(ValueOperations.class.getClassLoader(),
+                new Class<?>[]{ValueOperations.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "get" -> cache.get((String) args[0]);
+                    case "set" -> {
+                        cache.put((String) args[0], (String) args[1]);
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return new RedisTemplate<>() {
+            @Override
+            public ValueOperations<String, String> opsForValue() {
+                return values;
+            }
+        };
+    }
+}
@@ -0,0 +1,211 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.domain.diagnosis.dto.request.StoredDiagnosisRequestDTO;
+import gradude.springVision.domain.diagnosis.dto.response.AiDiagnosisResponseDTO;
+import gradude.springVision.domain.diagnosis.entity.Diagnosis;
+import gradude.springVision.domain.diagnosis.repository.DiagnosisRepository;
+import gradude.springVision.domain.user.entity.User;
+import gradude.springVision.domain.user.repository.UserRepository;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import gradude.springVision.global.util.MediaStorage;
+import gradude.springVision.global.util.StagedMultipartFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 저장소에 직접 올린 파일의 자가진단 (aiDiagnosisStored)
+ * - 저장소는 키별 크기만 가진 가짜 MediaStorage, 내려받기는 빈 임시 파일
+ * - 키 / 크기 확인이 내려받기보다 먼저인지 호출 순서로 확인
+ */
+class DiagnosisCommandServiceTest {
+
+    private static final long USER_ID = 1L;
+    private static final String VIDEO_KEY = "video/1/face.mp4";
+    private static final String AUDIO_KEY = "audio/1/speech.wav";
+
+    private final Map<String, Long> objectSizes = new ConcurrentHashMap<>();
+    private final List<String> storageCalls = new CopyOnWriteArrayList<>();
+    private final List<StagedMultipartFile> downloaded = new ArrayList<>();
+    private final List<Diagnosis> saved = new ArrayList<>();
+
+    private DiagnosisCommandService service;
+    private int inferCalls;
+
+    @BeforeEach
+    void setUp() {
+        objectSizes.clear();
+        storageCalls.clear();
+        downloaded.clear();
+        saved.clear();
+        inferCalls = 0;
+        objectSizes.put(VIDEO_KEY, DataSize.ofMegabytes(1).toBytes());
+        objectSizes.put(AUDIO_KEY, DataSize.ofKilobytes(100).toBytes());
+
+        AiInferenceService aiInferenceService = new AiInferenceService(null, null, null, null, null, null, null, null) {
+            @Override
+            public AiDiagnosisResponseDTO inferStored(MultipartFile mp4File, MultipartFile wavFile) {
+                inferCalls++;
+                return AiDiagnosisResponseDTO.of(true, 0.9, false, 0.2);
+            }
+        };
+        // 크기 제한은 실제 검사, 내려받은 파일 내용 검사는 생략
+        MediaUploadValidator validator = new MediaUploadValidator() {
+            @Override
+            public void validate(MultipartFile mp4File, MultipartFile wavFile) {
+            }
+        };
+        ReflectionTestUtils.setField(validator, "videoMaxSize", DataSize.ofMegabytes(10));
+        ReflectionTestUtils.setField(validator, "audioMaxSize", DataSize.ofMegabytes(1));
+
+        service = new DiagnosisCommandService(userRepository(), diagnosisRepository(), null, null, null,
+                aiInferenceService, validator, mediaStorage(), transactionTemplate());
+    }
+
+    @Test
+    void 본인_키와_제한_안의_크기면_내려받아_추론하고_임시_파일을_지움() {
+        AiDiagnosisResponseDTO result = service.aiDiagnosisStored(USER_ID, request(VIDEO_KEY, AUDIO_KEY));
+
+        assertTrue(result.isFacePrediction());
+        assertEquals(List.of("size " + VIDEO_KEY, "size " + AUDIO_KEY, "download " + VIDEO_KEY, "download " + AUDIO_KEY), storageCalls);
+        assertEquals(1, inferCalls);
+        assertEquals(1, saved.size());
+        assertEquals(0.9, saved.get(0).getFaceProbability());
+        assertEquals(2, downloaded.size());
+        downloaded.forEach(file -> assertFalse(Files.exists(file.getPath())));
+    }
+
+    @Test
+    void 크기_제한을_넘으면_내려받기_전에_FILE_SIZE_EXCEEDED() {
+        objectSizes.put(VIDEO_KEY, DataSize.ofMegabytes(10).toBytes() + 1);
+
+        assertError(ErrorCode.FILE_SIZE_EXCEEDED, () -> service.aiDiagnosisStored(USER_ID, request(VIDEO_KEY, AUDIO_KEY)));
+        assertTrue(storageCalls.stream().noneMatch(call -> call.startsWith("download")));
+        assertEquals(0, inferCalls);
+        assertTrue(saved.isEmpty());
+
+        objectSizes.put(VIDEO_KEY, 1L);
+        objectSizes.put(AUDIO_KEY, DataSize.ofMegabytes(1).toBytes() + 1);
+        assertError(ErrorCode.FILE_SIZE_EXCEEDED, () -> service.aiDiagnosisStored(USER_ID, request(VIDEO_KEY, AUDIO_KEY)));
+        assertTrue(storageCalls.stream().noneMatch(call -> call.startsWith("download")));
+    }
+
+    @Test
+    void 다른_사용자의_키면_저장소를_조회하기_전에_FORBIDDEN() {
+        objectSizes.put("video/2/face.mp4", 1L);
+
+        assertError(ErrorCode.FORBIDDEN, () -> service.aiDiagnosisStored(USER_ID, request("video/2/face.mp4", AUDIO_KEY)));
+        assertError(ErrorCode.FORBIDDEN, () -> service.aiDiagnosisStored(USER_ID, request(VIDEO_KEY, "video/1/face.mp4")));
+        assertTrue(storageCalls.isEmpty());
+        assertEquals(0, inferCalls);
+    }
+
+    private static StoredDiagnosisRequestDTO request(String videoKey, String audioKey) {
+        return StoredDiagnosisRequestDTO.builder().videoKey(videoKey).audioKey(audioKey).build();
+    }
+
+    private static void assertError(ErrorCode errorCode, Runnable call) {
+        assertEquals(errorCode, assertThrows(GeneralException.class, call::run).getErrorCode());
+    }
+
+    private MediaStorage mediaStorage() {
+        return fake(MediaStorage.class, (name, args) -> switch (name) {
+            case "getObjectSize" -> {
+                storageCalls.add("size " + args[0]);
+                Long size = objectSizes.get((String) args[0]);
+                if (size == null) {
+                    throw new GeneralException(ErrorCode.STORED_FILE_NOT_FOUND);
+                }
+                yield size;
+            }
+            case "download" -> {
+                storageCalls.add("download " + args[0]);
+                try {
+                    StagedMultipartFile file = StagedMultipartFile.of((String) args[1], (String) args[0], "application/octet-stream",
+                            Files.createTempFile("stored", ".tmp"));
+                    downloaded.add(file);
+                    yield file;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private UserRepository userRepository() {
+        User user = User.builder().id(USER_ID).nickname("tester").build();
+        return fake(UserRepository.class, (name, args) -> switch (name) {
+            case "existsById" -> USER_ID == (Long) args[0];
+            case "getReferenceById" -> user;
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private DiagnosisRepository diagnosisRepository() {
+        return fake(DiagnosisRepository.class, (name, args) -> switch (name) {
+            case "save" -> {
+                saved.add((Diagnosis) args[0]);
+                yield args[0];
+            }
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    // 트랜잭션 경계만 지나가고 실제 트랜잭션은 없음
+    private static TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(String name, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T fake(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.getName().equals("equals") ? proxy == args[0] : method.getName().equals("hashCode") ? System.identityHashCode(proxy) : type.getSimpleName();
+            }
+            return handler.handle(method.getName(), args);
+        });
+    }
+}
@@ -0,0 +1,312 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.domain.diagnosis.dto.response.AiDiagnosisResponseDTO;
+import gradude.springVision.domain.diagnosis.entity.Diagnosis;
+import gradude.springVision.domain.diagnosis.entity.DiagnosisStatus;
+import gradude.springVision.domain.diagnosis.repository.DiagnosisRepository;
+import gradude.springVision.domain.user.entity.User;
+import gradude.springVision.domain.user.repository.UserRepository;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 비동기 자가진단 작업의 상태 전이
+ * - 메모리 저장소가 조건부 UPDATE(현재 상태 확인)와 stale 정리를 흉내 냄
+ * - 작업 스레드 풀은 제출된 작업을 모아 두고 테스트가 원하는 시점에 실행
+ */
+class DiagnosisJobServiceTest {
+
+    private static final long USER_ID = 1L;
+    private static final long STALE_TIMEOUT = 600_000;
+
+    private final Map<Long, Diagnosis> diagnoses = new ConcurrentHashMap<>();
+    private final List<Runnable> queued = new ArrayList<>();
+    private final AtomicInteger inferCalls = new AtomicInteger();
+
+    private DiagnosisJobService service;
+    private Inference inference;
+    private boolean rejectTasks;
+
+    @FunctionalInterface
+    private interface Inference {
+        AiDiagnosisResponseDTO infer();
+    }
+
+    @BeforeEach
+    void setUp() {
+        diagnoses.clear();
+        queued.clear();
+        inferCalls.set(0);
+        rejectTasks = false;
+        inference = () -> AiDiagnosisResponseDTO.of(true, 0.9, false, 0.2);
+
+        AiInferenceService aiInferenceService = new AiInferenceService(null, null, null, null, null, null, null, null) {
+            @Override
+            public AiDiagnosisResponseDTO infer(Long userId, MultipartFile mp4File, MultipartFile wavFile, Consumer<String> onBranchDone) {
+                inferCalls.incrementAndGet();
+                return inference.infer();
+            }
+        };
+        MediaUploadValidator validator = new MediaUploadValidator() {
+            @Override
+            public void validate(MultipartFile mp4File, MultipartFile wavFile) {
+            }
+        };
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                if (rejectTasks) {
+                    throw new TaskRejectedException("full");
+                }
+                queued.add(task);
+            }
+        };
+
+        service = new DiagnosisJobService(userRepository(), diagnosisRepository(), aiInferenceService, validator, executor,
+                transactionTemplate());
+        ReflectionTestUtils.setField(service, "staleTimeout", STALE_TIMEOUT);
+    }
+
+    @Test
+    void 접수한_작업은_PENDING_에서_COMPLETED() {
+        Long jobId = submit();
+        assertEquals(DiagnosisStatus.PENDING, job(jobId).getStatus());
+
+        runQueued();
+
+        Diagnosis job = job(jobId);
+        assertEquals(DiagnosisStatus.COMPLETED, job.getStatus());
+        assertTrue(job.isFace());
+        assertEquals(0.9, job.getFaceProbability());
+        assertEquals(0.2, job.getSpeechProbability());
+    }
+
+    @Test
+    void 대기열에서_stale_처리된_작업은_실행하지_않음() {
+        Long jobId = submit();
+        makeStale(jobId);
+        service.failStaleJobs();
+
+        runQueued();
+
+        assertEquals(0, inferCalls.get());
+        assertFailed(jobId, ErrorCode.AI_TIMEOUT);
+    }
+
+    @Test
+    void 추론_중_stale_처리되면_늦게_끝난_결과로_덮어쓰지_않음() {
+        Long jobId = submit();
+        inference = sweepThen(jobId, () -> AiDiagnosisResponseDTO.of(true, 0.9, true, 0.8));
+
+        runQueued();
+
+        assertEquals(1, inferCalls.get());
+        assertFailed(jobId, ErrorCode.AI_TIMEOUT);
+        assertEquals(0.0, job(jobId).getFaceProbability());
+    }
+
+    @Test
+    void 추론_중_stale_처리되면_늦게_실패해도_실패_사유를_덮어쓰지_않음() {
+        Long jobId = submit();
+        inference = sweepThen(jobId, () -> {
+            throw new GeneralException(ErrorCode.AI_CALL_FAILED);
+        });
+
+        runQueued();
+
+        assertFailed(jobId, ErrorCode.AI_TIMEOUT);
+    }
+
+    @Test
+    void 추론_실패는_FAILED() {
+        Long jobId = submit();
+        inference = () -> {
+            throw new GeneralException(ErrorCode.AI_CALL_FAILED);
+        };
+
+        runQueued();
+
+        assertFailed(jobId, ErrorCode.AI_CALL_FAILED);
+    }
+
+    @Test
+    void 작업_스레드_풀이_가득_차면_PENDING_에서_바로_FAILED() {
+        rejectTasks = true;
+
+        GeneralException e = assertThrows(GeneralException.class,
+                () -> service.submit(USER_ID, file("a.mp4"), file("a.wav")));
+
+        assertEquals(ErrorCode.AI_SERVER_BUSY, e.getErrorCode());
+        assertEquals(1, diagnoses.size());
+        assertFailed(diagnoses.keySet().iterator().next(), ErrorCode.AI_SERVER_BUSY);
+    }
+
+    private Long submit() {
+        return service.submit(USER_ID, file("a.mp4"), file("a.wav")).getJobId();
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = List.copyOf(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    // 추론 도중 stale-timeout 이 지나 정리 작업이 먼저 FAILED 로 바꾼 상황
+    private Inference sweepThen(Long jobId, Inference then) {
+        return () -> {
+            assertEquals(DiagnosisStatus.PROCESSING, job(jobId).getStatus());
+            makeStale(jobId);
+            service.failStaleJobs();
+            return then.infer();
+        };
+    }
+
+    private void makeStale(Long jobId) {
+        ReflectionTestUtils.setField(job(jobId), "updatedAt", LocalDateTime.now().minusMinutes(20));
+    }
+
+    private void assertFailed(Long jobId, ErrorCode errorCode) {
+        Diagnosis job = job(jobId);
+        assertEquals(DiagnosisStatus.FAILED, job.getStatus());
+        assertEquals(errorCode.getCode(), job.getFailureCode());
+    }
+
+    private Diagnosis job(Long jobId) {
+        return diagnoses.get(jobId);
+    }
+
+    private static MultipartFile file(String filename) {
+        return new MockMultipartFile("file", filename, "application/octet-stream", new byte[16]);
+    }
+
+    // 트랜잭션 경계만 지나가고 실제 트랜잭션은 없음
+    private static TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        });
+    }
+
+    private UserRepository userRepository() {
+        User user = User.builder().id(USER_ID).nickname("tester").build();
+        return fake(UserRepository.class, (name, args) -> switch (name) {
+            case "findById" -> Optional.of(user);
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    /**
+     * 조건부 UPDATE 는 현재 상태가 expected 일 때만 바꾸고 바뀐 행 수를 반환
+     */
+    private DiagnosisRepository diagnosisRepository() {
+        AtomicLong ids = new AtomicLong();
+        return fake(DiagnosisRepository.class, (name, args) -> switch (name) {
+            case "save" -> {
+                Diagnosis diagnosis = (Diagnosis) args[0];
+                ReflectionTestUtils.setField(diagnosis, "id", ids.incrementAndGet());
+                ReflectionTestUtils.setField(diagnosis, "updatedAt", LocalDateTime.now());
+                diagnoses.put(diagnosis.getId(), diagnosis);
+                yield diagnosis;
+            }
+            case "findById" -> Optional.ofNullable(diagnoses.get((Long) args[0]));
+            case "findByIdAndUserId" -> Optional.ofNullable(diagnoses.get((Long) args[0]));
+            case "updateStatus" -> transition((Long) args[0], (DiagnosisStatus) args[1], (DiagnosisStatus) args[2], (LocalDateTime) args[3],
+                    job -> {
+                    });
+            case "complete" -> transition((Long) args[0], (DiagnosisStatus) args[1], (DiagnosisStatus) args[2], (LocalDateTime) args[7],
+                    job -> {
+                        ReflectionTestUtils.setField(job, "face", args[3]);
+                        ReflectionTestUtils.setField(job, "faceProbability", args[4]);
+                        ReflectionTestUtils.setField(job, "speech", args[5]);
+                        ReflectionTestUtils.setField(job, "speechProbability", args[6]);
+                    });
+            case "fail" -> transition((Long) args[0], (DiagnosisStatus) args[1], (DiagnosisStatus) args[2], (LocalDateTime) args[5],
+                    job -> failure(job, (String) args[3], (String) args[4]));
+            case "failStaleJobs" -> {
+                @SuppressWarnings("unchecked")
+                Collection<DiagnosisStatus> statuses = (Collection<DiagnosisStatus>) args[0];
+                LocalDateTime staleBefore = (LocalDateTime) args[1];
+                int updated = 0;
+                for (Diagnosis job : diagnoses.values()) {
+                    if (statuses.contains(job.getStatus()) && job.getUpdatedAt().isBefore(staleBefore)) {
+                        ReflectionTestUtils.setField(job, "status", args[2]);
+                        ReflectionTestUtils.setField(job, "updatedAt", args[5]);
+                        failure(job, (String) args[3], (String) args[4]);
+                        updated++;
+                    }
+                }
+                yield updated;
+            }
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private int transition(Long id, DiagnosisStatus expected, DiagnosisStatus next, LocalDateTime now, Consumer<Diagnosis> change) {
+        Diagnosis job = diagnoses.get(id);
+        if (job == null || job.getStatus() != expected) {
+            return 0;
+        }
+        ReflectionTestUtils.setField(job, "status", next);
+        ReflectionTestUtils.setField(job, "updatedAt", now);
+        change.accept(job);
+        return 1;
+    }
+
+    private static void failure(Diagnosis job, String failureCode, String failureMessage) {
+        ReflectionTestUtils.setField(job, "failureCode", failureCode);
+        ReflectionTestUtils.setField(job, "failureMessage", failureMessage);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(String name, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T fake(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.getName().equals("equals") ? proxy == args[0] : method.getName().equals("hashCode") ? System.identityHashCode(proxy) : type.getSimpleName();
+            }
+            return handler.handle(method.getName(), args);
+        });
+    }
+}
@@ -0,0 +1,234 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.domain.diagnosis.dto.response.LlmDiagnosisResponseDTO;
+import gradude.springVision.domain.diagnosis.entity.DiagnosisOutbox;
+import gradude.springVision.domain.diagnosis.entity.DiagnosisOutboxType;
+import gradude.springVision.domain.diagnosis.repository.DiagnosisOutboxRepository;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 자가진단 outbox 재처리
+ * - 메모리 저장소가 조건부 선점(claim: availableAt 이 읽은 값 그대로일 때만)과 dead 표시를 흉내 냄
+ * - 조회 결과는 저장된 행의 복사본 (선점 UPDATE 가 이미 읽은 엔티티를 바꾸지 않는 것과 같음)
+ */
+class DiagnosisOutboxRelayTest {
+
+    private static final long DIAGNOSIS_ID = 10L;
+    private static final int SYMPTOMS = 0b011;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final Map<Long, DiagnosisOutbox> outbox = new ConcurrentHashMap<>();
+    private final Map<Long, String> savedResults = new ConcurrentHashMap<>();
+    private final AtomicInteger llmCalls = new AtomicInteger();
+
+    private DiagnosisOutboxRelay relay;
+    private RuntimeException saveFailure;
+    private Runnable afterFind;
+
+    @BeforeEach
+    void setUp() {
+        outbox.clear();
+        savedResults.clear();
+        llmCalls.set(0);
+        saveFailure = null;
+        afterFind = () -> {
+        };
+
+        LlmDiagnosisService llmDiagnosisService = new LlmDiagnosisService(null, null, null, null, null) {
+            @Override
+            public LlmDiagnosisResponseDTO analyzeSymptoms(int symptomMask) {
+                llmCalls.incrementAndGet();
+                return new LlmDiagnosisResponseDTO("소견 " + symptomMask);
+            }
+        };
+        // 실제 구현처럼 결과 저장과 같은 트랜잭션에서 outbox 삭제
+        DiagnosisCommandService diagnosisCommandService = new DiagnosisCommandService(null, null, null, null, null, null, null, null, null) {
+            @Override
+            public void saveLlmResult(Long diagnosisId, String llmResult) {
+                if (saveFailure != null) {
+                    throw saveFailure;
+                }
+                savedResults.put(diagnosisId, llmResult);
+                outbox.values().removeIf(event -> event.getDiagnosisId().equals(diagnosisId));
+            }
+        };
+
+        relay = new DiagnosisOutboxRelay(outboxRepository(), diagnosisCommandService, llmDiagnosisService, transactionTemplate());
+        ReflectionTestUtils.setField(relay, "lease", 0L); // 실패하면 다음 relay 에서 바로 다시 처리
+        ReflectionTestUtils.setField(relay, "batchSize", 20);
+        ReflectionTestUtils.setField(relay, "maxAttempts", MAX_ATTEMPTS);
+    }
+
+    @Test
+    void 남아_있는_outbox_는_LLM_소견을_저장하고_삭제() {
+        add(1L);
+
+        relay.relay();
+
+        assertEquals(1, llmCalls.get());
+        assertEquals("소견 " + SYMPTOMS, savedResults.get(DIAGNOSIS_ID));
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    void 다른_인스턴스가_먼저_선점하면_처리하지_않음() {
+        add(1L);
+        // 조회와 선점 사이에 다른 인스턴스가 availableAt 을 lease 만큼 미룸
+        afterFind = () -> ReflectionTestUtils.setField(outbox.get(1L), "availableAt", LocalDateTime.now().plusMinutes(6));
+
+        relay.relay();
+
+        assertEquals(0, llmCalls.get());
+        assertEquals(0, outbox.get(1L).getAttempts());
+        assertTrue(savedResults.isEmpty());
+    }
+
+    @Test
+    void max_attempts_만큼_실패하면_dead_로_남기고_더_처리하지_않음() {
+        add(1L);
+        saveFailure = new IllegalStateException("db down");
+
+        for (int i = 1; i < MAX_ATTEMPTS; i++) {
+            relay.relay();
+            assertEquals(i, outbox.get(1L).getAttempts());
+            assertNull(outbox.get(1L).getDeadAt());
+        }
+        relay.relay();
+
+        DiagnosisOutbox dead = outbox.get(1L);
+        assertEquals(MAX_ATTEMPTS, dead.getAttempts());
+        assertNotNull(dead.getDeadAt());
+        assertEquals("IllegalStateException: db down", dead.getLastError());
+
+        relay.relay();
+        assertEquals(MAX_ATTEMPTS, llmCalls.get());
+    }
+
+    @Test
+    void 진단이_삭제되었으면_outbox_만_삭제() {
+        add(1L);
+        saveFailure = new GeneralException(ErrorCode.DIAGNOSIS_NOT_FOUND);
+
+        relay.relay();
+
+        assertTrue(outbox.isEmpty());
+        assertTrue(savedResults.isEmpty());
+    }
+
+    @Test
+    void 다른_오류는_outbox_를_남겨_다시_처리() {
+        add(1L);
+        saveFailure = new GeneralException(ErrorCode.LLM_CALL_FAILED);
+
+        relay.relay();
+        assertEquals(1, outbox.get(1L).getAttempts());
+        assertNull(outbox.get(1L).getDeadAt());
+
+        saveFailure = null;
+        relay.relay();
+        assertTrue(outbox.isEmpty());
+        assertEquals(2, llmCalls.get());
+    }
+
+    private void add(Long id) {
+        outbox.put(id, DiagnosisOutbox.builder()
+                .id(id)
+                .diagnosisId(DIAGNOSIS_ID)
+                .type(DiagnosisOutboxType.LLM_RESULT)
+                .symptoms(SYMPTOMS)
+                .availableAt(LocalDateTime.now().minusMinutes(1))
+                .build());
+    }
+
+    private static DiagnosisOutbox copy(DiagnosisOutbox event) {
+        return DiagnosisOutbox.builder()
+                .id(event.getId())
+                .diagnosisId(event.getDiagnosisId())
+                .type(event.getType())
+                .symptoms(event.getSymptoms())
+                .attempts(event.getAttempts())
+                .availableAt(event.getAvailableAt())
+                .deadAt(event.getDeadAt())
+                .lastError(event.getLastError())
+                .build();
+    }
+
+    private DiagnosisOutboxRepository outboxRepository() {
+        return (DiagnosisOutboxRepository) Proxy.newProxyInstance(DiagnosisOutboxRepository.class.getClassLoader(),
+                new Class<?>[]{DiagnosisOutboxRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findByDeadAtIsNullAndAvailableAtLessThanEqualOrderByAvailableAt" -> {
+                        LocalDateTime now = (LocalDateTime) args[0];
+                        List<DiagnosisOutbox> events = new ArrayList<>(outbox.values().stream()
+                                .filter(event -> event.getDeadAt() == null && !event.getAvailableAt().isAfter(now))
+                                .sorted(Comparator.comparing(DiagnosisOutbox::getAvailableAt))
+                                .limit(((Pageable) args[1]).getPageSize())
+                                .map(DiagnosisOutboxRelayTest::copy)
+                                .toList());
+                        afterFind.run();
+                        yield events;
+                    }
+                    case "claim" -> {
+                        DiagnosisOutbox event = outbox.get((Long) args[0]);
+                        if (event == null || !event.getAvailableAt().equals(args[1])) {
+                            yield 0;
+                        }
+                        ReflectionTestUtils.setField(event, "availableAt", args[2]);
+                        ReflectionTestUtils.setField(event, "attempts", event.getAttempts() + 1);
+                        yield 1;
+                    }
+                    case "markDead" -> {
+                        DiagnosisOutbox event = outbox.get((Long) args[0]);
+                        ReflectionTestUtils.setField(event, "deadAt", args[1]);
+                        ReflectionTestUtils.setField(event, "lastError", args[2]);
+                        yield 1;
+                    }
+                    case "deleteById" -> {
+                        outbox.remove((Long) args[0]);
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // 트랜잭션 경계만 지나가고 실제 트랜잭션은 없음
+    private static TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        });
+    }
+}
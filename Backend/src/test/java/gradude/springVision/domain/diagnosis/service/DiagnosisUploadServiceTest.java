@@ -0,0 +1,39 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DiagnosisUploadServiceTest {
+
+    private static final long USER_ID = 1L;
+
+    @Test
+    void 본인_디렉토리_키는_허용() {
+        assertDoesNotThrow(() -> DiagnosisUploadService.checkOwner(USER_ID, DiagnosisUploadService.VIDEO_DIR, "video/1/abc.mp4"));
+        assertDoesNotThrow(() -> DiagnosisUploadService.checkOwner(USER_ID, DiagnosisUploadService.AUDIO_DIR, "audio/1/abc.wav"));
+    }
+
+    @Test
+    void 다른_사용자의_키는_FORBIDDEN() {
+        assertForbidden(DiagnosisUploadService.VIDEO_DIR, "video/2/abc.mp4");
+        // userId 가 앞자리만 같은 경우
+        assertForbidden(DiagnosisUploadService.VIDEO_DIR, "video/12/abc.mp4");
+        assertForbidden(DiagnosisUploadService.VIDEO_DIR, "video/1abc.mp4");
+    }
+
+    @Test
+    void 다른_디렉토리의_키는_FORBIDDEN() {
+        assertForbidden(DiagnosisUploadService.VIDEO_DIR, "audio/1/abc.wav");
+        assertForbidden(DiagnosisUploadService.AUDIO_DIR, "profile/audio/1/abc.wav");
+    }
+
+    private static void assertForbidden(String dirName, String key) {
+        assertEquals(ErrorCode.FORBIDDEN, assertThrows(GeneralException.class,
+                () -> DiagnosisUploadService.checkOwner(USER_ID, dirName, key)).getErrorCode());
+    }
+}
@@ -0,0 +1,187 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 배치 API 는 파일 이름을 그대로 돌려주는 함수로 대신하고, 보낸 배치를 batches 에 기록
+ */
+class InferenceBatcherTest {
+
+    private static final long LONG_WAIT = 10_000;
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private InferenceBatcher batcher;
+
+    @AfterEach
+    void close() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    @Test
+    void maxSize_가_차면_maxWait_전에_전송() throws Exception {
+        batcher = batcher(3, LONG_WAIT, 16, 1, this::echo);
+
+        List<CompletableFuture<Map<String, Object>>> results = submit("a", "b", "c");
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("abc".substring(i, i + 1), results.get(i).get(1, TimeUnit.SECONDS).get("file"));
+        }
+        assertEquals(List.of(List.of("a", "b", "c")), batches);
+    }
+
+    @Test
+    void maxWait_가_지나면_모인_만큼_전송() throws Exception {
+        batcher = batcher(8, 50, 16, 1, this::echo);
+
+        List<CompletableFuture<Map<String, Object>>> results = submit("a", "b");
+
+        assertEquals("b", results.get(1).get(1, TimeUnit.SECONDS).get("file"));
+        assertEquals(List.of(List.of("a", "b")), batches);
+    }
+
+    @Test
+    void 대기열이_가득_차면_AI_SERVER_BUSY() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        batcher = batcher(1, 0, 1, 1, files -> {
+            sending.countDown();
+            await(release);
+            return echo(files);
+        });
+
+        // 전송 중인 배치가 maxInFlight 개라 수집 스레드가 멈추고 이후 요청은 대기열에 쌓임
+        List<CompletableFuture<Map<String, Object>>> accepted = new ArrayList<>(submit("a"));
+        assertTrue(sending.await(1, TimeUnit.SECONDS));
+
+        GeneralException busy = null;
+        for (int i = 0; i < 10 && busy == null; i++) {
+            try {
+                accepted.add(batcher.submit(file("f" + i)));
+            } catch (GeneralException e) {
+                busy = e;
+            }
+            Thread.sleep(20);
+        }
+
+        assertNotNull(busy);
+        assertEquals(ErrorCode.AI_SERVER_BUSY, busy.getErrorCode());
+
+        release.countDown();
+        for (CompletableFuture<Map<String, Object>> result : accepted) {
+            result.get(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void 응답_개수가_다르면_배치_전체_실패() {
+        batcher = batcher(2, LONG_WAIT, 16, 1, files -> echo(files).subList(0, 1));
+
+        for (CompletableFuture<Map<String, Object>> result : submit("a", "b")) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(ResponseStatusException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void 배치_호출_실패는_모든_요청에_전달() {
+        RuntimeException failure = new IllegalStateException("down");
+        batcher = batcher(2, LONG_WAIT, 16, 1, files -> {
+            throw failure;
+        });
+
+        for (CompletableFuture<Map<String, Object>> result : submit("a", "b")) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+            assertEquals(failure, e.getCause());
+        }
+    }
+
+    @Test
+    void 취소된_요청은_배치에서_빠지고_나머지는_정상_완료() throws Exception {
+        batcher = batcher(8, 100, 16, 1, this::echo);
+
+        List<CompletableFuture<Map<String, Object>>> results = submit("a", "b", "c");
+        results.get(1).cancel(true);
+
+        assertEquals("a", results.get(0).get(1, TimeUnit.SECONDS).get("file"));
+        assertEquals("c", results.get(2).get(1, TimeUnit.SECONDS).get("file"));
+        assertTrue(results.get(1).isCancelled());
+        assertEquals(List.of(List.of("a", "c")), batches);
+    }
+
+    @Test
+    void 모두_취소된_배치는_보내지_않음() throws Exception {
+        batcher = batcher(8, 50, 16, 1, this::echo);
+
+        submit("a", "b").forEach(result -> result.cancel(true));
+        Thread.sleep(200);
+
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    void 종료하면_대기_요청은_AI_SERVER_BUSY() {
+        batcher = batcher(8, LONG_WAIT, 16, 1, this::echo);
+        CompletableFuture<Map<String, Object>> waiting = batcher.submit(file("a"));
+
+        batcher.close();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> waiting.get(1, TimeUnit.SECONDS));
+        assertEquals(ErrorCode.AI_SERVER_BUSY, ((GeneralException) e.getCause()).getErrorCode());
+        assertEquals(ErrorCode.AI_SERVER_BUSY, assertThrows(GeneralException.class, () -> batcher.submit(file("b"))).getErrorCode());
+    }
+
+    private InferenceBatcher batcher(int maxSize, long maxWaitMillis, int queueCapacity, int maxInFlight,
+                                     Function<List<MultipartFile>, List<Map<String, Object>>> batchCall) {
+        return new InferenceBatcher("test", maxSize, maxWaitMillis, queueCapacity, maxInFlight, new SimpleMeterRegistry(), batchCall);
+    }
+
+    private List<Map<String, Object>> echo(List<MultipartFile> files) {
+        batches.add(files.stream().map(MultipartFile::getOriginalFilename).toList());
+        return files.stream().<Map<String, Object>>map(file -> Map.of("file", file.getOriginalFilename())).toList();
+    }
+
+    private List<CompletableFuture<Map<String, Object>>> submit(String... filenames) {
+        List<CompletableFuture<Map<String, Object>>> results = new ArrayList<>();
+        for (String filename : filenames) {
+            results.add(batcher.submit(file(filename)));
+        }
+        return results;
+    }
+
+    private static MultipartFile file(String filename) {
+        return new MockMultipartFile("file", filename, "video/mp4", new byte[8]);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.service.OpenAiService;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 같은 프롬프트 동시 요청의 OpenAI 호출 합치기 (LlmFlight)
+ * - OpenAI 는 호출 수를 세는 가짜 서비스, Redis 캐시는 메모리 Map
+ * - 일반 호출은 테스트가 풀어 줄 때까지 막혀 있고, 스트림은 테스트가 토큰을 직접 흘려보냄
+ */
+class LlmDiagnosisServiceTest {
+
+    private static final int SYMPTOM_MASK = 0b101;
+    private static final int CALLERS = 8;
+
+    private final Map<String, String> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger completionCalls = new AtomicInteger();
+    private final AtomicInteger streamCalls = new AtomicInteger();
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkheadRegistry bulkheadRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private LlmDiagnosisService service;
+
+    private Supplier<String> completion;
+    private Supplier<Flowable<ChatCompletionChunk>> stream;
+
+    @BeforeEach
+    void setUp() {
+        cache.clear();
+        completionCalls.set(0);
+        streamCalls.set(0);
+        completion = () -> "소견";
+        stream = PublishProcessor::create;
+
+        OpenAiService openAiService = new OpenAiService((OpenAiApi) null) {
+            @Override
+            public ChatCompletionResult createChatCompletion(ChatCompletionRequest request) {
+                completionCalls.incrementAndGet();
+                ChatCompletionResult result = new ChatCompletionResult();
+                result.setChoices(List.of(choice(completion.get())));
+                return result;
+            }
+
+            @Override
+            public Flowable<ChatCompletionChunk> streamChatCompletion(ChatCompletionRequest request) {
+                streamCalls.incrementAndGet();
+                return stream.get();
+            }
+        };
+
+        meterRegistry = new SimpleMeterRegistry();
+        bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(CALLERS).maxWaitDuration(Duration.ZERO).build());
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        service = new LlmDiagnosisService(openAiService, redisTemplate(), meterRegistry, circuitBreakerRegistry, bulkheadRegistry);
+        ReflectionTestUtils.setField(service, "model", "gpt-test");
+        ReflectionTestUtils.setField(service, "cacheTtlDays", 1L);
+        service.initPromptVersion();
+    }
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void 동시_요청은_OpenAI_를_한_번만_호출하고_같은_결과() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        completion = () -> {
+            await(release);
+            return "뇌졸중 의심";
+        };
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> service.analyzeSymptoms(SYMPTOM_MASK).getResult()));
+        }
+        // 대표 호출이 OpenAI 에서 막혀 있는 동안 나머지가 모두 합류
+        waitUntil(() -> requests("leader") == 1 && requests("coalesced") == CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("뇌졸중 의심", result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, completionCalls.get());
+        assertEquals(1.0, requests("leader"));
+        assertEquals(CALLERS - 1.0, requests("coalesced"));
+        assertTrue(inFlight().isEmpty());
+        assertEquals(List.of("뇌졸중 의심"), List.copyOf(cache.values()));
+
+        // 이후 요청은 캐시
+        assertEquals("뇌졸중 의심", service.analyzeSymptoms(SYMPTOM_MASK).getResult());
+        assertEquals(1, completionCalls.get());
+        assertEquals(1.0, requests("cache_hit"));
+    }
+
+    @Test
+    void 대표_호출이_실패하면_기다리던_요청도_같은_예외() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RuntimeException failure = new IllegalStateException("openai down");
+        completion = () -> {
+            await(release);
+            throw failure;
+        };
+
+        List<Future<Throwable>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> assertThrows(RuntimeException.class, () -> service.analyzeSymptoms(SYMPTOM_MASK))));
+        }
+        waitUntil(() -> requests("coalesced") == CALLERS - 1);
+        release.countDown();
+
+        for (Future<Throwable> result : results) {
+            assertSame(failure, result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, completionCalls.get());
+        assertTrue(inFlight().isEmpty());
+        assertTrue(cache.isEmpty());
+
+        // 실패한 호출은 남지 않으므로 다음 요청이 새로 호출
+        completion = () -> "소견";
+        assertEquals("소견", service.analyzeSymptoms(SYMPTOM_MASK).getResult());
+        assertEquals(2, completionCalls.get());
+    }
+
+    @Test
+    void 스트림에_늦게_합류하면_지금까지의_내용부터_받음() {
+        PublishProcessor<ChatCompletionChunk> upstream = PublishProcessor.create();
+        stream = () -> upstream;
+
+        Subscriber leader = stream();
+        upstream.onNext(chunk(null)); // role 만 있는 첫 조각
+        upstream.onNext(chunk("얼굴 마비"));
+        upstream.onNext(chunk("와 "));
+
+        Subscriber follower = stream();
+        upstream.onNext(chunk("구음 장애"));
+        upstream.onComplete();
+
+        assertEquals(List.of("얼굴 마비", "와 ", "구음 장애"), leader.tokens);
+        assertEquals(List.of("얼굴 마비와 ", "구음 장애"), follower.tokens);
+        assertEquals("얼굴 마비와 구음 장애", leader.completed);
+        assertEquals("얼굴 마비와 구음 장애", follower.completed);
+        assertEquals(1, streamCalls.get());
+        assertEquals(1.0, requests("leader"));
+        assertEquals(1.0, requests("coalesced"));
+        assertTrue(inFlight().isEmpty());
+        assertEquals(List.of("얼굴 마비와 구음 장애"), List.copyOf(cache.values()));
+    }
+
+    @Test
+    void 스트림_오류는_합류한_구독자에게도_전달되고_진행_중_목록에서_제거() {
+        PublishProcessor<ChatCompletionChunk> upstream = PublishProcessor.create();
+        stream = () -> upstream;
+
+        Subscriber leader = stream();
+        upstream.onNext(chunk("얼굴"));
+        Subscriber follower = stream();
+        RuntimeException failure = new IllegalStateException("stream reset");
+        upstream.onError(failure);
+
+        assertSame(failure, leader.error);
+        assertSame(failure, follower.error);
+        assertNull(leader.completed);
+        assertTrue(inFlight().isEmpty());
+        assertTrue(cache.isEmpty());
+
+        // 다음 요청은 새 스트림
+        stream();
+        assertEquals(2, streamCalls.get());
+    }
+
+    @Test
+    void bulkhead_가_가득_차면_LLM_BUSY_이고_진행_중_목록에서_제거() {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead("openai");
+        for (int i = 0; i < CALLERS; i++) {
+            assertTrue(bulkhead.tryAcquirePermission());
+        }
+
+        Subscriber subscriber = stream();
+
+        assertEquals(ErrorCode.LLM_BUSY, assertInstanceOf(GeneralException.class, subscriber.error).getErrorCode());
+        assertEquals(0, streamCalls.get());
+        assertTrue(inFlight().isEmpty());
+    }
+
+    @Test
+    void circuit_breaker_가_열려_있으면_LLM_UNAVAILABLE_이고_진행_중_목록에서_제거() {
+        circuitBreakerRegistry.circuitBreaker("openai").transitionToOpenState();
+
+        Subscriber subscriber = stream();
+
+        assertEquals(ErrorCode.LLM_UNAVAILABLE, assertInstanceOf(GeneralException.class, subscriber.error).getErrorCode());
+        assertEquals(0, streamCalls.get());
+        assertTrue(inFlight().isEmpty());
+    }
+
+    @Test
+    void 일반_호출도_bulkhead_가_가득_차면_LLM_BUSY() {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead("openai");
+        for (int i = 0; i < CALLERS; i++) {
+            assertTrue(bulkhead.tryAcquirePermission());
+        }
+
+        assertError(ErrorCode.LLM_BUSY, () -> service.analyzeSymptoms(SYMPTOM_MASK));
+        assertEquals(0, completionCalls.get());
+        assertTrue(inFlight().isEmpty());
+    }
+
+    @Test
+    void 일반_호출도_circuit_breaker_가_열려_있으면_LLM_UNAVAILABLE_이고_bulkhead_자리를_돌려줌() {
+        circuitBreakerRegistry.circuitBreaker("openai").transitionToOpenState();
+
+        assertError(ErrorCode.LLM_UNAVAILABLE, () -> service.analyzeSymptoms(SYMPTOM_MASK));
+        assertEquals(0, completionCalls.get());
+        assertEquals(CALLERS, availablePermits());
+        assertTrue(inFlight().isEmpty());
+    }
+
+    @Test
+    void 스트림이_어떻게_끝나도_bulkhead_자리를_돌려줌() {
+        // 정상 완료
+        PublishProcessor<ChatCompletionChunk> completed = PublishProcessor.create();
+        stream = () -> completed;
+        stream();
+        assertEquals(CALLERS - 1, availablePermits());
+        completed.onNext(chunk("소견"));
+        completed.onComplete();
+        assertEquals(CALLERS, availablePermits());
+        cache.clear();
+
+        // 스트림 오류
+        PublishProcessor<ChatCompletionChunk> failed = PublishProcessor.create();
+        stream = () -> failed;
+        stream();
+        assertEquals(CALLERS - 1, availablePermits());
+        failed.onError(new IllegalStateException("stream reset"));
+        assertEquals(CALLERS, availablePermits());
+
+        // 스트림 생성 중 바로 던지는 예외
+        RuntimeException failure = new IllegalStateException("connect failed");
+        stream = () -> {
+            throw failure;
+        };
+        assertSame(failure, stream().error);
+        assertEquals(CALLERS, availablePermits());
+
+        // circuit breaker 차단
+        circuitBreakerRegistry.circuitBreaker("openai").transitionToOpenState();
+        assertEquals(ErrorCode.LLM_UNAVAILABLE, assertInstanceOf(GeneralException.class, stream().error).getErrorCode());
+        assertEquals(CALLERS, availablePermits());
+
+        assertTrue(inFlight().isEmpty());
+        assertEquals(3, streamCalls.get());
+    }
+
+    private Subscriber stream() {
+        Subscriber subscriber = new Subscriber();
+        service.streamSymptoms(SYMPTOM_MASK, subscriber.tokens::add, value -> subscriber.completed = value, error -> subscriber.error = error);
+        return subscriber;
+    }
+
+    private static class Subscriber {
+        final List<String> tokens = new ArrayList<>();
+        volatile String completed;
+        volatile Throwable error;
+    }
+
+    private int availablePermits() {
+        return bulkheadRegistry.bulkhead("openai").getMetrics().getAvailableConcurrentCalls();
+    }
+
+    private static void assertError(ErrorCode errorCode, Runnable call) {
+        assertEquals(errorCode, assertThrows(GeneralException.class, call::run).getErrorCode());
+    }
+
+    private double requests(String outcome) {
+        return meterRegistry.counter("llm.diagnosis.requests", "outcome", outcome).count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, LlmFlight> inFlight() {
+        return (Map<String, LlmFlight>) ReflectionTestUtils.getField(service, "inFlight");
+    }
+
+    private static ChatCompletionChoice choice(String content) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(new ChatMessage("assistant", content));
+        return choice;
+    }
+
+    private static ChatCompletionChunk chunk(String content) {
+        ChatCompletionChunk chunk = new ChatCompletionChunk();
+        chunk.setChoices(List.of(choice(content)));
+        return chunk;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisTemplate<String, String> redisTemplate() {
+        ValueOperations<String, String> values = (ValueOperations<String, String>) Proxy.newProxyInstance(ValueOperations.class.getClassLoader(),
+                new Class<?>[]{ValueOperations.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "get" -> cache.get((String) args[0]);
+                    case "set" -> {
+                        cache.put((String) args[0], (String) args[1]);
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return new RedisTemplate<>() {
+            @Override
+            public ValueOperations<String, String> opsForValue() {
+                return values;
+            }
+        };
+    }
+
+    private static void waitUntil(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.get()) {
+            assertTrue(System.nanoTime() < deadline, "시간 안에 조건을 만족하지 않음");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
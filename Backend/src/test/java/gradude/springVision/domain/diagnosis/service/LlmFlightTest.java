@@ -0,0 +1,90 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmFlightTest {
+
+    @Test
+    void 늦게_구독하면_지금까지의_내용을_받은_뒤_이어지는_토큰() {
+        LlmFlight flight = new LlmFlight();
+        Subscriber early = subscribe(flight);
+        flight.emit("뇌졸중");
+        flight.emit(" 가능성");
+
+        Subscriber late = subscribe(flight);
+        flight.emit("이 높습니다");
+        flight.complete("뇌졸중 가능성이 높습니다");
+
+        assertEquals(List.of("뇌졸중", " 가능성", "이 높습니다"), early.tokens);
+        assertEquals(List.of("뇌졸중 가능성", "이 높습니다"), late.tokens);
+        assertEquals("뇌졸중 가능성이 높습니다", early.completed);
+        assertEquals("뇌졸중 가능성이 높습니다", late.completed);
+        assertEquals("뇌졸중 가능성이 높습니다", flight.await());
+    }
+
+    @Test
+    void 토큰_없이_끝나면_전체_결과를_토큰_하나로() {
+        LlmFlight flight = new LlmFlight();
+        Subscriber subscriber = subscribe(flight);
+
+        flight.complete("캐시된 결과");
+
+        assertEquals(List.of("캐시된 결과"), subscriber.tokens);
+        assertEquals("캐시된 결과", subscriber.completed);
+
+        // 끝난 뒤 구독해도 전체 결과와 완료를 받음
+        Subscriber after = subscribe(flight);
+        assertEquals(List.of("캐시된 결과"), after.tokens);
+        assertEquals("캐시된 결과", after.completed);
+    }
+
+    @Test
+    void 실패는_대기자와_구독자_모두에게_같은_예외() throws Exception {
+        LlmFlight flight = new LlmFlight();
+        Subscriber subscriber = subscribe(flight);
+        CompletableFuture<Throwable> waiter = CompletableFuture.supplyAsync(() ->
+                assertThrows(RuntimeException.class, flight::await));
+
+        RuntimeException failure = new IllegalStateException("down");
+        flight.fail(failure);
+
+        assertSame(failure, waiter.get(1, TimeUnit.SECONDS));
+        assertSame(failure, subscriber.error);
+        assertNull(subscriber.completed);
+    }
+
+    @Test
+    void 검사_예외로_실패하면_LLM_CALL_FAILED() {
+        LlmFlight flight = new LlmFlight();
+        flight.fail(new IOException("stream closed"));
+
+        assertEquals(ErrorCode.LLM_CALL_FAILED, assertThrows(GeneralException.class, flight::await).getErrorCode());
+        assertTrue(subscribe(flight).error instanceof IOException);
+    }
+
+    private static Subscriber subscribe(LlmFlight flight) {
+        Subscriber subscriber = new Subscriber();
+        flight.subscribe(subscriber.tokens::add, value -> subscriber.completed = value, error -> subscriber.error = error);
+        return subscriber;
+    }
+
+    private static class Subscriber {
+        final List<String> tokens = new ArrayList<>();
+        volatile String completed;
+        volatile Throwable error;
+    }
+}
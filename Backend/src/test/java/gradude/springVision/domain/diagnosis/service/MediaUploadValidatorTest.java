@@ -0,0 +1,202 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MediaUploadValidatorTest {
+
+    private static final long MAX_DURATION = 120_000;
+    private static final int WAV_BYTE_RATE = 16000 * 2;
+
+    private MediaUploadValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new MediaUploadValidator();
+        ReflectionTestUtils.setField(validator, "videoMaxSize", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(validator, "videoMaxDuration", MAX_DURATION);
+        ReflectionTestUtils.setField(validator, "audioMaxSize", DataSize.ofMegabytes(10));
+        ReflectionTestUtils.setField(validator, "audioMaxDuration", MAX_DURATION);
+    }
+
+    @Test
+    void 확장자는_대소문자_구분_없이_허용() {
+        assertEquals("mp4", validator.videoExtension("video.MP4"));
+        assertEquals("mov", validator.videoExtension("a.b.mov"));
+        assertEquals("m4a", validator.audioExtension("voice.M4a"));
+        assertError(ErrorCode.FILE_EXTENSION_NOT_SUPPORTED, () -> validator.videoExtension("video.avi"));
+        assertError(ErrorCode.FILE_EXTENSION_NOT_SUPPORTED, () -> validator.videoExtension("video"));
+        assertError(ErrorCode.FILE_EXTENSION_NOT_SUPPORTED, () -> validator.audioExtension(null));
+    }
+
+    @Test
+    void mp4_와_wav_길이_확인() {
+        assertDoesNotThrow(() -> validator.validate(video("a.mp4", mp4(mvhd(0, 1000, 60_000))), audio("a.wav", wav(10))));
+    }
+
+    @Test
+    void mp4_길이_초과() {
+        assertError(ErrorCode.MEDIA_DURATION_EXCEEDED,
+                () -> validator.validate(video("a.mp4", mp4(mvhd(0, 600, 600 * 121))), audio("a.wav", wav(10))));
+    }
+
+    @Test
+    void mvhd_version_1_은_64비트_길이() {
+        assertError(ErrorCode.MEDIA_DURATION_EXCEEDED,
+                () -> validator.validate(video("a.mp4", mp4(mvhd(1, 1000, 0x1_0000_0000L))), audio("a.wav", wav(10))));
+        assertDoesNotThrow(() -> validator.validate(video("a.mp4", mp4(mvhd(1, 1000, 5_000))), audio("a.wav", wav(10))));
+    }
+
+    @Test
+    void moov_앞의_mdat_은_건너뜀() {
+        byte[] file = concat(box("ftyp", "isom".getBytes(StandardCharsets.US_ASCII)), box("mdat", new byte[4096]),
+                box("moov", concat(box("trak", new byte[32]), mvhd(0, 1000, 130_000))));
+        assertError(ErrorCode.MEDIA_DURATION_EXCEEDED, () -> validator.validate(video("a.mp4", file), audio("a.wav", wav(10))));
+    }
+
+    @Test
+    void ftyp_없는_mp4_는_거부() {
+        byte[] file = concat(box("mdat", new byte[16]), box("moov", mvhd(0, 1000, 1_000)));
+        assertError(ErrorCode.FILE_CONTENT_NOT_SUPPORTED, () -> validator.validate(video("a.mp4", file), audio("a.wav", wav(10))));
+        // 초기 QuickTime 파일은 ftyp 없이 시작할 수 있음
+        assertDoesNotThrow(() -> validator.validate(video("a.mov", file), audio("a.wav", wav(10))));
+    }
+
+    @Test
+    void moov_없거나_잘린_mp4_는_거부() {
+        byte[] withoutMoov = concat(box("ftyp", new byte[8]), box("mdat", new byte[64]));
+        assertError(ErrorCode.FILE_CONTENT_NOT_SUPPORTED, () -> validator.validate(video("a.mp4", withoutMoov), audio("a.wav", wav(10))));
+
+        // moov 중간에서 끊긴 파일
+        byte[] complete = concat(box("ftyp", new byte[8]), box("moov", mvhd(0, 1000, 1_000)));
+        byte[] truncated = new byte[complete.length - 10];
+        System.arraycopy(complete, 0, truncated, 0, truncated.length);
+        assertError(ErrorCode.FILE_CONTENT_NOT_SUPPORTED, () -> validator.validate(video("a.mp4", truncated), audio("a.wav", wav(10))));
+    }
+
+    @Test
+    void wav_길이_초과() {
+        assertError(ErrorCode.MEDIA_DURATION_EXCEEDED,
+                () -> validator.validate(video("a.mp4", mp4(mvhd(0, 1000, 1_000))), audio("a.wav", wav(121))));
+    }
+
+    @Test
+    void wav_의_홀수_크기_청크는_정렬해서_건너뜀() {
+        byte[] file = concat(ascii("RIFF"), le32(0), ascii("WAVE"), chunk("LIST", new byte[3]), new byte[1],
+                fmt(), chunk("data", new byte[WAV_BYTE_RATE * 121]));
+        assertError(ErrorCode.MEDIA_DURATION_EXCEEDED, () -> validator.validate(video("a.mp4", mp4(mvhd(0, 1000, 1_000))), audio("a.wav", file)));
+    }
+
+    @Test
+    void 잘린_wav_는_남은_크기로_계산() {
+        // 헤더의 data 크기는 200초지만 실제로는 1초만 남아 있음
+        byte[] file = concat(ascii("RIFF"), le32(0), ascii("WAVE"), fmt(), ascii("data"), le32(WAV_BYTE_RATE * 200), new byte[WAV_BYTE_RATE]);
+        assertDoesNotThrow(() -> validator.validate(video("a.mp4", mp4(mvhd(0, 1000, 1_000))), audio("a.wav", file)));
+    }
+
+    @Test
+    void RIFF_WAVE_가_아니면_거부() {
+        byte[] file = concat(ascii("RIFX"), le32(0), ascii("WAVE"), fmt(), chunk("data", new byte[16]));
+        assertError(ErrorCode.FILE_CONTENT_NOT_SUPPORTED, () -> validator.validate(video("a.mp4", mp4(mvhd(0, 1000, 1_000))), audio("a.wav", file)));
+
+        byte[] withoutFmt = concat(ascii("RIFF"), le32(0), ascii("WAVE"), chunk("data", new byte[16]));
+        assertError(ErrorCode.FILE_CONTENT_NOT_SUPPORTED, () -> validator.validate(video("a.mp4", mp4(mvhd(0, 1000, 1_000))), audio("a.wav", withoutFmt)));
+    }
+
+    @Test
+    void pcm_은_16kHz_16bit_mono_기준() {
+        byte[] video = mp4(mvhd(0, 1000, 1_000));
+        assertDoesNotThrow(() -> validator.validate(video("a.mp4", video), audio("a.pcm", new byte[WAV_BYTE_RATE * 120])));
+        assertError(ErrorCode.MEDIA_DURATION_EXCEEDED, () -> validator.validate(video("a.mp4", video), audio("a.pcm", new byte[WAV_BYTE_RATE * 121])));
+    }
+
+    @Test
+    void 빈_파일과_크기_초과() {
+        byte[] video = mp4(mvhd(0, 1000, 1_000));
+        assertError(ErrorCode.FILE_CONTENT_NOT_SUPPORTED, () -> validator.validate(video("a.mp4", video), audio("a.wav", new byte[0])));
+
+        ReflectionTestUtils.setField(validator, "videoMaxSize", DataSize.ofBytes(video.length - 1));
+        assertError(ErrorCode.FILE_SIZE_EXCEEDED, () -> validator.validate(video("a.mp4", video), audio("a.wav", wav(10))));
+        assertError(ErrorCode.FILE_SIZE_EXCEEDED, () -> validator.validateStoredSizes(video.length, 0));
+        assertDoesNotThrow(() -> validator.validateStoredSizes(video.length - 1, 0));
+    }
+
+    private static void assertError(ErrorCode errorCode, Executable executable) {
+        assertEquals(errorCode, assertThrows(GeneralException.class, executable).getErrorCode());
+    }
+
+    private static MockMultipartFile video(String filename, byte[] content) {
+        return new MockMultipartFile("mp4File", filename, "video/mp4", content);
+    }
+
+    private static MockMultipartFile audio(String filename, byte[] content) {
+        return new MockMultipartFile("wavFile", filename, "audio/wav", content);
+    }
+
+    private static byte[] mp4(byte[] mvhd) {
+        return concat(box("ftyp", "isom".getBytes(StandardCharsets.US_ASCII)), box("moov", mvhd), box("mdat", new byte[64]));
+    }
+
+    private static byte[] mvhd(int version, int timescale, long duration) {
+        ByteBuffer body = ByteBuffer.allocate(version == 1 ? 32 : 20);
+        body.put((byte) version).put(new byte[3]);
+        body.put(new byte[version == 1 ? 16 : 8]);
+        body.putInt(timescale);
+        if (version == 1) {
+            body.putLong(duration);
+        } else {
+            body.putInt((int) duration);
+        }
+        return box("mvhd", body.array());
+    }
+
+    private static byte[] box(String type, byte[] body) {
+        return ByteBuffer.allocate(8 + body.length).putInt(8 + body.length).put(ascii(type)).put(body).array();
+    }
+
+    private static byte[] wav(int seconds) {
+        return concat(ascii("RIFF"), le32(0), ascii("WAVE"), fmt(), chunk("data", new byte[WAV_BYTE_RATE * seconds]));
+    }
+
+    // PCM, mono, 16kHz, 16bit
+    private static byte[] fmt() {
+        ByteBuffer body = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        body.putShort((short) 1).putShort((short) 1).putInt(16000).putInt(WAV_BYTE_RATE).putShort((short) 2).putShort((short) 16);
+        return chunk("fmt ", body.array());
+    }
+
+    private static byte[] chunk(String type, byte[] body) {
+        return concat(ascii(type), le32(body.length), body);
+    }
+
+    private static byte[] le32(int value) {
+        return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,139 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.global.util.StagedMultipartFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 음성 정규화 1건 처리 시간 (p50 / p95) 과 전송 크기
+ * - AI/test_audio_data 의 KsponSpeech 녹음(16kHz mono 16bit pcm)을 그대로, 또는 44.1kHz stereo 16bit / 48kHz stereo float WAV 로 올려서 변환
+ * - ./gradlew benchmark 로만 실행, 데이터 디렉토리가 없으면 건너뜀
+ */
+@Tag("benchmark")
+class SpeechAudioNormalizerBenchmark {
+
+    private static final Path DATA_DIR = Path.of("..", "AI", "test_audio_data");
+    private static final List<String> FILES = List.of("KsponSpeech_003001.pcm", "KsponSpeech_003002.pcm");
+    private static final int SOURCE_RATE = 16000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    @Test
+    void 정규화_시간과_크기() throws IOException {
+        assumeTrue(Files.isDirectory(DATA_DIR), "음성 데이터 없음: " + DATA_DIR.toAbsolutePath());
+
+        SpeechAudioNormalizer normalizer = new SpeechAudioNormalizer();
+        ReflectionTestUtils.setField(normalizer, "enabled", true);
+        ReflectionTestUtils.setField(normalizer, "bufferFrames", 4096);
+
+        for (String name : FILES) {
+            byte[] pcm = Files.readAllBytes(DATA_DIR.resolve(name));
+            float[] signal = samples(pcm);
+            double seconds = (double) signal.length / SOURCE_RATE;
+            String base = name.substring(0, name.lastIndexOf('.'));
+
+            measure(normalizer, base + " pcm 16kHz mono", seconds, upload(name, pcm));
+            measure(normalizer, base + " wav 44.1kHz stereo 16bit", seconds,
+                    upload(base + ".wav", wav(1, 44100, 16, pcm16Stereo(resample(signal, 44100)))));
+            measure(normalizer, base + " wav 48kHz stereo float", seconds,
+                    upload(base + ".wav", wav(3, 48000, 32, float32Stereo(resample(signal, 48000)))));
+        }
+    }
+
+    private static void measure(SpeechAudioNormalizer normalizer, String label, double seconds, MultipartFile file) throws IOException {
+        long outputBytes = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            outputBytes = normalizeOnce(normalizer, file);
+        }
+
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            normalizeOnce(normalizer, file);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        double p50 = nanos[ITERATIONS / 2] / 1e6;
+        System.out.printf("%-44s %.2fs, %7d -> %6d bytes, p50: %.2fms, p95: %.2fms, x%.0f realtime%n", label, seconds,
+                file.getSize(), outputBytes, p50, nanos[ITERATIONS * 95 / 100] / 1e6, seconds * 1000 / p50);
+    }
+
+    // 임시 파일 생성 / 삭제까지 포함한 1건
+    private static long normalizeOnce(SpeechAudioNormalizer normalizer, MultipartFile file) {
+        StagedMultipartFile result = (StagedMultipartFile) normalizer.normalize(file);
+        try {
+            return result.getSize();
+        } finally {
+            result.delete();
+        }
+    }
+
+    private static MultipartFile upload(String filename, byte[] content) {
+        return new MockMultipartFile("wavFile", filename, "audio/wav", content);
+    }
+
+    private static float[] samples(byte[] pcm) {
+        ByteBuffer buffer = ByteBuffer.wrap(pcm).order(ByteOrder.LITTLE_ENDIAN);
+        float[] samples = new float[pcm.length / 2];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = buffer.getShort() / 32768f;
+        }
+        return samples;
+    }
+
+    // 측정용 입력이라 선형 보간으로 충분
+    private static float[] resample(float[] signal, int rate) {
+        float[] result = new float[(int) ((long) signal.length * rate / SOURCE_RATE)];
+        for (int i = 0; i < result.length; i++) {
+            double position = (double) i * SOURCE_RATE / rate;
+            int index = (int) position;
+            float next = index + 1 < signal.length ? signal[index + 1] : signal[index];
+            result[i] = (float) (signal[index] + (position - index) * (next - signal[index]));
+        }
+        return result;
+    }
+
+    private static byte[] pcm16Stereo(float[] signal) {
+        ByteBuffer buffer = ByteBuffer.allocate(signal.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : signal) {
+            short sample = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(value * 32768f)));
+            buffer.putShort(sample).putShort(sample);
+        }
+        return buffer.array();
+    }
+
+    private static byte[] float32Stereo(float[] signal) {
+        ByteBuffer buffer = ByteBuffer.allocate(signal.length * 8).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : signal) {
+            buffer.putFloat(value).putFloat(value);
+        }
+        return buffer.array();
+    }
+
+    private static byte[] wav(int formatTag, int rate, int bits, byte[] data) {
+        int blockAlign = 2 * bits / 8;
+        return ByteBuffer.allocate(44 + data.length).order(ByteOrder.LITTLE_ENDIAN)
+                .put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + data.length)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) formatTag).putShort((short) 2).putInt(rate).putInt(rate * blockAlign)
+                .putShort((short) blockAlign).putShort((short) bits)
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(data.length).put(data)
+                .array();
+    }
+}
@@ -0,0 +1,238 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import gradude.springVision.global.util.StagedMultipartFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpeechAudioNormalizerTest {
+
+    private static final int PCM = 1;
+    private static final int FLOAT = 3;
+
+    private final List<StagedMultipartFile> staged = new ArrayList<>();
+
+    @BeforeEach
+    void clear() {
+        staged.clear();
+    }
+
+    @AfterEach
+    void deleteStaged() {
+        staged.forEach(StagedMultipartFile::delete);
+    }
+
+    @Test
+    void 이미_정규화된_파일과_m4a_는_그대로() {
+        SpeechAudioNormalizer normalizer = normalizer(4096);
+        MultipartFile normalized = upload("a.wav", wav(PCM, 1, 16000, 16, pcm16(sine(16000, 440, 0.5, 1600), 1)));
+        MultipartFile m4a = upload("a.m4a", new byte[64]);
+        MultipartFile broken = upload("a.wav", "not a wave file".getBytes(StandardCharsets.US_ASCII));
+
+        assertSame(normalized, normalizer.normalize(normalized));
+        assertSame(m4a, normalizer.normalize(m4a));
+        assertSame(broken, normalizer.normalize(broken));
+
+        ReflectionTestUtils.setField(normalizer, "enabled", false);
+        MultipartFile stereo = upload("a.wav", wav(PCM, 2, 44100, 16, pcm16(sine(44100, 440, 0.5, 4410), 2)));
+        assertSame(stereo, normalizer.normalize(stereo));
+    }
+
+    @Test
+    void pcm_은_헤더만_붙임() throws IOException {
+        byte[] data = pcm16(sine(16000, 440, 0.5, 1600), 1);
+        Output output = normalize(normalizer(4096), upload("a.pcm", data));
+
+        assertEquals("a.wav", output.filename);
+        assertEquals(1600, output.samples.length);
+        assertArrayEquals(data, output.data);
+    }
+
+    @Test
+    void 고정_rate_에서_8_24_32bit_와_float_변환() throws IOException {
+        float[] signal = sine(16000, 440, 0.5, 1600);
+        short[] expected = normalize(normalizer(4096), upload("a.pcm", pcm16(signal, 1))).samples;
+
+        for (byte[] wav : List.of(wav(PCM, 1, 16000, 24, pcm(signal, 1, 3)), wav(PCM, 1, 16000, 32, pcm(signal, 1, 4)),
+                wav(FLOAT, 1, 16000, 32, float32(signal)))) {
+            short[] samples = normalize(normalizer(4096), upload("a.wav", wav)).samples;
+            assertEquals(expected.length, samples.length);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], samples[i], 1);
+            }
+        }
+
+        // 8bit 는 양자화 오차가 커서 1/128 이내만 확인
+        short[] eightBit = normalize(normalizer(4096), upload("a.wav", wav(PCM, 1, 16000, 8, pcm(signal, 1, 1)))).samples;
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], eightBit[i], 32768 / 128 + 1);
+        }
+    }
+
+    @Test
+    void 스테레오_44_1kHz_는_16kHz_mono_로_변환() throws IOException {
+        Output output = normalize(normalizer(4096), upload("a.wav", wav(PCM, 2, 44100, 16, pcm16(sine(44100, 440, 0.5, 44100), 2))));
+
+        assertEquals(16000, output.sampleRate);
+        assertEquals(1, output.channels);
+        assertEquals(16, output.bitsPerSample);
+        assertEquals(16000, output.samples.length);
+        assertEquals(0.5, amplitude(output.samples, 16000, 440), 0.01);
+    }
+
+    @Test
+    void 올림_리샘플링() throws IOException {
+        Output output = normalize(normalizer(4096), upload("a.wav", wav(PCM, 1, 8000, 16, pcm16(sine(8000, 440, 0.5, 8000), 1))));
+
+        assertEquals(16000, output.samples.length);
+        assertEquals(0.5, amplitude(output.samples, 16000, 440), 0.01);
+    }
+
+    @Test
+    void 출력_Nyquist_를_넘는_성분은_걸러냄() throws IOException {
+        // 48kHz 의 10kHz 성분은 그대로 줄이면 16kHz 에서 6kHz 로 접힘
+        Output output = normalize(normalizer(4096), upload("a.wav", wav(PCM, 1, 48000, 16, pcm16(sine(48000, 10000, 0.5, 48000), 1))));
+
+        assertEquals(16000, output.samples.length);
+        assertTrue(amplitude(output.samples, 16000, 6000) < 0.005);
+        assertTrue(rms(output.samples) < 0.005);
+    }
+
+    @Test
+    void 버퍼_크기와_관계없이_같은_결과() throws IOException {
+        byte[] wav = wav(PCM, 2, 44100, 16, pcm16(sine(44100, 1000, 0.8, 10000), 2));
+        short[] large = normalize(normalizer(4096), upload("a.wav", wav)).samples;
+        short[] small = normalize(normalizer(97), upload("a.wav", wav)).samples;
+
+        assertArrayEquals(large, small);
+    }
+
+    private SpeechAudioNormalizer normalizer(int bufferFrames) {
+        SpeechAudioNormalizer normalizer = new SpeechAudioNormalizer();
+        ReflectionTestUtils.setField(normalizer, "enabled", true);
+        ReflectionTestUtils.setField(normalizer, "bufferFrames", bufferFrames);
+        return normalizer;
+    }
+
+    private Output normalize(SpeechAudioNormalizer normalizer, MultipartFile file) throws IOException {
+        StagedMultipartFile result = (StagedMultipartFile) normalizer.normalize(file);
+        staged.add(result);
+
+        ByteBuffer wav = ByteBuffer.wrap(result.getBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        Output output = new Output();
+        output.filename = result.getOriginalFilename();
+        output.channels = wav.getShort(22);
+        output.sampleRate = wav.getInt(24);
+        output.bitsPerSample = wav.getShort(34);
+        output.data = new byte[wav.getInt(40)];
+        wav.position(44);
+        wav.get(output.data);
+        output.samples = new short[output.data.length / 2];
+        ByteBuffer.wrap(output.data).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(output.samples);
+        return output;
+    }
+
+    private static class Output {
+        String filename;
+        int channels;
+        int sampleRate;
+        int bitsPerSample;
+        byte[] data;
+        short[] samples;
+    }
+
+    private static MultipartFile upload(String filename, byte[] content) {
+        return new MockMultipartFile("wavFile", filename, "audio/wav", content);
+    }
+
+    // 가운데 구간에서 frequency 성분의 진폭 (앞뒤는 필터 길이만큼 제외)
+    private static double amplitude(short[] samples, int rate, double frequency) {
+        int from = samples.length / 8;
+        int to = samples.length - from;
+        double sin = 0;
+        double cos = 0;
+        for (int i = from; i < to; i++) {
+            double t = 2 * Math.PI * frequency * i / rate;
+            double value = samples[i] / 32768.0;
+            sin += value * Math.sin(t);
+            cos += value * Math.cos(t);
+        }
+        return 2 * Math.hypot(sin, cos) / (to - from);
+    }
+
+    private static double rms(short[] samples) {
+        int from = samples.length / 8;
+        int to = samples.length - from;
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            double value = samples[i] / 32768.0;
+            sum += value * value;
+        }
+        return Math.sqrt(sum / (to - from));
+    }
+
+    private static float[] sine(int rate, double frequency, double amplitude, int frames) {
+        float[] samples = new float[frames];
+        for (int i = 0; i < frames; i++) {
+            samples[i] = (float) (amplitude * Math.sin(2 * Math.PI * frequency * i / rate));
+        }
+        return samples;
+    }
+
+    private static byte[] pcm16(float[] signal, int channels) {
+        return pcm(signal, channels, 2);
+    }
+
+    // 모든 채널에 같은 신호를 넣은 little-endian 정수 PCM (8bit 는 unsigned)
+    private static byte[] pcm(float[] signal, int channels, int bytes) {
+        ByteBuffer buffer = ByteBuffer.allocate(signal.length * channels * bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : signal) {
+            long scaled = Math.round(value * ((1L << (bytes * 8 - 1)) - 1));
+            for (int channel = 0; channel < channels; channel++) {
+                if (bytes == 1) {
+                    buffer.put((byte) (scaled + 128));
+                } else {
+                    for (int b = 0; b < bytes; b++) {
+                        buffer.put((byte) (scaled >> (8 * b)));
+                    }
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    private static byte[] float32(float[] signal) {
+        ByteBuffer buffer = ByteBuffer.allocate(signal.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : signal) {
+            buffer.putFloat(value);
+        }
+        return buffer.array();
+    }
+
+    private static byte[] wav(int formatTag, int channels, int rate, int bits, byte[] data) {
+        int blockAlign = channels * bits / 8;
+        return ByteBuffer.allocate(44 + data.length).order(ByteOrder.LITTLE_ENDIAN)
+                .put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + data.length)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) formatTag).putShort((short) channels).putInt(rate).putInt(rate * blockAlign)
+                .putShort((short) blockAlign).putShort((short) bits)
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(data.length).put(data)
+                .array();
+    }
+}
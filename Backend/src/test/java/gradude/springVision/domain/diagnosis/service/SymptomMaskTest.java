@@ -0,0 +1,41 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SymptomMaskTest {
+
+    @Test
+    void 증상별_비트() {
+        assertEquals(0, SymptomMask.of(false, false, false, false, false, false));
+        assertEquals(SymptomMask.GAZE, SymptomMask.of(true, false, false, false, false, false));
+        assertEquals(SymptomMask.ARM, SymptomMask.of(false, true, false, false, false, false));
+        assertEquals(SymptomMask.FACE, SymptomMask.of(false, false, true, false, false, false));
+        assertEquals(SymptomMask.SPEECH, SymptomMask.of(false, false, false, true, false, false));
+        assertEquals(SymptomMask.MONTH, SymptomMask.of(false, false, false, false, true, false));
+        assertEquals(SymptomMask.AGE, SymptomMask.of(false, false, false, false, false, true));
+        assertEquals(SymptomMask.COMBINATIONS - 1, SymptomMask.of(true, true, true, true, true, true));
+    }
+
+    @Test
+    void 모든_조합이_서로_다른_문장() {
+        Set<String> sentences = new HashSet<>();
+        for (int mask = 0; mask < SymptomMask.COMBINATIONS; mask++) {
+            sentences.add(SymptomMask.describe(mask));
+        }
+        assertEquals(SymptomMask.COMBINATIONS, sentences.size());
+    }
+
+    @Test
+    void 기존_프롬프트와_같은_문장() {
+        // 캐시 도입 전 LlmDiagnosisService 가 만들던 문장과 같아야 LLM 응답이 바뀌지 않음
+        assertEquals("환자는 시선 이상 있음, 팔 움직임 이상 없음, 안면 마비 있음, 구음 장애 없음, 시간 인지 이상 없음, 나이 인지 이상 있음",
+                SymptomMask.describe(SymptomMask.of(true, false, true, false, false, true)));
+        assertEquals("환자는 시선 이상 없음, 팔 움직임 이상 없음, 안면 마비 없음, 구음 장애 없음, 시간 인지 이상 없음, 나이 인지 이상 없음",
+                SymptomMask.describe(0));
+    }
+}
@@ -0,0 +1,50 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * XgbTreeEnsemble 1건 평가 시간 (p50 / p95 / p99)
+ * - JMH 없이 반복 측정, ./gradlew benchmark 로만 실행
+ */
+@Tag("benchmark")
+class XgbTreeEnsembleBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+    private static final double MISSING_RATIO = 0.1;
+
+    @Test
+    void 평가_시간() throws IOException {
+        XgbTreeEnsemble model = XgbTreeEnsembleTest.load();
+
+        Random random = new Random(42);
+        double[][] inputs = new double[1_024][model.featureCount()];
+        for (double[] features : inputs) {
+            for (int i = 0; i < features.length; i++) {
+                features[i] = random.nextDouble() < MISSING_RATIO ? Double.NaN : random.nextGaussian();
+            }
+        }
+
+        float sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += model.probability(inputs[i % inputs.length]);
+        }
+
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            sink += model.probability(inputs[i % inputs.length]);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("trees: %d, features: %d, p50: %.1fus, p95: %.1fus, p99: %.1fus (sink %.1f)%n",
+                model.treeCount(), model.featureCount(),
+                nanos[ITERATIONS / 2] / 1_000.0, nanos[ITERATIONS * 95 / 100] / 1_000.0, nanos[ITERATIONS * 99 / 100] / 1_000.0, sink);
+    }
+}
@@ -0,0 +1,45 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * xgboost Booster.predict 결과와 Java 평가 결과 비교
+ * - 기대값 파일은 AI/video/export_xgb_parity.py 로 생성 (features 의 null 은 NaN)
+ * - 파일이 없으면 건너뜀
+ */
+class XgbTreeEnsembleParityTest {
+
+    private static final Path GOLDEN = Path.of("..", "AI", "video", "xgb_stroke_parity.json");
+    private static final double TOLERANCE = 1e-6;
+
+    @Test
+    void xgboost_와_같은_확률과_마진() throws IOException {
+        assumeTrue(Files.exists(GOLDEN), "xgboost 기대값 파일 없음: " + GOLDEN.toAbsolutePath());
+
+        XgbTreeEnsemble model = XgbTreeEnsembleTest.load();
+        JsonNode cases = new ObjectMapper().readTree(GOLDEN.toFile()).path("cases");
+        assertTrue(cases.size() > 0);
+
+        for (JsonNode expected : cases) {
+            double[] features = new double[expected.path("features").size()];
+            for (int i = 0; i < features.length; i++) {
+                JsonNode value = expected.path("features").get(i);
+                features[i] = value.isNull() ? Double.NaN : value.asDouble();
+            }
+
+            String name = expected.path("name").asText();
+            assertEquals(expected.path("probability").asDouble(), model.probability(features), TOLERANCE, name);
+            assertEquals(expected.path("margin").asDouble(), model.margin(features), TOLERANCE, name);
+        }
+    }
+}
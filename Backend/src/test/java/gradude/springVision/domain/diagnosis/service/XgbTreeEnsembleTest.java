@@ -0,0 +1,98 @@
+package gradude.springVision.domain.diagnosis.service;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * AI 서버와 같은 xgb_stroke.json 으로 Java 평가 결과의 회귀 검사
+ * - 기대값은 xgboost 가 아니라 같은 model_base64 를 Python(struct) 으로 따로 순회한 결과 (float32 누적, NaN 은 기본 방향)
+ * - xgboost Booster.predict 와의 비교는 XgbTreeEnsembleParityTest
+ */
+class XgbTreeEnsembleTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private static XgbTreeEnsemble model;
+
+    @BeforeAll
+    static void loadModel() throws IOException {
+        model = load();
+    }
+
+    static XgbTreeEnsemble load() throws IOException {
+        try (InputStream in = XgbTreeEnsembleTest.class.getResourceAsStream("/model/xgb_stroke.json")) {
+            JsonNode artefact = new ObjectMapper().reader().with(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS).readTree(in);
+            return XgbTreeEnsemble.parse(Base64.getDecoder().decode(artefact.path("model_base64").asText()));
+        }
+    }
+
+    /**
+     * Python 쪽과 같은 입력: ((i * 37 + k * 11) % 101 - 50) / 25 * scale
+     */
+    static double[] pattern(int k, double scale) {
+        double[] features = new double[model.featureCount()];
+        for (int i = 0; i < features.length; i++) {
+            features[i] = ((i * 37 + k * 11) % 101 - 50) / 25.0 * scale;
+        }
+        return features;
+    }
+
+    @Test
+    void 모델_구조() {
+        assertEquals(832, model.treeCount());
+        assertEquals(168, model.featureCount());
+    }
+
+    @Test
+    void 독립_순회와_같은_확률() {
+        assertEquals(0.7995309829711914, model.probability(new double[model.featureCount()]), TOLERANCE);
+        assertEquals(0.7250174283981323, model.probability(pattern(2, 0.1)), TOLERANCE);
+        assertEquals(0.5592003464698792, model.probability(pattern(3, 1.0)), TOLERANCE);
+        assertEquals(0.5092719793319702, model.probability(pattern(4, 10.0)), TOLERANCE);
+    }
+
+    @Test
+    void 독립_순회와_같은_마진() {
+        assertEquals(1.3833656311035156, model.margin(new double[model.featureCount()]), TOLERANCE);
+        assertEquals(0.2379172295331955, model.margin(pattern(3, 1.0)), TOLERANCE);
+    }
+
+    @Test
+    void NaN_은_기본_방향() {
+        double[] missing = new double[model.featureCount()];
+        Arrays.fill(missing, Double.NaN);
+        assertEquals(0.26294067502021790, model.probability(missing), TOLERANCE);
+
+        // 짝수 번째만 NaN, 나머지는 pattern(3, 1.0)
+        double[] halfMissing = pattern(3, 1.0);
+        for (int i = 0; i < halfMissing.length; i += 2) {
+            halfMissing[i] = Double.NaN;
+        }
+        assertEquals(0.41660937666893005, model.probability(halfMissing), TOLERANCE);
+
+        // NaN 을 0 으로 취급하지 않음
+        assertNotEquals(model.probability(new double[model.featureCount()]), model.probability(missing));
+    }
+
+    @Test
+    void feature_개수가_다르면_예외() {
+        assertThrows(IllegalArgumentException.class, () -> model.probability(new double[model.featureCount() - 1]));
+    }
+
+    @Test
+    void 손상된_바이너리는_예외() {
+        assertThrows(IllegalArgumentException.class, () -> XgbTreeEnsemble.parse(new byte[]{'b', 'i', 'n', 'f', 0, 0}));
+    }
+}
@@ -0,0 +1,71 @@
+package gradude.springVision.domain.hospital.dto.request;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HospitalSearchCursorTest {
+
+    private static final int QUERY_HASH = HospitalSearchCursor.queryHash("서울병원", 37.5, 127.0);
+
+    @Test
+    void 인코딩_후_디코딩하면_같은_값() {
+        String encoded = new HospitalSearchCursor(3.25, 42L, QUERY_HASH).encode();
+
+        HospitalSearchCursor decoded = HospitalSearchCursor.decode(encoded, QUERY_HASH);
+
+        assertEquals(3.25, decoded.getDistance());
+        assertEquals(42L, decoded.getHospitalId());
+        assertEquals(QUERY_HASH, decoded.getQueryHash());
+    }
+
+    @Test
+    void 커서가_없으면_첫_페이지() {
+        HospitalSearchCursor first = HospitalSearchCursor.decode(null, QUERY_HASH);
+
+        assertTrue(first.isBefore(0.0, 1L));
+        assertEquals(first.getDistance(), HospitalSearchCursor.decode(" ", QUERY_HASH).getDistance());
+    }
+
+    @Test
+    void 검색_조건이_다르면_거부() {
+        String encoded = new HospitalSearchCursor(3.25, 42L, QUERY_HASH).encode();
+
+        assertInvalid(encoded, HospitalSearchCursor.queryHash("서울대병원", 37.5, 127.0));
+        assertInvalid(encoded, HospitalSearchCursor.queryHash("서울병원", 37.51, 127.0));
+        assertInvalid(encoded, HospitalSearchCursor.queryHash("서울병원", 37.5, 127.01));
+    }
+
+    @Test
+    void 검색어_대소문자는_같은_조건() {
+        assertEquals(HospitalSearchCursor.queryHash("Seoul", 37.5, 127.0), HospitalSearchCursor.queryHash("seoul", 37.5, 127.0));
+    }
+
+    @Test
+    void 형식이_잘못된_커서는_거부() {
+        assertInvalid("not base64!", QUERY_HASH);
+        assertInvalid(Base64.getUrlEncoder().encodeToString(new byte[16]), QUERY_HASH);
+    }
+
+    @Test
+    void 거리_다음_id_순서() {
+        HospitalSearchCursor cursor = new HospitalSearchCursor(3.25, 42L, QUERY_HASH);
+
+        assertTrue(cursor.isBefore(3.5, 1L));
+        assertTrue(cursor.isBefore(3.25, 43L));
+        assertFalse(cursor.isBefore(3.25, 42L));
+        assertFalse(cursor.isBefore(3.0, 100L));
+    }
+
+    private static void assertInvalid(String cursor, int queryHash) {
+        GeneralException exception = assertThrows(GeneralException.class, () -> HospitalSearchCursor.decode(cursor, queryHash));
+        assertEquals(ErrorCode.HOSPITAL_INVALID_CURSOR, exception.getErrorCode());
+    }
+}
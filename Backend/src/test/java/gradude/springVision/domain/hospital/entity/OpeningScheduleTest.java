@@ -0,0 +1,90 @@
+package gradude.springVision.domain.hospital.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpeningScheduleTest {
+
+    // 2024-01-01 은 월요일
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void 운영_시작은_포함_종료는_제외() {
+        OpeningSchedule schedule = OpeningSchedule.compile(weekdays("09:00~18:00"));
+
+        assertFalse(schedule.isOpenAt(MONDAY.withHour(8).withMinute(59)));
+        assertTrue(schedule.isOpenAt(MONDAY.withHour(9)));
+        assertTrue(schedule.isOpenAt(MONDAY.withHour(17).withMinute(59)));
+        assertFalse(schedule.isOpenAt(MONDAY.withHour(18)));
+        assertFalse(schedule.isOpenAt(MONDAY.plusDays(5).withHour(10))); // 토요일
+    }
+
+    @Test
+    void 자정_넘김_구간은_다음_날로_이어짐() {
+        OpeningSchedule schedule = OpeningSchedule.compile(
+                new OpeningHour(null, null, null, null, null, null, "22:00~02:00"));
+
+        assertTrue(schedule.isOpenAt(MONDAY.plusDays(6).withHour(23))); // 일요일 23시
+        assertTrue(schedule.isOpenAt(MONDAY.withHour(1).withMinute(59))); // 주 경계 넘어 월요일 새벽
+        assertFalse(schedule.isOpenAt(MONDAY.withHour(2)));
+    }
+
+    @Test
+    void 시작과_종료가_같으면_운영_안_함() {
+        OpeningSchedule schedule = OpeningSchedule.compile(
+                new OpeningHour("00:00~00:00", "09:00~09:00", "00:00~24:00", null, null, null, null));
+
+        assertFalse(schedule.hasInvalidDays());
+        assertFalse(schedule.isOpenAt(MONDAY.withHour(12)));
+        assertFalse(schedule.isOpenAt(MONDAY.plusDays(1).withHour(9)));
+        assertTrue(schedule.isOpenAt(MONDAY.plusDays(2)));
+        assertTrue(schedule.isOpenAt(MONDAY.plusDays(2).withHour(23).withMinute(59)));
+        assertFalse(schedule.isOpenAt(MONDAY.plusDays(3)));
+    }
+
+    @Test
+    void 종료_24시와_연속_구간은_병합() {
+        OpeningSchedule schedule = OpeningSchedule.compile(OpeningHour.alwaysOpen());
+
+        assertArrayEquals(new int[]{0}, schedule.getStarts());
+        assertArrayEquals(new int[]{OpeningSchedule.MINUTES_PER_WEEK}, schedule.getEnds());
+        assertTrue(schedule.isOpenAt(MONDAY.plusDays(3).withHour(23).withMinute(59)));
+    }
+
+    @Test
+    void 형식_오류_요일은_운영_안_함으로_처리() {
+        OpeningSchedule schedule = OpeningSchedule.compile(
+                new OpeningHour("9시~18시", "09:00~18:00", "24:00~25:00", null, null, null, null));
+
+        assertTrue(schedule.hasInvalidDays());
+        assertFalse(schedule.isOpenAt(MONDAY.withHour(10)));
+        assertFalse(schedule.contains(OpeningSchedule.minuteOfWeek(MONDAY.withHour(10))));
+        assertTrue(schedule.isOpenAt(MONDAY.plusDays(1).withHour(10)));
+        assertFalse(schedule.isOpenAt(MONDAY.plusDays(2).withHour(10)));
+    }
+
+    @Test
+    void 운영_시간_없으면_항상_운영_안_함() {
+        OpeningSchedule schedule = OpeningSchedule.compile(null);
+
+        assertFalse(schedule.hasInvalidDays());
+        assertEquals(0, schedule.getStarts().length);
+        assertFalse(schedule.isOpenAt(MONDAY.withHour(12)));
+    }
+
+    @Test
+    void 주_단위_분은_월요일_0시_기준() {
+        assertEquals(0, OpeningSchedule.minuteOfWeek(MONDAY));
+        assertEquals(OpeningSchedule.MINUTES_PER_WEEK - 1, OpeningSchedule.minuteOfWeek(MONDAY.plusDays(6).withHour(23).withMinute(59)));
+    }
+
+    private static OpeningHour weekdays(String hours) {
+        return new OpeningHour(hours, hours, hours, hours, hours, null, null);
+    }
+}
@@ -0,0 +1,117 @@
+package gradude.springVision.domain.hospital.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeoKdTreeTest {
+
+    private static final Random RANDOM = new Random(42);
+
+    @Test
+    void distanceKm_서울_부산() {
+        // 서울시청 - 부산시청 대원 거리 약 325km
+        double distance = GeoKdTree.distanceKm(37.5663, 126.9779, 35.1798, 129.0750);
+
+        assertEquals(325.0, distance, 2.0);
+        assertEquals(0.0, GeoKdTree.distanceKm(37.5, 127.0, 37.5, 127.0), 1e-9);
+    }
+
+    @Test
+    void nearest_전수_비교와_같은_결과() {
+        double[][] points = randomKoreaPoints(5_000);
+        GeoKdTree tree = GeoKdTree.build(points[0], points[1]);
+
+        for (int q = 0; q < 200; q++) {
+            double latitude = 33 + RANDOM.nextDouble() * 5;
+            double longitude = 126 + RANDOM.nextDouble() * 3;
+
+            int[] expected = bruteForce(points, latitude, longitude, 6, 100.0);
+            int[] actual = tree.nearest(latitude, longitude, 6, 100.0);
+
+            assertArrayEquals(expected, actual, "query " + latitude + ", " + longitude);
+        }
+    }
+
+    @Test
+    void nearest_최대_거리_밖은_제외() {
+        double[] latitudes = {37.50, 37.51, 38.50};
+        double[] longitudes = {127.00, 127.00, 127.00};
+        GeoKdTree tree = GeoKdTree.build(latitudes, longitudes);
+
+        // 0.01도 ~ 1.1km, 1도 ~ 111km
+        assertArrayEquals(new int[]{0, 1}, tree.nearest(37.50, 127.00, 6, 10.0));
+        assertArrayEquals(new int[]{0}, tree.nearest(37.50, 127.00, 1, 10.0));
+    }
+
+    @Test
+    void nearest_filter_를_통과한_인덱스만_반환() {
+        double[][] points = randomKoreaPoints(2_000);
+        GeoKdTree tree = GeoKdTree.build(points[0], points[1]);
+
+        int[] actual = tree.nearest(36.0, 127.5, 10, 500.0, index -> index % 3 == 0);
+
+        assertEquals(10, actual.length);
+        assertEquals(0, Arrays.stream(actual).filter(index -> index % 3 != 0).count());
+        int[] expected = IntStream.of(bruteForce(points, 36.0, 127.5, points[0].length, 500.0))
+                .filter(index -> index % 3 == 0)
+                .limit(10)
+                .toArray();
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void nearest_빈_트리와_k가_0이하() {
+        GeoKdTree empty = GeoKdTree.build(new double[0], new double[0]);
+
+        assertEquals(0, empty.nearest(37.5, 127.0, 6, 100.0).length);
+        assertEquals(0, GeoKdTree.build(new double[]{37.5}, new double[]{127.0}).nearest(37.5, 127.0, 0, 100.0).length);
+    }
+
+    @Test
+    void nearest_k가_크기보다_크면_전체() {
+        GeoKdTree tree = GeoKdTree.build(new double[]{37.5, 37.6, 37.7}, new double[]{127.0, 127.0, 127.0});
+
+        assertArrayEquals(new int[]{2, 1, 0}, tree.nearest(37.8, 127.0, 10, 100.0));
+    }
+
+    @Test
+    void nearest_같은_좌표가_여러_개여도_모두_반환() {
+        double[] latitudes = new double[50];
+        double[] longitudes = new double[50];
+        Arrays.fill(latitudes, 37.5);
+        Arrays.fill(longitudes, 127.0);
+        GeoKdTree tree = GeoKdTree.build(latitudes, longitudes);
+
+        int[] actual = tree.nearest(37.5, 127.0, 50, 1.0);
+
+        assertEquals(50, actual.length);
+        assertEquals(50, Arrays.stream(actual).distinct().count());
+    }
+
+    private static double[][] randomKoreaPoints(int count) {
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = 33 + RANDOM.nextDouble() * 5;
+            longitudes[i] = 126 + RANDOM.nextDouble() * 3;
+        }
+        return new double[][]{latitudes, longitudes};
+    }
+
+    private static int[] bruteForce(double[][] points, double latitude, double longitude, int k, double maxDistanceKm) {
+        return IntStream.range(0, points[0].length)
+                .boxed()
+                .filter(i -> GeoKdTree.distanceKm(latitude, longitude, points[0][i], points[1][i]) <= maxDistanceKm)
+                .sorted(Comparator.comparingDouble(i -> GeoKdTree.distanceKm(latitude, longitude, points[0][i], points[1][i])))
+                .limit(k)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,72 @@
+package gradude.springVision.domain.hospital.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HangulTest {
+
+    private static final char END = 0; // 다음 글자 없음
+
+    @Test
+    void 초성_추출() {
+        assertEquals('ㄱ', Hangul.choseong('가'));
+        assertEquals('ㅂ', Hangul.choseong('병'));
+        assertEquals('ㅎ', Hangul.choseong('힣'));
+    }
+
+    @Test
+    void 음절과_자음_구분() {
+        assertTrue(Hangul.isSyllable('가'));
+        assertTrue(Hangul.isSyllable('힣'));
+        assertFalse(Hangul.isSyllable('ㄱ'));
+        assertFalse(Hangul.isSyllable('a'));
+        assertTrue(Hangul.isConsonant('ㄱ'));
+        assertTrue(Hangul.isConsonant('ㅎ'));
+        assertFalse(Hangul.isConsonant('ㅏ'));
+        assertFalse(Hangul.isConsonant('가'));
+    }
+
+    @Test
+    void 입력이_끝난_글자는_같거나_초성만_일치() {
+        assertTrue(Hangul.matches('서', '서'));
+        assertTrue(Hangul.matches('ㅅ', '서'));
+        assertTrue(Hangul.matches('a', 'a'));
+        assertFalse(Hangul.matches('ㅇ', '서'));
+        assertFalse(Hangul.matches('벼', '병')); // 조합 중 비교는 마지막 글자에만
+        assertFalse(Hangul.matches('ㄱ', 'ㄲ'));
+    }
+
+    @Test
+    void 초성만_입력() {
+        assertTrue(Hangul.isTypingPrefix('ㅂ', '병', '원'));
+        assertFalse(Hangul.isTypingPrefix('ㄱ', '병', '원'));
+    }
+
+    @Test
+    void 종성_겹모음_겹받침_입력_전() {
+        assertTrue(Hangul.isTypingPrefix('벼', '병', '원'));
+        assertTrue(Hangul.isTypingPrefix('우', '원', END));
+        assertTrue(Hangul.isTypingPrefix('오', '와', END));
+        assertTrue(Hangul.isTypingPrefix('갈', '갉', END));
+        assertFalse(Hangul.isTypingPrefix('버', '병', '원'));
+        assertFalse(Hangul.isTypingPrefix('병', '볍', '원'));
+    }
+
+    @Test
+    void 다음_글자_초성이_종성_자리에_붙은_상태() {
+        assertTrue(Hangul.isTypingPrefix('댑', '대', '병'));
+        assertTrue(Hangul.isTypingPrefix('닭', '달', '걀'));
+        assertFalse(Hangul.isTypingPrefix('댑', '대', '학'));
+        assertFalse(Hangul.isTypingPrefix('댑', '대', END));
+    }
+
+    @Test
+    void 한글이_아니면_같은_글자만() {
+        assertTrue(Hangul.isTypingPrefix('a', 'a', END));
+        assertFalse(Hangul.isTypingPrefix('a', 'b', END));
+        assertFalse(Hangul.isTypingPrefix('ㅂ', 'b', END));
+    }
+}
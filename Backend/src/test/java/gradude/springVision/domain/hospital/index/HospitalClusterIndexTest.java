@@ -0,0 +1,134 @@
+package gradude.springVision.domain.hospital.index;
+
+import gradude.springVision.domain.hospital.entity.Hospital;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HospitalClusterIndexTest {
+
+    // 화면: 위도 37.45 ~ 37.55, 경도 126.95 ~ 127.05
+    private static final double NE_LATITUDE = 37.55;
+    private static final double NE_LONGITUDE = 127.05;
+    private static final double SW_LATITUDE = 37.45;
+    private static final double SW_LONGITUDE = 126.95;
+    private static final int ZOOM = 10; // 칸 너비 360 / 2^12 ~ 0.088도
+
+    private final HospitalClusterIndex index = new HospitalClusterIndex();
+
+    @Test
+    void threshold_이하이면_화면_안_병원만_개별_마커() {
+        index.rebuild(List.of(
+                hospital(1L, 37.50, 127.00, true),
+                hospital(2L, 37.51, 127.01, false),
+                hospital(3L, 37.50, 127.06, false))); // 화면 밖, 화면에 걸친 칸
+
+        HospitalClusterIndex.ClusterResult result = index.findClusters(NE_LATITUDE, NE_LONGITUDE, SW_LATITUDE, SW_LONGITUDE, ZOOM, 10, null);
+
+        assertFalse(result.isClustered());
+        assertEquals(0, result.getClusters().size());
+        assertEquals(List.of(1L, 2L), markerIds(result));
+    }
+
+    @Test
+    void threshold_초과이면_칸별_클러스터와_뇌졸중센터_수() {
+        List<Hospital> hospitals = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            hospitals.add(hospital(id, 37.50, 126.96, id <= 3));
+        }
+        index.rebuild(hospitals);
+
+        HospitalClusterIndex.ClusterResult result = index.findClusters(NE_LATITUDE, NE_LONGITUDE, SW_LATITUDE, SW_LONGITUDE, ZOOM, 5, null);
+
+        assertTrue(result.isClustered());
+        assertEquals(1, result.getClusters().size());
+        HospitalClusterIndex.Cluster cluster = result.getClusters().get(0);
+        assertEquals(10, cluster.getCount());
+        assertEquals(3, cluster.getStrokeCenterCount());
+        assertEquals(37.50, cluster.getLatitude(), 1e-9);
+        assertEquals(126.96, cluster.getLongitude(), 1e-9);
+    }
+
+    @Test
+    void 클러스터_모드에서도_병원_1개인_칸이_화면_밖이면_제외() {
+        List<Hospital> hospitals = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            hospitals.add(hospital(id, 37.50, 126.96, false));
+        }
+        hospitals.add(hospital(11L, 37.46, 127.03, false)); // 화면 안, 혼자 있는 칸
+        hospitals.add(hospital(12L, 37.56, 127.06, false)); // 화면 밖, 화면에 걸친 칸에 혼자
+        index.rebuild(hospitals);
+
+        HospitalClusterIndex.ClusterResult result = index.findClusters(NE_LATITUDE, NE_LONGITUDE, SW_LATITUDE, SW_LONGITUDE, ZOOM, 5, null);
+
+        assertTrue(result.isClustered());
+        assertEquals(1, result.getClusters().size());
+        assertEquals(List.of(11L), markerIds(result));
+    }
+
+    @Test
+    void filter_후_1개만_남은_칸도_화면_밖이면_제외() {
+        List<Hospital> hospitals = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            hospitals.add(hospital(id, 37.50, 126.96, false));
+        }
+        hospitals.add(hospital(11L, 37.50, 127.049, false)); // 화면 안
+        hospitals.add(hospital(12L, 37.50, 127.06, false));  // 같은 칸, 화면 밖
+        index.rebuild(hospitals);
+
+        HospitalClusterIndex.ClusterResult onlyOutside = index.findClusters(NE_LATITUDE, NE_LONGITUDE, SW_LATITUDE, SW_LONGITUDE, ZOOM, 5,
+                id -> id != 11L);
+        HospitalClusterIndex.ClusterResult onlyInside = index.findClusters(NE_LATITUDE, NE_LONGITUDE, SW_LATITUDE, SW_LONGITUDE, ZOOM, 5,
+                id -> id != 12L);
+
+        assertEquals(List.of(), markerIds(onlyOutside));
+        assertEquals(List.of(11L), markerIds(onlyInside));
+    }
+
+    @Test
+    void 클러스터_여부는_filter_통과한_병원_수로_판단() {
+        List<Hospital> hospitals = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            hospitals.add(hospital(id, 37.50, 126.96 + id * 0.001, false));
+        }
+        index.rebuild(hospitals);
+
+        HospitalClusterIndex.ClusterResult result = index.findClusters(NE_LATITUDE, NE_LONGITUDE, SW_LATITUDE, SW_LONGITUDE, ZOOM, 5,
+                id -> id <= 3);
+
+        assertFalse(result.isClustered());
+        assertEquals(0, result.getClusters().size());
+        assertEquals(List.of(1L, 2L, 3L), markerIds(result));
+    }
+
+    @Test
+    void 적재_전에는_빈_결과() {
+        HospitalClusterIndex.ClusterResult result = index.findClusters(NE_LATITUDE, NE_LONGITUDE, SW_LATITUDE, SW_LONGITUDE, ZOOM, 5, null);
+
+        assertFalse(index.isReady());
+        assertEquals(0, result.getClusters().size());
+        assertEquals(0, result.getMarkers().size());
+    }
+
+    private static List<Long> markerIds(HospitalClusterIndex.ClusterResult result) {
+        return result.getMarkers().stream()
+                .map(HospitalClusterIndex.Marker::getHospitalId)
+                .sorted()
+                .toList();
+    }
+
+    private static Hospital hospital(long id, double latitude, double longitude, boolean strokeCenter) {
+        return Hospital.builder()
+                .id(id)
+                .name("병원" + id)
+                .latitude(latitude)
+                .longitude(longitude)
+                .strokeCenter(strokeCenter)
+                .build();
+    }
+}
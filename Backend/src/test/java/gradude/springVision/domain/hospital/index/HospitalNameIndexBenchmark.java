@@ -0,0 +1,66 @@
+package gradude.springVision.domain.hospital.index;
+
+import gradude.springVision.domain.hospital.entity.Hospital;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 자동완성(searchPrefix) 1건 조회 시간 (p50 / p95)
+ * - 한국 병원 이름 형태의 가상 이름 100k 개, ./gradlew benchmark 로만 실행
+ * - 한 글자 / 초성만 입력한 검색어가 전체 비교 없이 초성 n-gram 으로 좁혀지는지 확인
+ */
+@Tag("benchmark")
+class HospitalNameIndexBenchmark {
+
+    private static final int HOSPITALS = 100_000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+
+    private static final String[] REGIONS = {"서울", "부산", "대구", "인천", "광주", "대전", "울산", "세종", "수원", "성남", "고양", "용인", "청주", "전주", "포항", "창원"};
+    private static final String[] NAMES = {"연세", "삼성", "한마음", "우리", "미래", "행복", "바른", "튼튼", "365", "하나", "새봄", "푸른", "밝은", "참", "으뜸", "365열린"};
+    private static final String[] KINDS = {"내과의원", "정형외과", "소아청소년과의원", "이비인후과", "치과의원", "한의원", "병원", "요양병원", "가정의학과의원", "피부과"};
+
+    @Test
+    void 자동완성_조회_시간() {
+        HospitalNameIndex index = new HospitalNameIndex();
+        index.rebuild(hospitals());
+
+        for (String keyword : List.of("ㅅ", "서", "서ㅇ", "ㅅㅇㅎ", "서울한", "서울한마음내", "ㄴㄱ")) {
+            int found = 0;
+            for (int i = 0; i < WARMUP; i++) {
+                found = index.searchPrefix(keyword, 37.5, 127.0, 10).size();
+            }
+
+            long[] nanos = new long[ITERATIONS];
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                index.searchPrefix(keyword, 37.5, 127.0, 10);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+
+            System.out.printf("%-8s found: %2d, p50: %.1fus, p95: %.1fus%n", keyword, found,
+                    nanos[ITERATIONS / 2] / 1_000.0, nanos[ITERATIONS * 95 / 100] / 1_000.0);
+        }
+    }
+
+    private static List<Hospital> hospitals() {
+        Random random = new Random(42);
+        List<Hospital> hospitals = new ArrayList<>(HOSPITALS);
+        for (int i = 0; i < HOSPITALS; i++) {
+            String name = REGIONS[random.nextInt(REGIONS.length)] + NAMES[random.nextInt(NAMES.length)] + KINDS[random.nextInt(KINDS.length)];
+            hospitals.add(Hospital.builder()
+                    .id((long) i + 1)
+                    .name(name)
+                    .latitude(33 + random.nextDouble() * 5)
+                    .longitude(126 + random.nextDouble() * 3)
+                    .build());
+        }
+        return hospitals;
+    }
+}
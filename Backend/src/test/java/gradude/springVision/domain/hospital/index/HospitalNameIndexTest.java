@@ -0,0 +1,100 @@
+package gradude.springVision.domain.hospital.index;
+
+import gradude.springVision.domain.hospital.dto.request.HospitalSearchCursor;
+import gradude.springVision.domain.hospital.entity.Hospital;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HospitalNameIndexTest {
+
+    // 기준 위치에서 id 가 클수록 멀리 있는 병원
+    private static final double LATITUDE = 37.50;
+    private static final double LONGITUDE = 127.00;
+
+    private final HospitalNameIndex index = new HospitalNameIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.rebuild(List.of(
+                hospital(1L, "서울대병원"),
+                hospital(2L, "서울성모병원"),
+                hospital(3L, "연세세브란스병원"),
+                hospital(4L, "닭갈비의원"),
+                hospital(5L, "서울병원"),
+                hospital(6L, "Seoul Clinic"),
+                hospital(7L, "대학병원")));
+    }
+
+    @Test
+    void 부분_문자열_검색은_가까운_순() {
+        assertEquals(List.of(1L, 2L, 3L, 5L, 7L), ids(index.search("병원", LATITUDE, LONGITUDE)));
+        assertEquals(List.of(1L, 2L, 5L), ids(index.search("서울", LATITUDE, LONGITUDE)));
+        assertEquals(List.of(6L), ids(index.search("seoul", LATITUDE, LONGITUDE)));
+        assertEquals(List.of(), ids(index.search("부산", LATITUDE, LONGITUDE)));
+    }
+
+    @Test
+    void 커서_뒤에서부터_limit_개() {
+        List<HospitalDistance> all = index.search("병원", LATITUDE, LONGITUDE);
+        HospitalDistance second = all.get(1);
+
+        List<HospitalDistance> next = index.searchAfter("병원", LATITUDE, LONGITUDE,
+                new HospitalSearchCursor(second.getDistance(), second.getHospital().getId(), 0), 2);
+
+        assertEquals(List.of(3L, 5L), ids(next));
+    }
+
+    @Test
+    void 자동완성_마지막_글자는_조합_중() {
+        assertEquals(List.of(1L, 2L, 5L), ids(index.searchPrefix("서우", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(5L), ids(index.searchPrefix("서울벼", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(1L), ids(index.searchPrefix("서울댑", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(4L), ids(index.searchPrefix("닭", LATITUDE, LONGITUDE, 10)));
+    }
+
+    @Test
+    void 자동완성_앞_글자는_초성만_입력해도_일치() {
+        assertEquals(List.of(1L, 2L, 5L), ids(index.searchPrefix("ㅅㅇ", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(1L), ids(index.searchPrefix("ㅅㅇㄷ", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(1L), ids(index.searchPrefix("ㄷ병", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(7L), ids(index.searchPrefix("ㄷㅎ", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(2L), ids(index.searchPrefix("서ㅇ성", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 7L), ids(index.searchPrefix("ㅂㅇ", LATITUDE, LONGITUDE, 10))); // 닭갈비의원 포함
+    }
+
+    @Test
+    void 자동완성_한_글자와_초성만_입력한_검색어() {
+        assertEquals(List.of(1L, 2L, 3L, 5L), ids(index.searchPrefix("ㅅ", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(1L, 2L, 5L), ids(index.searchPrefix("서ㅇ", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(2L, 3L), ids(index.searchPrefix("ㅇㅅ", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(3L), ids(index.searchPrefix("세", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(2L), ids(index.searchPrefix("서울ㅅ", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(6L), ids(index.searchPrefix("s", LATITUDE, LONGITUDE, 10)));
+        assertEquals(List.of(), ids(index.searchPrefix("ㅋ", LATITUDE, LONGITUDE, 10)));
+    }
+
+    @Test
+    void 자동완성_limit_과_빈_검색어() {
+        assertEquals(List.of(1L, 2L), ids(index.searchPrefix("ㅂ", LATITUDE, LONGITUDE, 2)));
+        assertTrue(index.searchPrefix("", LATITUDE, LONGITUDE, 10).isEmpty());
+        assertTrue(index.searchPrefix("서울", LATITUDE, LONGITUDE, 0).isEmpty());
+    }
+
+    private static List<Long> ids(List<HospitalDistance> matches) {
+        return matches.stream().map(match -> match.getHospital().getId()).toList();
+    }
+
+    private static Hospital hospital(long id, String name) {
+        return Hospital.builder()
+                .id(id)
+                .name(name)
+                .latitude(LATITUDE + id * 0.01)
+                .longitude(LONGITUDE)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package gradude.springVision.domain.hospital.index;
+
+import gradude.springVision.domain.hospital.entity.Hospital;
+import gradude.springVision.domain.hospital.entity.OpeningHour;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HospitalOpeningIndexTest {
+
+    // 2024-01-01 은 월요일
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final HospitalOpeningIndex index = new HospitalOpeningIndex();
+
+    @Test
+    void 응급실은_항상_운영_중() {
+        index.rebuild(List.of(
+                hospital(1L, true, null),
+                hospital(2L, false, weekdays("09:00~18:00"))));
+
+        HospitalOpeningIndex.OpenHospitals open = index.findOpenAt(MONDAY.withHour(3));
+
+        assertTrue(open.contains(1L));
+        assertFalse(open.contains(2L));
+        assertEquals(1, open.size());
+    }
+
+    @Test
+    void 병원별_isOpenAt_과_같은_결과() {
+        String[] samples = {"09:00~18:00", "22:00~02:00", "00:00~24:00", "08:30~12:30", "9시~18시", "18:00~18:00", null};
+        Random random = new Random(7);
+        List<Hospital> hospitals = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            String[] days = new String[7];
+            for (int day = 0; day < 7; day++) {
+                days[day] = samples[random.nextInt(samples.length)];
+            }
+            OpeningHour openingHour = new OpeningHour(days[0], days[1], days[2], days[3], days[4], days[5], days[6]);
+            hospitals.add(hospital(id, random.nextInt(20) == 0, random.nextInt(10) == 0 ? null : openingHour));
+        }
+        index.rebuild(hospitals);
+
+        for (int step = 0; step < 7 * 24 * 4; step++) {
+            LocalDateTime time = MONDAY.plusMinutes(step * 15L + 7);
+            HospitalOpeningIndex.OpenHospitals open = index.findOpenAt(time);
+            int expected = 0;
+            for (Hospital hospital : hospitals) {
+                boolean isOpen = hospital.isOpenAt(time);
+                assertEquals(isOpen, open.contains(hospital.getId()), "id=" + hospital.getId() + " at " + time);
+                expected += isOpen ? 1 : 0;
+            }
+            assertEquals(expected, open.size());
+        }
+    }
+
+    @Test
+    void 적재_전에는_빈_결과() {
+        assertFalse(index.isReady());
+        assertEquals(0, index.findOpenAt(MONDAY).size());
+    }
+
+    private static Hospital hospital(long id, boolean emergency, OpeningHour openingHour) {
+        return Hospital.builder()
+                .id(id)
+                .name("병원" + id)
+                .emergency(emergency)
+                .openingHour(openingHour)
+                .build();
+    }
+
+    private static OpeningHour weekdays(String hours) {
+        return new OpeningHour(hours, hours, hours, hours, hours, null, null);
+    }
+}
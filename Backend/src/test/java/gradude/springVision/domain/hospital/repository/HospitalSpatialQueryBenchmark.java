@@ -0,0 +1,201 @@
+package gradude.springVision.domain.hospital.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 병원 공간 쿼리 데이터 규모별 지연 시간 (1천 / 5만 / 50만 건)
+ * - HospitalRepository 의 반경 / 화면 영역 / 이름 검색 쿼리와 같은 SQL 을 hospital_bench 테이블에 실행
+ * - 비교용으로 공간 인덱스 이전의 위도/경도 acos 전체 스캔 반경 쿼리도 함께 측정
+ * - 실행: BENCHMARK_MYSQL_URL=jdbc:mysql://localhost:3306/bench BENCHMARK_MYSQL_USER=root BENCHMARK_MYSQL_PASSWORD=... ./gradlew benchmark
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_MYSQL_URL", matches = ".+")
+class HospitalSpatialQueryBenchmark {
+
+    private static final int[] DATASET_SIZES = {1_000, 50_000, 500_000};
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+    private static final int INSERT_BATCH = 1_000;
+    private static final String[] NAME_WORDS = {"서울", "연세", "세브란스", "삼성", "아산", "성모", "튼튼", "바른", "365", "우리"};
+    private static final String[] NAME_SUFFIXES = {"병원", "의원", "신경과의원", "재활의학과", "한의원"};
+
+    // V1__hospital_location.sql 과 같은 공간 컬럼 / 인덱스
+    private static final String CREATE_TABLE = """
+            CREATE TABLE hospital_bench (
+                id        BIGINT       NOT NULL AUTO_INCREMENT,
+                name      VARCHAR(255) NOT NULL,
+                latitude  DOUBLE       NOT NULL,
+                longitude DOUBLE       NOT NULL,
+                location  POINT SRID 4326 GENERATED ALWAYS AS (ST_SRID(POINT(latitude, longitude), 4326)) STORED NOT NULL,
+                PRIMARY KEY (id),
+                SPATIAL INDEX idx_hospital_bench_location (location)
+            ) ENGINE = InnoDB
+            """;
+
+    private static final String RADIUS = """
+            SELECT h.id, h.name, h.latitude, h.longitude,
+                ST_Distance_Sphere(h.location, ST_SRID(POINT(?, ?), 4326)) / 1000 AS distance
+            FROM hospital_bench h
+            WHERE MBRContains(
+                ST_GeomFromText(CONCAT('POLYGON((', ?, ' ', ?, ',', ?, ' ', ?, ',', ?, ' ', ?, ',', ?, ' ', ?, ',', ?, ' ', ?, '))'), 4326),
+                h.location)
+              AND ST_Distance_Sphere(h.location, ST_SRID(POINT(?, ?), 4326)) <= ?
+            ORDER BY distance
+            """;
+
+    private static final String LEGACY_RADIUS = """
+            SELECT h.id, h.name, h.latitude, h.longitude,
+                6371 * acos(cos(radians(?)) * cos(radians(h.latitude)) * cos(radians(h.longitude) - radians(?))
+                    + sin(radians(?)) * sin(radians(h.latitude))) AS distance
+            FROM hospital_bench h
+            HAVING distance <= ?
+            ORDER BY distance
+            """;
+
+    private static final String BOUNDS = """
+            SELECT h.id, h.latitude, h.longitude
+            FROM hospital_bench h
+            WHERE MBRContains(
+                ST_GeomFromText(CONCAT('POLYGON((', ?, ' ', ?, ',', ?, ' ', ?, ',', ?, ' ', ?, ',', ?, ' ', ?, ',', ?, ' ', ?, '))'), 4326),
+                h.location)
+            """;
+
+    private static final String NAME_SEARCH = """
+            SELECT h.id, h.name,
+                ST_Distance_Sphere(h.location, ST_SRID(POINT(?, ?), 4326)) / 1000 AS distance
+            FROM hospital_bench h
+            WHERE h.name LIKE CONCAT('%', ?, '%')
+            ORDER BY distance
+            LIMIT 6
+            """;
+
+    @Test
+    void 데이터_규모별_쿼리_지연_시간() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(System.getenv("BENCHMARK_MYSQL_URL"),
+                System.getenv("BENCHMARK_MYSQL_USER"), System.getenv("BENCHMARK_MYSQL_PASSWORD"))) {
+            try {
+                System.out.printf("%-10s %-22s %10s %10s%n", "rows", "query", "p50(ms)", "p95(ms)");
+                for (int size : DATASET_SIZES) {
+                    load(connection, size);
+                    report(connection, size);
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE IF EXISTS hospital_bench");
+                }
+            }
+        }
+    }
+
+    private void load(Connection connection, int size) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS hospital_bench");
+            statement.execute(CREATE_TABLE);
+        }
+
+        // 남한 영역 위도 33~38.5, 경도 126~129.6, 일부는 서울 주변에 밀집
+        Random random = new Random(size);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO hospital_bench (name, latitude, longitude) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < size; i++) {
+                boolean seoul = random.nextInt(3) == 0;
+                insert.setString(1, NAME_WORDS[random.nextInt(NAME_WORDS.length)] + NAME_SUFFIXES[random.nextInt(NAME_SUFFIXES.length)] + i);
+                insert.setDouble(2, seoul ? 37.45 + random.nextDouble() * 0.25 : 33 + random.nextDouble() * 5.5);
+                insert.setDouble(3, seoul ? 126.85 + random.nextDouble() * 0.3 : 126 + random.nextDouble() * 3.6);
+                insert.addBatch();
+                if ((i + 1) % INSERT_BATCH == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE hospital_bench");
+        }
+    }
+
+    private void report(Connection connection, int size) throws SQLException {
+        Random random = new Random(7);
+
+        print(size, "radius 10km (spatial)", measure(() -> {
+            double lat = 37.45 + random.nextDouble() * 0.25;
+            double lng = 126.85 + random.nextDouble() * 0.3;
+            double latDelta = 10 / HospitalRepository.KM_PER_LATITUDE_DEGREE;
+            double lngDelta = 10 / (HospitalRepository.KM_PER_LATITUDE_DEGREE * Math.cos(Math.toRadians(lat)));
+            double neLat = lat + latDelta;
+            double neLng = lng + lngDelta;
+            double swLat = lat - latDelta;
+            double swLng = lng - lngDelta;
+            return query(connection, RADIUS, lat, lng, swLat, swLng, neLat, swLng, neLat, neLng, swLat, neLng, swLat, swLng, lat, lng, 10_000.0);
+        }));
+
+        print(size, "radius 10km (legacy)", measure(() -> {
+            double lat = 37.45 + random.nextDouble() * 0.25;
+            double lng = 126.85 + random.nextDouble() * 0.3;
+            return query(connection, LEGACY_RADIUS, lat, lng, lat, 10.0);
+        }));
+
+        print(size, "bounds (city view)", measure(() -> {
+            double swLat = 37.45 + random.nextDouble() * 0.15;
+            double swLng = 126.85 + random.nextDouble() * 0.2;
+            double neLat = swLat + 0.1;
+            double neLng = swLng + 0.1;
+            return query(connection, BOUNDS, swLat, swLng, neLat, swLng, neLat, neLng, swLat, neLng, swLat, swLng);
+        }));
+
+        print(size, "name LIKE + distance", measure(() ->
+                query(connection, NAME_SEARCH, 37.5665, 126.9780, NAME_WORDS[random.nextInt(NAME_WORDS.length)] + "병원")));
+    }
+
+    private interface Query {
+        int run() throws SQLException;
+    }
+
+    private static double[] measure(Query query) throws SQLException {
+        for (int i = 0; i < WARMUP; i++) {
+            query.run();
+        }
+        double[] millis = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return new double[]{millis[ITERATIONS / 2], millis[ITERATIONS * 95 / 100]};
+    }
+
+    private static int query(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            int rows = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static void print(int size, String name, double[] percentiles) {
+        System.out.printf("%-10d %-22s %10.2f %10.2f%n", size, name, percentiles[0], percentiles[1]);
+    }
+}
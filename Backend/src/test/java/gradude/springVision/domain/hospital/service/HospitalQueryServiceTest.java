@@ -0,0 +1,85 @@
+package gradude.springVision.domain.hospital.service;
+
+import gradude.springVision.domain.hospital.dto.response.HospitalSearchResponseDTO;
+import gradude.springVision.domain.hospital.entity.Hospital;
+import gradude.springVision.domain.hospital.index.HospitalNameIndex;
+import gradude.springVision.domain.hospital.repository.HospitalRepository;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.PageResponseDTO;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 커서 방식 병원 검색
+ * - 이름 인덱스를 적재한 상태에서 호출하므로 DB 저장소는 호출되면 실패
+ */
+class HospitalQueryServiceTest {
+
+    // 기준 위치에서 id 가 클수록 멀리 있는 병원
+    private static final double LATITUDE = 37.50;
+    private static final double LONGITUDE = 127.00;
+
+    private HospitalQueryService service;
+
+    @BeforeEach
+    void setUp() {
+        HospitalNameIndex nameIndex = new HospitalNameIndex();
+        nameIndex.rebuild(List.of(
+                hospital(1L, "서울대병원"),
+                hospital(2L, "서울성모병원"),
+                hospital(3L, "연세세브란스병원"),
+                hospital(4L, "닭갈비의원"),
+                hospital(5L, "서울병원")));
+
+        HospitalRepository repository = (HospitalRepository) Proxy.newProxyInstance(HospitalRepository.class.getClassLoader(),
+                new Class<?>[]{HospitalRepository.class}, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        service = new HospitalQueryService(repository, null, null, null, nameIndex);
+    }
+
+    @Test
+    void 다음_커서로_끝까지_조회() {
+        List<List<Long>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponseDTO<HospitalSearchResponseDTO> page = service.searchHospitalByCursor(LATITUDE, LONGITUDE, "병원", cursor, 2);
+            pages.add(page.getContent().stream().map(HospitalSearchResponseDTO::getHospitalId).toList());
+            assertEquals(page.getNextCursor() != null, page.getHasNext());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 5L)), pages);
+    }
+
+    @Test
+    void 페이지_크기는_1_에서_50() {
+        assertTrue(service.searchHospitalByCursor(LATITUDE, LONGITUDE, "병원", null, 1).getHasNext());
+        assertFalse(service.searchHospitalByCursor(LATITUDE, LONGITUDE, "병원", null, 50).getHasNext());
+
+        for (int size : new int[]{0, -1, 51, Integer.MAX_VALUE}) {
+            GeneralException e = assertThrows(GeneralException.class,
+                    () -> service.searchHospitalByCursor(LATITUDE, LONGITUDE, "병원", null, size));
+            assertEquals(ErrorCode.BAD_REQUEST, e.getErrorCode());
+        }
+    }
+
+    private static Hospital hospital(long id, String name) {
+        return Hospital.builder()
+                .id(id)
+                .name(name)
+                .latitude(LATITUDE + id * 0.01)
+                .longitude(LONGITUDE)
+                .build();
+    }
+}
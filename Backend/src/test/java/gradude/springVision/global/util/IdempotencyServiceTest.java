@@ -0,0 +1,248 @@
+package gradude.springVision.global.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Idempotency-Key 중복 실행 방지
+ * - Redis 는 메모리 Map, 조건부 저장 / 삭제 스크립트는 같은 비교를 Java 로 흉내 냄
+ */
+class IdempotencyServiceTest {
+
+    private static final long USER_ID = 1L;
+    private static final String SCOPE = "diagnosis";
+    private static final String IDEMPOTENCY_KEY = "key-1";
+    private static final String KEY = "idempotency:" + SCOPE + ":" + USER_ID + ":" + IDEMPOTENCY_KEY;
+
+    record Answer(String text, int score) {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, String> store = new ConcurrentHashMap<>();
+    private final AtomicInteger actions = new AtomicInteger();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        store.clear();
+        actions.set(0);
+        service = new IdempotencyService(redisTemplate(), objectMapper);
+        ReflectionTestUtils.setField(service, "ttl", 60_000L);
+        ReflectionTestUtils.setField(service, "pendingTtl", 60_000L);
+        ReflectionTestUtils.setField(service, "waitTimeout", 2_000L);
+        ReflectionTestUtils.setField(service, "pollInterval", 10L);
+    }
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void 처음_요청은_실행하고_같은_키는_저장된_응답() {
+        Answer first = execute("fp", () -> new Answer("정상", 1));
+        Answer second = execute("fp", () -> new Answer("다시 실행됨", 2));
+
+        assertEquals(new Answer("정상", 1), first);
+        assertEquals(first, second);
+        assertEquals(1, actions.get());
+        assertEquals("정상", stored().get("response").get("text").asText());
+    }
+
+    @Test
+    void 처리_중인_같은_키는_끝날_때까지_기다렸다가_같은_응답() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Answer> original = callers.submit(() -> execute("fp", () -> {
+            running.countDown();
+            await(release);
+            return new Answer("원래 요청", 1);
+        }));
+        assertTrue(running.await(1, TimeUnit.SECONDS));
+
+        Future<Answer> duplicate = callers.submit(() -> execute("fp", () -> new Answer("중복 실행", 2)));
+        Thread.sleep(50);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        assertEquals(new Answer("원래 요청", 1), original.get(1, TimeUnit.SECONDS));
+        assertEquals(new Answer("원래 요청", 1), duplicate.get(1, TimeUnit.SECONDS));
+        assertEquals(1, actions.get());
+    }
+
+    @Test
+    void 대기_시간_안에_끝나지_않으면_IDEMPOTENCY_REQUEST_IN_PROGRESS() throws Exception {
+        ReflectionTestUtils.setField(service, "waitTimeout", 50L);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Answer> original = callers.submit(() -> execute("fp", () -> {
+            running.countDown();
+            await(release);
+            return new Answer("원래 요청", 1);
+        }));
+        assertTrue(running.await(1, TimeUnit.SECONDS));
+
+        assertError(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS, () -> execute("fp", () -> new Answer("중복 실행", 2)));
+
+        release.countDown();
+        original.get(1, TimeUnit.SECONDS);
+        assertEquals(1, actions.get());
+    }
+
+    @Test
+    void 같은_키에_다른_요청이면_IDEMPOTENCY_KEY_REUSED() {
+        execute("fp", () -> new Answer("정상", 1));
+
+        assertError(ErrorCode.IDEMPOTENCY_KEY_REUSED, () -> execute("other", () -> new Answer("다른 요청", 2)));
+        assertEquals(1, actions.get());
+    }
+
+    @Test
+    void 실패하면_기록을_지워_다시_실행() {
+        RuntimeException failure = new IllegalStateException("down");
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> execute("fp", () -> {
+            throw failure;
+        })));
+        assertNull(store.get(KEY));
+
+        assertEquals(new Answer("재시도", 1), execute("fp", () -> new Answer("재시도", 1)));
+        assertEquals(2, actions.get());
+    }
+
+    @Test
+    void 저장할_수_없는_응답은_기록을_지워_다시_실행() {
+        Answer partial = service.execute(USER_ID, SCOPE, IDEMPOTENCY_KEY, "fp", Answer.class, counted(() -> new Answer("일부", 0)),
+                answer -> answer.score() > 0);
+
+        assertEquals(new Answer("일부", 0), partial);
+        assertNull(store.get(KEY));
+        assertEquals(new Answer("전체", 1), execute("fp", () -> new Answer("전체", 1)));
+        assertEquals(2, actions.get());
+    }
+
+    @Test
+    void 처리_중_기록이_만료되어_다른_요청이_선점했으면_덮어쓰지_않음() {
+        String other = "{\"fingerprint\":\"fp\",\"nonce\":\"other\",\"response\":null}";
+
+        Answer result = execute("fp", () -> {
+            store.put(KEY, other); // pending-ttl 이 지나 다른 요청이 다시 선점
+            return new Answer("늦게 끝난 요청", 1);
+        });
+
+        assertEquals(new Answer("늦게 끝난 요청", 1), result);
+        assertEquals(other, store.get(KEY));
+    }
+
+    @Test
+    void 처리_중_기록이_만료되어_다른_요청이_선점했으면_실패해도_지우지_않음() {
+        String other = "{\"fingerprint\":\"fp\",\"nonce\":\"other\",\"response\":null}";
+
+        assertThrows(IllegalStateException.class, () -> execute("fp", () -> {
+            store.put(KEY, other);
+            throw new IllegalStateException("down");
+        }));
+
+        assertEquals(other, store.get(KEY));
+    }
+
+    @Test
+    void 키가_없으면_그대로_실행하고_잘못된_키는_IDEMPOTENCY_KEY_INVALID() {
+        assertEquals(new Answer("키 없음", 1), service.execute(USER_ID, SCOPE, null, "fp", Answer.class, counted(() -> new Answer("키 없음", 1))));
+        assertTrue(store.isEmpty());
+
+        assertError(ErrorCode.IDEMPOTENCY_KEY_INVALID,
+                () -> service.execute(USER_ID, SCOPE, " ", "fp", Answer.class, counted(() -> new Answer("빈 키", 1))));
+        assertError(ErrorCode.IDEMPOTENCY_KEY_INVALID,
+                () -> service.execute(USER_ID, SCOPE, "k".repeat(256), "fp", Answer.class, counted(() -> new Answer("긴 키", 1))));
+        assertEquals(1, actions.get());
+    }
+
+    private Answer execute(String fingerprint, Supplier<Answer> action) {
+        return service.execute(USER_ID, SCOPE, IDEMPOTENCY_KEY, fingerprint, Answer.class, counted(action));
+    }
+
+    private Supplier<Answer> counted(Supplier<Answer> action) {
+        return () -> {
+            actions.incrementAndGet();
+            return action.get();
+        };
+    }
+
+    private ObjectNode stored() {
+        try {
+            return (ObjectNode) objectMapper.readTree(store.get(KEY));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void assertError(ErrorCode errorCode, Runnable call) {
+        assertEquals(errorCode, assertThrows(GeneralException.class, call::run).getErrorCode());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 조건부 스크립트: ARGV 가 1개면 삭제, 3개면 저장 (현재 값이 ARGV[1] 일 때만)
+     */
+    @SuppressWarnings("unchecked")
+    private RedisTemplate<String, String> redisTemplate() {
+        ValueOperations<String, String> values = (ValueOperations<String, String>) Proxy.newProxyInstance(ValueOperations.class.getClassLoader(),
+                new Class<?>[]{ValueOperations.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "get" -> store.get((String) args[0]);
+                    case "setIfAbsent" -> store.putIfAbsent((String) args[0], (String) args[1]) == null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return new RedisTemplate<>() {
+            @Override
+            public ValueOperations<String, String> opsForValue() {
+                return values;
+            }
+
+            @Override
+            public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+                String key = keys.get(0);
+                boolean owned = args.length == 3
+                        ? store.replace(key, (String) args[0], (String) args[1])
+                        : store.remove(key, args[0]);
+                return script.getResultType().cast(owned ? 1L : 0L);
+            }
+        };
+    }
+}
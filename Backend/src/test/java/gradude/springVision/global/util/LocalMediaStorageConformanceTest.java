@@ -0,0 +1,36 @@
+package gradude.springVision.global.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+class LocalMediaStorageConformanceTest extends MediaStorageConformanceTest {
+
+    private static final String BASE_URL = "/media";
+
+    @TempDir
+    Path root;
+
+    private LocalMediaStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new LocalMediaStorage();
+        ReflectionTestUtils.setField(storage, "rootLocation", root.toString());
+        ReflectionTestUtils.setField(storage, "baseUrl", BASE_URL);
+        storage.init();
+    }
+
+    @Override
+    protected MediaStorage storage() {
+        return storage;
+    }
+
+    @Override
+    protected String keyOf(String url) {
+        return url.substring(BASE_URL.length() + 1);
+    }
+}
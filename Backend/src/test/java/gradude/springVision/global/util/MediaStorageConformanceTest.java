@@ -0,0 +1,157 @@
+package gradude.springVision.global.util;
+
+import gradude.springVision.global.common.response.ErrorCode;
+import gradude.springVision.global.common.response.exception.GeneralException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MediaStorage 구현이 공통으로 지켜야 하는 동작과 처리량
+ * - 구현별 하위 클래스가 storage() 와 keyOf() 를 제공 (LocalMediaStorageConformanceTest, S3ServiceConformanceTest)
+ * - 실행마다 다른 userId 를 써서 저장소에 남은 이전 실행 결과와 섞이지 않음
+ */
+abstract class MediaStorageConformanceTest {
+
+    private static final String DIR_NAME = "video";
+    private static final int THROUGHPUT_FILES = 16;
+    private static final int THROUGHPUT_FILE_SIZE = 8 * 1024 * 1024;
+
+    private final long userId = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+
+    protected abstract MediaStorage storage();
+
+    /**
+     * uploadFile 이 반환한 URL 의 객체 키
+     */
+    protected abstract String keyOf(String url);
+
+    @Test
+    void 업로드한_파일의_크기와_내용() throws IOException {
+        byte[] content = randomBytes(64 * 1024);
+        String key = keyOf(upload(content));
+
+        assertTrue(key.startsWith(DIR_NAME + "/" + userId + "/"));
+        assertTrue(key.endsWith(sha256(content) + ".mp4"));
+        assertEquals(content.length, storage().getObjectSize(key));
+        assertArrayEquals(content, download(key));
+    }
+
+    @Test
+    void 같은_해시는_다시_저장하지_않음() throws IOException {
+        byte[] content = randomBytes(1024);
+        String hash = sha256(content);
+        String url = storage().uploadFile(userId, file(content), DIR_NAME, hash);
+
+        // 같은 해시로 다른 내용을 보내도 처음 저장한 파일이 유지됨
+        byte[] other = randomBytes(2048);
+        assertEquals(url, storage().uploadFile(userId, file(other), DIR_NAME, hash));
+        assertEquals(content.length, storage().getObjectSize(keyOf(url)));
+        assertArrayEquals(content, download(keyOf(url)));
+    }
+
+    @Test
+    void 큰_파일() throws IOException {
+        // S3 구현은 multipart 로 올라가는 크기
+        byte[] content = randomBytes(12 * 1024 * 1024 + 123);
+        String key = keyOf(upload(content));
+
+        assertEquals(content.length, storage().getObjectSize(key));
+        assertArrayEquals(content, download(key));
+    }
+
+    @Test
+    void 없는_키는_STORED_FILE_NOT_FOUND() {
+        String key = DIR_NAME + "/" + userId + "/ab/" + sha256(randomBytes(16)) + ".mp4";
+
+        assertError(ErrorCode.STORED_FILE_NOT_FOUND, () -> storage().getObjectSize(key));
+        assertError(ErrorCode.STORED_FILE_NOT_FOUND, () -> storage().download(key, "mp4File"));
+    }
+
+    @Test
+    void 상위_경로를_가리키는_키는_FORBIDDEN() throws IOException {
+        String key = keyOf(upload(randomBytes(1024)));
+        String otherUser = key.replace(DIR_NAME + "/" + userId + "/", DIR_NAME + "/" + userId + "/../" + (userId + 1) + "/");
+
+        for (String forbidden : new String[]{otherUser, "../" + key, DIR_NAME + "/" + userId + "/./x.mp4", DIR_NAME + "//x.mp4", "video\\..\\x.mp4"}) {
+            assertError(ErrorCode.FORBIDDEN, () -> storage().getObjectSize(forbidden));
+            assertError(ErrorCode.FORBIDDEN, () -> storage().download(forbidden, "mp4File"));
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void 처리량() throws IOException {
+        byte[][] contents = new byte[THROUGHPUT_FILES][];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = randomBytes(THROUGHPUT_FILE_SIZE);
+        }
+
+        String[] keys = new String[contents.length];
+        long uploadStart = System.nanoTime();
+        for (int i = 0; i < contents.length; i++) {
+            keys[i] = keyOf(upload(contents[i]));
+        }
+        long uploadNanos = System.nanoTime() - uploadStart;
+
+        long downloadStart = System.nanoTime();
+        for (String key : keys) {
+            StagedMultipartFile downloaded = storage().download(key, "mp4File");
+            downloaded.delete();
+        }
+        long downloadNanos = System.nanoTime() - downloadStart;
+
+        double megabytes = (double) THROUGHPUT_FILES * THROUGHPUT_FILE_SIZE / (1024 * 1024);
+        System.out.printf("%s: %d x %dMB, upload %.1f MB/s, download %.1f MB/s%n",
+                getClass().getSimpleName(), THROUGHPUT_FILES, THROUGHPUT_FILE_SIZE / (1024 * 1024),
+                megabytes / (uploadNanos / 1e9), megabytes / (downloadNanos / 1e9));
+    }
+
+    private String upload(byte[] content) {
+        return storage().uploadFile(userId, file(content), DIR_NAME, sha256(content));
+    }
+
+    private byte[] download(String key) throws IOException {
+        StagedMultipartFile downloaded = storage().download(key, "mp4File");
+        try {
+            return Files.readAllBytes(downloaded.getPath());
+        } finally {
+            downloaded.delete();
+        }
+    }
+
+    private static MockMultipartFile file(byte[] content) {
+        return new MockMultipartFile("mp4File", "video.mp4", "video/mp4", content);
+    }
+
+    private static void assertError(ErrorCode errorCode, Executable executable) {
+        assertEquals(errorCode, assertThrows(GeneralException.class, executable).getErrorCode());
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
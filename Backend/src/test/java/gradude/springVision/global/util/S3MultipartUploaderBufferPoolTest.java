@@ -0,0 +1,99 @@
+package gradude.springVision.global.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class S3MultipartUploaderBufferPoolTest {
+
+    @Test
+    void 반납한_버퍼를_재사용() throws InterruptedException {
+        S3MultipartUploader.BufferPool pool = new S3MultipartUploader.BufferPool(2, 16);
+
+        byte[] first = pool.acquire();
+        assertEquals(16, first.length);
+        pool.release(first);
+
+        assertSame(first, pool.acquire());
+    }
+
+    @Test
+    void 버퍼를_모두_쓰면_반납될_때까지_대기() throws Exception {
+        S3MultipartUploader.BufferPool pool = new S3MultipartUploader.BufferPool(2, 16);
+        byte[] first = pool.acquire();
+        byte[] second = pool.acquire();
+        assertNotSame(first, second);
+
+        CompletableFuture<byte[]> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> waiting.get(200, TimeUnit.MILLISECONDS));
+
+        pool.release(second);
+        assertSame(second, waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void 동시에_써도_버퍼_수는_capacity_이하이고_한_번에_한_곳에서만_사용() throws Exception {
+        int capacity = 4;
+        int threads = 16;
+        int rounds = 2_000;
+        S3MultipartUploader.BufferPool pool = new S3MultipartUploader.BufferPool(capacity, 8);
+
+        Set<byte[]> seen = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        Set<byte[]> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        AtomicBoolean shared = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] workers = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < rounds; i++) {
+                        byte[] buffer = pool.acquire();
+                        seen.add(buffer);
+                        if (!inUse.add(buffer)) {
+                            shared.set(true);
+                        }
+                        Thread.yield();
+                        inUse.remove(buffer);
+                        pool.release(buffer);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertFalse(shared.get());
+        assertTrue(seen.size() <= capacity);
+    }
+}
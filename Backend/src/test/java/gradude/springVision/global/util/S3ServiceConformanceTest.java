@@ -0,0 +1,81 @@
+package gradude.springVision.global.util;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * S3 호환 저장소(MinIO) 대상 실행
+ * - docker compose -f docker-compose.storage.yml up -d 후 STORAGE_TEST_S3_ENDPOINT=http://localhost:9000 으로 실행
+ * - multipart 경로도 확인하도록 threshold / part 크기를 최소값(5MB)으로 설정
+ */
+@EnabledIfEnvironmentVariable(named = "STORAGE_TEST_S3_ENDPOINT", matches = ".+")
+class S3ServiceConformanceTest extends MediaStorageConformanceTest {
+
+    private static final DataSize PART_SIZE = DataSize.ofMegabytes(5);
+
+    private AmazonS3 amazonS3Client;
+    private ThreadPoolTaskExecutor executor;
+    private S3Service storage;
+    private String bucket;
+
+    @BeforeEach
+    void setUp() {
+        bucket = env("STORAGE_TEST_S3_BUCKET", "spring-vision");
+        amazonS3Client = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials(
+                        env("STORAGE_TEST_S3_ACCESS_KEY", "minioadmin"), env("STORAGE_TEST_S3_SECRET_KEY", "minioadmin"))))
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(
+                        System.getenv("STORAGE_TEST_S3_ENDPOINT"), env("STORAGE_TEST_S3_REGION", "ap-northeast-2")))
+                .withPathStyleAccessEnabled(true)
+                .build();
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(4);
+        executor.initialize();
+
+        S3MultipartUploader uploader = new S3MultipartUploader(amazonS3Client, executor);
+        ReflectionTestUtils.setField(uploader, "partSize", PART_SIZE);
+        ReflectionTestUtils.setField(uploader, "bufferCount", 4);
+        ReflectionTestUtils.setField(uploader, "maxAttempts", 3);
+        ReflectionTestUtils.setField(uploader, "retryBackoff", 200L);
+        uploader.init();
+
+        storage = new S3Service(amazonS3Client, uploader);
+        ReflectionTestUtils.setField(storage, "bucket", bucket);
+        ReflectionTestUtils.setField(storage, "presignTtl", 600_000L);
+        ReflectionTestUtils.setField(storage, "multipartThreshold", PART_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        amazonS3Client.shutdown();
+    }
+
+    @Override
+    protected MediaStorage storage() {
+        return storage;
+    }
+
+    @Override
+    protected String keyOf(String url) {
+        String prefix = amazonS3Client.getUrl(bucket, "").toString();
+        return url.substring(prefix.length());
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}